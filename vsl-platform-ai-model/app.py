@@ -113,6 +113,115 @@ def predict_gesture(landmarks_array):
     return None, None
 
 
+def predict_gestures(landmarks_matrix):
+    """
+    Predict gestures for many preprocessed frames in a single model pass
+    
+    Args:
+        landmarks_matrix: numpy array of shape (n, 63)
+    
+    Returns:
+        list: (prediction, confidence) per row, (None, None) where confidence < threshold
+    """
+    if scaler is None or model is None:
+        raise RuntimeError("Models not loaded")
+    
+    if landmarks_matrix.shape[0] == 0:
+        return []
+    
+    scaled_data = scaler.transform(landmarks_matrix)
+    probabilities = model.predict_proba(scaled_data)
+    best = np.argmax(probabilities, axis=1)
+    
+    results = []
+    for row, class_idx in enumerate(best):
+        confidence = float(probabilities[row, class_idx])
+        if confidence >= CONFIDENCE_THRESHOLD:
+            results.append((str(model.classes_[class_idx]).lower(), confidence))
+        else:
+            results.append((None, None))
+    return results
+
+
+def validate_request(data):
+    """
+    Validate a single recognition request body
+    
+    Returns:
+        str: Error message, or None if the request is valid
+    """
+    if not isinstance(data, dict):
+        return 'Request must be a JSON object'
+    if 'frames' not in data:
+        return 'Missing "frames" in request body'
+    if 'current_text' not in data:
+        return 'Missing "current_text" in request body'
+    if not isinstance(data['frames'], list) or len(data['frames']) == 0:
+        return '"frames" must be a non-empty array'
+    if not isinstance(data['current_text'], str):
+        return '"current_text" must be a string'
+    return None
+
+
+def preprocess_frames(frames):
+    """
+    Preprocess every usable frame of a request, skipping frames without 21 valid landmarks
+    
+    Returns:
+        list: numpy arrays of shape (1, 63)
+    """
+    arrays = []
+    for frame in frames:
+        try:
+            if 'landmarks' not in frame:
+                continue
+            arrays.append(preprocess_landmarks(frame['landmarks']))
+        except Exception:
+            # Skip invalid frames
+            continue
+    return arrays
+
+
+def build_result(frames, current_text, valid_predictions):
+    """
+    Vote on the frame predictions and apply accent restoration
+    
+    Returns:
+        tuple: (response dict, HTTP status)
+    """
+    if not valid_predictions:
+        return {
+            'success': False,
+            'error': 'No valid predictions (all frames below confidence threshold)'
+        }, 400
+    
+    raw_char, confidence = vote_predictions(valid_predictions)
+    
+    if raw_char is None:
+        return {
+            'success': False,
+            'error': 'Failed to determine prediction'
+        }, 400
+    
+    # Accent restoration logic
+    if raw_char.upper() == "SPACE":
+        # Append space to current text
+        new_text = current_text + " "
+    else:
+        # Append character to current text
+        new_text = current_text + raw_char
+    final_sentence = restore_diacritics(new_text.lower().strip())
+    
+    return {
+        'success': True,
+        'final_sentence': final_sentence,
+        'confidence': confidence,
+        'raw_char': raw_char,
+        'frames_processed': len(frames),
+        'valid_predictions': len(valid_predictions)
+    }, 200
+
+
 def vote_predictions(predictions):
     """
     Find the most common character (mode) from predictions
@@ -187,92 +296,102 @@ def predict():
         
         data = request.get_json()
         
-        if 'frames' not in data:
+        error = validate_request(data)
+        if error is not None:
             return jsonify({
                 'success': False,
-                'error': 'Missing "frames" in request body'
-            }), 400
-        
-        if 'current_text' not in data:
-            return jsonify({
-                'success': False,
-                'error': 'Missing "current_text" in request body'
+                'error': error
             }), 400
         
         frames = data['frames']
         current_text = data['current_text']
         
-        if not isinstance(frames, list) or len(frames) == 0:
-            return jsonify({
-                'success': False,
-                'error': '"frames" must be a non-empty array'
-            }), 400
-        
-        if not isinstance(current_text, str):
-            return jsonify({
-                'success': False,
-                'error': '"current_text" must be a string'
-            }), 400
-        
         # Process each frame
         valid_predictions = []
         
-        for frame_idx, frame in enumerate(frames):
+        for landmarks_array in preprocess_frames(frames):
             try:
-                # Validate frame structure
-                if 'landmarks' not in frame:
-                    continue
-                
-                landmarks = frame['landmarks']
-                
-                # Preprocess landmarks (normalize by wrist)
-                landmarks_array = preprocess_landmarks(landmarks)
-                
-                # Predict gesture
                 prediction, confidence = predict_gesture(landmarks_array)
-                
                 if prediction is not None:
                     valid_predictions.append((prediction, confidence))
-            
-            except ValueError as e:
-                # Skip invalid frames
-                continue
-            except Exception as e:
+            except Exception:
                 # Skip frames with errors
                 continue
         
-        # Voting: Find most common character
-        if not valid_predictions:
+        result, status = build_result(frames, current_text, valid_predictions)
+        return jsonify(result), status
+    
+    except Exception as e:
+        return jsonify({
+            'success': False,
+            'error': f'Internal server error: {str(e)}'
+        }), 500
+
+
+@app.route('/predict/batch', methods=['POST'])
+def predict_batch():
+    """
+    Recognize several independent requests in one call (micro-batched by the backend gateway)
+    All valid frames of all requests are scaled and classified in a single model pass.
+    
+    Request body (JSON):
+    {
+        "requests": [
+            {"frames": [...], "current_text": "xin ch"},
+            {"frames": [...], "current_text": ""}
+        ]
+    }
+    
+    Response:
+    {
+        "success": true,
+        "results": [ <same object as /predict, one per request, in order> ]
+    }
+    """
+    try:
+        if not request.is_json:
             return jsonify({
                 'success': False,
-                'error': 'No valid predictions (all frames below confidence threshold)'
+                'error': 'Request must be JSON'
             }), 400
         
-        raw_char, confidence = vote_predictions(valid_predictions)
+        data = request.get_json()
+        items = data.get('requests') if isinstance(data, dict) else None
         
-        if raw_char is None:
+        if not isinstance(items, list) or len(items) == 0:
             return jsonify({
                 'success': False,
-                'error': 'Failed to determine prediction'
+                'error': '"requests" must be a non-empty array'
             }), 400
         
-        # Accent restoration logic
-        if raw_char.upper() == "SPACE":
-            # Append space to current text
-            new_text = current_text + " "
-            final_sentence = restore_diacritics(new_text.lower().strip())
-        else:
-            # Append character to current text
-            new_text = current_text + raw_char
-            final_sentence = restore_diacritics(new_text.lower().strip())
+        # Preprocess every request, remembering which rows of the stacked matrix belong to which request
+        errors = []
+        row_ranges = []
+        arrays = []
+        for item in items:
+            error = validate_request(item)
+            errors.append(error)
+            if error is not None:
+                row_ranges.append((0, 0))
+                continue
+            item_arrays = preprocess_frames(item['frames'])
+            row_ranges.append((len(arrays), len(arrays) + len(item_arrays)))
+            arrays.extend(item_arrays)
+        
+        predictions = predict_gestures(np.vstack(arrays)) if arrays else []
+        
+        results = []
+        for item, error, (start, end) in zip(items, errors, row_ranges):
+            if error is not None:
+                results.append({'success': False, 'error': error})
+                continue
+            valid_predictions = [p for p in predictions[start:end] if p[0] is not None]
+            result, _ = build_result(item['frames'], item['current_text'], valid_predictions)
+            results.append(result)
         
         return jsonify({
             'success': True,
-            'final_sentence': final_sentence,
-            'confidence': confidence,
-            'raw_char': raw_char,
-            'frames_processed': len(frames),
-            'valid_predictions': len(valid_predictions)
+            'results': results
         }), 200
     
     except Exception as e:
@@ -0,0 +1,138 @@
+package com.capstone.vsl.jmh;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.capstone.vsl.dto.AccentCorrectionRequest;
+import com.capstone.vsl.dto.AccentCorrectionResponse;
+import com.capstone.vsl.integration.AccentRestorationEngine;
+import com.capstone.vsl.repository.DictionaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccentRestorationEngine against a dictionary-sized index vs. the remote Model 2 /add-accents call
+ * (pooled client against an in-process stub, i.e. network and model time excluded)
+ * - fastPath: whole dictionary entries only, the inputs Model 2 would be skipped for
+ * - fallback: best-effort restoration including syllables of multi-word entries
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccentRestorationEngineBenchmark {
+
+    private static final String[] INPUTS = {"xinchao", "camon", "cogiao", "tambiet", "xinchaocogiao"};
+
+    private StubHttpServer stub;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+    private RestClient model2;
+    private AccentRestorationEngine engine;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        stub = new StubHttpServer().respond("/add-accents", "{\"text\":\"xin chào\",\"status\":\"success\"}");
+        requestFactory = new HttpComponentsClientHttpRequestFactory();
+        model2 = RestClient.builder().baseUrl(stub.url("")).requestFactory(requestFactory).build();
+
+        // Dictionary-sized index: the known phrases plus synthetic filler words
+        var words = new ArrayList<DictionaryRepository.WordFrequency>();
+        for (var word : new String[]{"xin chào", "cảm ơn", "cô giáo", "tạm biệt"}) {
+            words.add(wordFrequency(word, 10L));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            words.add(wordFrequency("từ" + i + " mẫu", (long) (i % 50)));
+        }
+        engine = new AccentRestorationEngine(dictionaryRepository(words), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "fastPathEnabled", true);
+        ReflectionTestUtils.setField(engine, "fallbackEnabled", true);
+        ReflectionTestUtils.invokeMethod(engine, "init");
+        engine.refresh();
+        if (engine.fastPath("xinchaocogiao") == null) {
+            throw new IllegalStateException("Benchmark inputs must be whole dictionary entries");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        requestFactory.destroy();
+        stub.close();
+    }
+
+    @Benchmark
+    public String fastPath() {
+        return engine.fastPath(nextInput());
+    }
+
+    @Benchmark
+    public String fallback() {
+        return engine.fallback(nextInput());
+    }
+
+    @Benchmark
+    public String remoteAddAccents() {
+        return model2.post().uri("/add-accents")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new AccentCorrectionRequest(nextInput()))
+                .retrieve()
+                .body(AccentCorrectionResponse.class)
+                .getText();
+    }
+
+    private String nextInput() {
+        next = (next + 1) % INPUTS.length;
+        return INPUTS[next];
+    }
+
+    private static DictionaryRepository.WordFrequency wordFrequency(String word, Long frequency) {
+        return new DictionaryRepository.WordFrequency() {
+            @Override
+            public String getWord() {
+                return word;
+            }
+
+            @Override
+            public Long getFrequency() {
+                return frequency;
+            }
+        };
+    }
+
+    /**
+     * DictionaryRepository answering findWordFrequencies from a list (other repository methods are not used)
+     */
+    private static DictionaryRepository dictionaryRepository(List<DictionaryRepository.WordFrequency> words) {
+        return (DictionaryRepository) Proxy.newProxyInstance(
+                DictionaryRepository.class.getClassLoader(),
+                new Class<?>[]{DictionaryRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findWordFrequencies")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return words;
+                });
+    }
+}
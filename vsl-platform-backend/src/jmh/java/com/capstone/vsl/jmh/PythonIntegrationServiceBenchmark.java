@@ -0,0 +1,131 @@
+package com.capstone.vsl.jmh;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.capstone.vsl.dto.AccentCorrectionRequest;
+import com.capstone.vsl.dto.AccentCorrectionResponse;
+import com.capstone.vsl.dto.GestureRecognitionResponse;
+import com.capstone.vsl.integration.AccentCorrectionCache;
+import com.capstone.vsl.integration.AccentRestorationEngine;
+import com.capstone.vsl.integration.PythonIntegrationService;
+import com.capstone.vsl.integration.config.PythonModelConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PythonIntegrationService.processGestureToText (Model 1 then Model 2) against an in-process stub:
+ * long-lived pooled RestClients vs. the previous behaviour of building a RestClient (and a fresh
+ * JDK HttpClient) per model call. Network and model time are excluded.
+ *
+ * Allocation per call is the interesting number: run with -Djmh.args="PythonIntegrationServiceBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PythonIntegrationServiceBenchmark {
+
+    private StubHttpServer stub;
+    private MockMultipartFile video;
+    private PythonIntegrationService service;
+    private RestClient.Builder sharedBuilder;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        stub = new StubHttpServer()
+                .respond("/predict-gesture", "{\"text\":\"xinchao\",\"status\":\"success\"}")
+                .respond("/add-accents", "{\"text\":\"xin chào\",\"status\":\"success\"}");
+        video = new MockMultipartFile("file", "clip.mp4", "video/mp4", new byte[64 * 1024]);
+
+        var config = new PythonModelConfig();
+        ReflectionTestUtils.setField(config, "model1BaseUrl", stub.url(""));
+        ReflectionTestUtils.setField(config, "model2BaseUrl", stub.url(""));
+        ReflectionTestUtils.setField(config, "model1TimeoutSeconds", 30);
+        ReflectionTestUtils.setField(config, "model2TimeoutSeconds", 10);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 2000);
+        ReflectionTestUtils.setField(config, "connectionRequestTimeoutMs", 1000);
+        ReflectionTestUtils.setField(config, "maxConnections", 50);
+        ReflectionTestUtils.setField(config, "keepAliveMs", 30000);
+        ReflectionTestUtils.setField(config, "idleEvictionMs", 60000);
+        ReflectionTestUtils.setField(config, "model1MaxConcurrent", 8);
+        ReflectionTestUtils.setField(config, "model2MaxConcurrent", 16);
+        ReflectionTestUtils.setField(config, "limiterMaxWaiting", 1000);
+        ReflectionTestUtils.setField(config, "limiterAcquireTimeoutMs", 10000);
+
+        service = new PythonIntegrationService(
+                config.model1RestClient(config.model1ConnectionManager()),
+                config.model2RestClient(config.model2ConnectionManager()),
+                config.model1Limiter(),
+                config.model2Limiter(),
+                Runnable::run,
+                Runnable::run,
+                new ObjectMapper(),
+                // Not initialized = disabled, so every call reaches the stub
+                new AccentCorrectionCache(new SimpleMeterRegistry(), new ObjectMapper()),
+                new AccentRestorationEngine(null, new SimpleMeterRegistry()));
+        sharedBuilder = RestClient.builder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public String pooledClients() {
+        return service.processGestureToText(video).getCorrectedText();
+    }
+
+    /**
+     * Previous behaviour: createModel1Client()/createModel2Client() on every request
+     */
+    @Benchmark
+    public String perCallClients() throws Exception {
+        var model1 = sharedBuilder.baseUrl(stub.url("")).requestFactory(new JdkClientHttpRequestFactory()).build();
+        var body = new LinkedMultiValueMap<String, Object>();
+        body.add("file", new ByteArrayResource(video.getBytes()) {
+            @Override
+            public String getFilename() {
+                return video.getOriginalFilename();
+            }
+        });
+        var rawText = model1.post().uri("/predict-gesture")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(body)
+                .retrieve()
+                .body(GestureRecognitionResponse.class)
+                .getText();
+
+        var model2 = sharedBuilder.baseUrl(stub.url("")).requestFactory(new JdkClientHttpRequestFactory()).build();
+        return model2.post().uri("/add-accents")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new AccentCorrectionRequest(rawText))
+                .retrieve()
+                .body(AccentCorrectionResponse.class)
+                .getText();
+    }
+}
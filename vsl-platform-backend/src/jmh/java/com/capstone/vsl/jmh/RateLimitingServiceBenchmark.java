@@ -0,0 +1,62 @@
+package com.capstone.vsl.jmh;
+
+import com.capstone.vsl.security.RateLimitingService;
+import io.github.bucket4j.Bandwidth;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitingService.tryConsume under contention (8 threads)
+ * - keys=1: every thread hits the same bucket (one client / one IP behind a NAT)
+ * - keys=1000: requests spread over many clients, as seen by the filter in production
+ * The bandwidth matches RateLimitingFilter's AI limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimitingServiceBenchmark {
+
+    private static final Bandwidth AI_RATE_LIMIT = Bandwidth.builder()
+            .capacity(10)
+            .refillGreedy(10, Duration.ofSeconds(1))
+            .build();
+
+    @Param({"1", "1000"})
+    private int keys;
+
+    private RateLimitingService rateLimitingService;
+    private String[] keyNames;
+
+    @Setup
+    public void setUp() {
+        rateLimitingService = new RateLimitingService();
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "10.0." + (i / 256) + "." + (i % 256) + ":/api/vsl/recognize";
+        }
+    }
+
+    @Benchmark
+    public boolean tryConsume() {
+        var key = keyNames[ThreadLocalRandom.current().nextInt(keys)];
+        return rateLimitingService.tryConsume(key, AI_RATE_LIMIT);
+    }
+}
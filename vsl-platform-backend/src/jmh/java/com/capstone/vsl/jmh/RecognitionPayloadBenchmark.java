@@ -0,0 +1,110 @@
+package com.capstone.vsl.jmh;
+
+import com.capstone.vsl.config.JacksonConfig;
+import com.capstone.vsl.integration.codec.PackedLandmarkCodec;
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.LandmarkDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /api/vsl/recognize payload hot path:
+ * - decoding the JSON GestureInputDTO request body (Spring's ObjectMapper from JacksonConfig)
+ * - re-serializing it as the {"frames", "current_text"} Map sent to the AI service
+ *   (GestureIntegrationService.processGesture)
+ * - the packed binary format (PackedLandmarkCodec) for the same frames, for comparison
+ *
+ * Frame counts cover a short static sign, the default stream window and a long dynamic sign.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecognitionPayloadBenchmark {
+
+    private static final int LANDMARKS = 21;
+
+    @Param({"10", "30", "60"})
+    private int frames;
+
+    private ObjectMapper objectMapper;
+    private byte[] json;
+    private byte[] packed;
+    private GestureInputDTO input;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        var random = new Random(42);
+        var handFrames = new ArrayList<HandFrameDTO>(frames);
+        var coordinates = new float[frames * LANDMARKS * PackedGestureInput.AXES];
+        var offset = 0;
+        for (int f = 0; f < frames; f++) {
+            var landmarks = new ArrayList<LandmarkDTO>(LANDMARKS);
+            for (int l = 0; l < LANDMARKS; l++) {
+                var landmark = new LandmarkDTO(random.nextFloat(), random.nextFloat(), random.nextFloat() - 0.5f);
+                landmarks.add(landmark);
+                coordinates[offset++] = landmark.x();
+                coordinates[offset++] = landmark.y();
+                coordinates[offset++] = landmark.z();
+            }
+            handFrames.add(new HandFrameDTO(landmarks));
+        }
+
+        input = new GestureInputDTO(handFrames, "xin ch");
+        json = objectMapper.writeValueAsBytes(input);
+        packed = PackedLandmarkCodec.encode(new PackedGestureInput(frames, LANDMARKS, coordinates, "xin ch"));
+    }
+
+    @Benchmark
+    public GestureInputDTO decodeJson() throws Exception {
+        return objectMapper.readValue(json, GestureInputDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializeAiRequestMap() throws Exception {
+        Map<String, Object> requestBody = Map.of(
+                "frames", input.frames(),
+                "current_text", input.currentText());
+        return objectMapper.writeValueAsBytes(requestBody);
+    }
+
+    @Benchmark
+    public byte[] decodeJsonAndForward() throws Exception {
+        var decoded = objectMapper.readValue(json, GestureInputDTO.class);
+        return objectMapper.writeValueAsBytes(Map.<String, Object>of(
+                "frames", decoded.frames(),
+                "current_text", decoded.currentText()));
+    }
+
+    @Benchmark
+    public PackedGestureInput decodePacked() {
+        return PackedLandmarkCodec.decode(ByteBuffer.wrap(packed));
+    }
+
+    @Benchmark
+    public byte[] decodePackedAndForward() throws Exception {
+        return objectMapper.writeValueAsBytes(PackedLandmarkCodec.decode(ByteBuffer.wrap(packed)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.capstone.vsl.jmh;
+
+import com.capstone.vsl.entity.Alphabet;
+import com.capstone.vsl.repository.AlphabetRepository;
+import com.capstone.vsl.service.SpellingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * SpellingService.spellText: lowercasing, accent normalization and per-character URL lookup
+ * The repository is an in-memory stand-in, so only the service's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpellingServiceBenchmark {
+
+    @Param({
+            "Xin chào",
+            "Tôi tên là Nguyễn Văn An, rất vui được gặp bạn và học ngôn ngữ ký hiệu Việt Nam cùng nhau"
+    })
+    private String text;
+
+    private SpellingService spellingService;
+
+    @Setup
+    public void setUp() {
+        var alphabet = IntStream.concat(IntStream.rangeClosed('a', 'z'), IntStream.rangeClosed('0', '9'))
+                .mapToObj(c -> String.valueOf((char) c))
+                .collect(Collectors.toMap(Function.identity(), c -> Alphabet.builder()
+                        .character(c)
+                        .imageUrl("https://cdn.example.com/alphabet/" + c + ".png")
+                        .type(Character.isDigit(c.charAt(0)) ? "NUMBER" : "LETTER")
+                        .build()));
+        spellingService = new SpellingService(alphabetRepository(alphabet));
+    }
+
+    @Benchmark
+    public List<String> spellText() {
+        return spellingService.spellText(text);
+    }
+
+    /**
+     * AlphabetRepository answering findAllById from a map (other repository methods are not used)
+     */
+    private static AlphabetRepository alphabetRepository(Map<String, Alphabet> alphabet) {
+        return (AlphabetRepository) Proxy.newProxyInstance(
+                AlphabetRepository.class.getClassLoader(),
+                new Class<?>[]{AlphabetRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAllById")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    var result = new ArrayList<Alphabet>();
+                    for (var id : (Iterable<?>) args[0]) {
+                        var entry = alphabet.get(id);
+                        if (entry != null) {
+                            result.add(entry);
+                        }
+                    }
+                    return result;
+                });
+    }
+}
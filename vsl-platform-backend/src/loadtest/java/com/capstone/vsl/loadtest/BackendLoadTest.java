@@ -0,0 +1,243 @@
+package com.capstone.vsl.loadtest;
+
+import com.capstone.vsl.document.DictionaryDocument;
+import com.capstone.vsl.entity.Dictionary;
+import com.capstone.vsl.integration.AccentRestorationEngine;
+import com.capstone.vsl.repository.DictionaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: the whole backend (security, rate limiting, controllers, JPA, AI client stack)
+ * on H2 with an in-process AI service and Elasticsearch, driven by a closed-model traffic mix of
+ * recognize / search / spell / favorites requests. Prints throughput and p50/p99/p999 per scenario.
+ *
+ * Run with: ./mvnw -Ploadtest test [-Dloadtest.<setting>=...]
+ * - users (32), warmup (10 s), duration (30 s), think-time (100 ms per user between requests)
+ * - mix: scenario weights (recognize=40,search=30,spell=20,favorites=10)
+ * - ai.median / ai.p99: AI service latency distribution (30 / 150 ms)
+ * - dictionary-size (5000), frames per recognize request (30), payloads: distinct recognize bodies (500)
+ * - max-error-rate: fail the run above this fraction of non-2xx/429 responses (0.01)
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Slf4j
+class BackendLoadTest {
+
+    private static final String[] SYLLABLES = {
+            "xin", "chao", "cam", "on", "ban", "toi", "ten", "la", "gia", "dinh", "hoc", "sinh", "truong",
+            "nha", "nuoc", "an", "com", "uong", "ngu", "di", "ve", "yeu", "thuong", "me", "bo", "anh", "chi",
+            "em", "ong", "ba", "vui", "buon", "dep", "tot", "lam", "viec", "choi", "ngay", "dem", "sang"
+    };
+    private static final int LANDMARKS = 21;
+
+    private static StubAiService aiService;
+    private static FakeElasticsearch elasticsearch;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DictionaryRepository dictionaryRepository;
+
+    @Autowired
+    private AccentRestorationEngine accentRestorationEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) {
+        aiService = new StubAiService(
+                Duration.ofMillis(Long.getLong("loadtest.ai.median", 30)),
+                Duration.ofMillis(Long.getLong("loadtest.ai.p99", 150)));
+        elasticsearch = new FakeElasticsearch();
+        registry.add("ai.service.url", aiService::predictUrl);
+        registry.add("spring.elasticsearch.uris", elasticsearch::url);
+    }
+
+    @AfterAll
+    static void stopStandIns() {
+        aiService.close();
+        elasticsearch.close();
+    }
+
+    @Test
+    void trafficMix() throws Exception {
+        var wordIds = seedDictionary(Integer.getInteger("loadtest.dictionary-size", 5000));
+        var payloads = recognizePayloads(Integer.getInteger("loadtest.payloads", 500),
+                Integer.getInteger("loadtest.frames", 30));
+        var weights = weights(System.getProperty("loadtest.mix", "recognize=40,search=30,spell=20,favorites=10"));
+
+        var baseUrl = "http://localhost:" + port;
+        var generator = new LoadGenerator(List.of(
+                new LoadGenerator.Scenario("recognize", weights.getOrDefault("recognize", 0), user ->
+                        request(baseUrl + "/api/vsl/recognize", user)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                                        payloads.get(ThreadLocalRandom.current().nextInt(payloads.size()))))
+                                .build()),
+                new LoadGenerator.Scenario("search", weights.getOrDefault("search", 0), user ->
+                        request(baseUrl + "/api/dictionary/search?query=" + encode(randomSyllables(1)), user)
+                                .GET().build()),
+                new LoadGenerator.Scenario("spell", weights.getOrDefault("spell", 0), user ->
+                        request(baseUrl + "/api/vsl/spell?text=" + encode(randomSyllables(3)), user)
+                                .GET().build()),
+                new LoadGenerator.Scenario("favorites", weights.getOrDefault("favorites", 0), user ->
+                        ThreadLocalRandom.current().nextBoolean()
+                                ? request(baseUrl + "/api/user/favorites/"
+                                        + wordIds.get(ThreadLocalRandom.current().nextInt(wordIds.size())), user)
+                                        .POST(HttpRequest.BodyPublishers.noBody()).build()
+                                : request(baseUrl + "/api/user/favorites?page=0&size=20", user).GET().build())));
+
+        var needsToken = weights.getOrDefault("favorites", 0) > 0;
+        var report = generator.run(Integer.getInteger("loadtest.users", 32),
+                index -> virtualUser(generator, baseUrl, index, needsToken),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 30)),
+                Duration.ofMillis(Long.getLong("loadtest.think-time", 100)));
+
+        log.info("Load test results:{}AI service: {} calls for {} predictions; Elasticsearch documents: {}",
+                report.format(), aiService.calls(), aiService.predictions(), elasticsearch.count("dictionary"));
+
+        var maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        for (var stats : report.scenarios()) {
+            assertTrue(stats.count() > 0, "No " + stats.name() + " request completed");
+            assertTrue(stats.errors() <= stats.count() * maxErrorRate,
+                    stats.errors() + " of " + stats.count() + " " + stats.name() + " requests failed");
+        }
+    }
+
+    /**
+     * Dictionary rows in the database and the search index (as if already synced)
+     */
+    private List<Long> seedDictionary(int size) {
+        var random = new Random(7);
+        var entries = new ArrayList<Dictionary>(size);
+        for (int i = 0; i < size; i++) {
+            var word = SYLLABLES[random.nextInt(SYLLABLES.length)] + " " + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + (i >= SYLLABLES.length * SYLLABLES.length ? " " + i : "");
+            entries.add(Dictionary.builder()
+                    .word(word)
+                    .definition("Ký hiệu cho \"" + word + "\" trong ngôn ngữ ký hiệu Việt Nam")
+                    .videoUrl("https://cdn.example.com/videos/" + i + ".mp4")
+                    .elasticSynced(true)
+                    .build());
+        }
+        var ids = new ArrayList<Long>(size);
+        for (var saved : dictionaryRepository.saveAll(entries)) {
+            ids.add(saved.getId());
+            elasticsearch.put("dictionary", saved.getId().toString(), DictionaryDocument.builder()
+                    .id(saved.getId())
+                    .word(saved.getWord())
+                    .definition(saved.getDefinition())
+                    .videoUrl(saved.getVideoUrl())
+                    .elasticSynced(true)
+                    .build());
+        }
+        accentRestorationEngine.refresh();
+        return ids;
+    }
+
+    private List<byte[]> recognizePayloads(int count, int frames) throws Exception {
+        var random = new Random(11);
+        var payloads = new ArrayList<byte[]>(count);
+        for (int p = 0; p < count; p++) {
+            var frameList = new ArrayList<Map<String, Object>>(frames);
+            for (int f = 0; f < frames; f++) {
+                var landmarks = new ArrayList<Map<String, Float>>(LANDMARKS);
+                for (int l = 0; l < LANDMARKS; l++) {
+                    landmarks.add(Map.of("x", random.nextFloat(), "y", random.nextFloat(), "z", random.nextFloat() - 0.5f));
+                }
+                frameList.add(Map.of("landmarks", landmarks));
+            }
+            payloads.add(objectMapper.writeValueAsBytes(Map.of("frames", frameList, "currentText", "xin chào")));
+        }
+        return payloads;
+    }
+
+    /**
+     * A user with its own client IP (so rate limits apply per user, as in production) and, if
+     * authenticated scenarios are in the mix, a freshly registered account
+     */
+    private LoadGenerator.VirtualUser virtualUser(LoadGenerator generator, String baseUrl, int index, boolean needsToken) {
+        var clientIp = "10.1." + (index / 250) + "." + (index % 250 + 1);
+        String token = null;
+        if (needsToken) {
+            try {
+                var body = objectMapper.writeValueAsString(Map.of(
+                        "username", "load" + index,
+                        "email", "load" + index + "@loadtest.local",
+                        "password", "loadtest-" + index));
+                var response = generator.httpClient().send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .header("X-Forwarded-For", clientIp)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(2, response.statusCode() / 100, response.body());
+                token = objectMapper.readTree(response.body()).path("data").path("token").asText();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not register load test user " + index, e);
+            }
+        }
+        return new LoadGenerator.VirtualUser(index, clientIp, token);
+    }
+
+    private static HttpRequest.Builder request(String url, LoadGenerator.VirtualUser user) {
+        var builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-Forwarded-For", user.clientIp());
+        if (user.token() != null) {
+            builder.header("Authorization", "Bearer " + user.token());
+        }
+        return builder;
+    }
+
+    private static Map<String, Integer> weights(String mix) {
+        var weights = new HashMap<String, Integer>();
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim().split("=");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String randomSyllables(int count) {
+        var random = ThreadLocalRandom.current();
+        var text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,397 @@
+package com.capstone.vsl.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory stand-in for the subset of the Elasticsearch REST API the backend uses
+ * (index create/exists/get/delete/mapping/settings, aliases, single-document index/get/delete, _bulk,
+ * _refresh, _count, _search). An alias points to one index, which receives its reads and writes.
+ * Searches are not analyzed: every query string or wildcard value in the request is matched as a
+ * case-insensitive substring of the document's text fields, scored 2 for a word hit and 1 otherwise.
+ * Hits are ordered by score (then id) or, if the request sorts on "id", by id; search_after is honored.
+ * Ids are ordered the way the index mapping of "id" orders them: numerically unless it is mapped as
+ * keyword, in which case they are compared as strings ("10" < "9") and sort values are strings.
+ * Requests outside this subset are answered with 400 and logged, so unsupported calls show up in the run.
+ */
+@Slf4j
+final class FakeElasticsearch implements AutoCloseable {
+
+    private static final List<String> QUERY_KEYS = List.of("query", "value", "wildcard");
+    private static final String SHARDS = "{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0}";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, ObjectNode>> indices = new ConcurrentHashMap<>();
+    private final Map<String, String> aliases = new ConcurrentHashMap<>();
+    private final Map<String, JsonNode> settings = new ConcurrentHashMap<>();
+    private final Map<String, String> idTypes = new ConcurrentHashMap<>();
+
+    FakeElasticsearch() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Put a document directly (used to seed the index without going through the backend)
+     */
+    void put(String index, String id, Object source) {
+        documents(index).put(id, objectMapper.valueToTree(source));
+    }
+
+    int count(String index) {
+        var documents = indices.get(resolve(index));
+        return documents == null ? 0 : documents.size();
+    }
+
+    /**
+     * Index an alias points to (the name itself for an index)
+     */
+    String resolve(String name) {
+        return aliases.getOrDefault(name, name);
+    }
+
+    /**
+     * Settings the index was last created or updated with
+     */
+    JsonNode settings(String index) {
+        return settings.get(resolve(index));
+    }
+
+    private Map<String, ObjectNode> documents(String index) {
+        return indices.computeIfAbsent(resolve(index), ignored -> new ConcurrentSkipListMap<>());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var method = exchange.getRequestMethod();
+            var path = Arrays.stream(exchange.getRequestURI().getPath().split("/"))
+                    .filter(segment -> !segment.isEmpty())
+                    .toList();
+            var body = exchange.getRequestBody().readAllBytes();
+            try {
+                route(exchange, method, path, body);
+            } catch (RuntimeException e) {
+                log.warn("Fake Elasticsearch failed on {} {}: {}", method, exchange.getRequestURI(), e.toString());
+                respond(exchange, 500, error("exception", e.toString()));
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, List<String> path, byte[] body) throws IOException {
+        var endpoint = path.size() > 1 ? path.get(1) : "";
+        if (path.size() == 1 && path.get(0).equals("_bulk") || endpoint.equals("_bulk")) {
+            respond(exchange, 200, bulk(path.size() > 1 ? path.get(0) : null, body));
+            return;
+        }
+        if (path.isEmpty()) {
+            respond(exchange, 200, "{\"name\":\"fake\",\"cluster_name\":\"loadtest\",\"version\":{\"number\":\"8.13.4\"},"
+                    + "\"tagline\":\"You Know, for Search\"}");
+            return;
+        }
+
+        if (method.equals("POST") && path.equals(List.of("_aliases"))) {
+            updateAliases(objectMapper.readTree(body).path("actions"));
+            respond(exchange, 200, "{\"acknowledged\":true}");
+            return;
+        }
+
+        var name = path.get(0);
+        var index = resolve(name);
+        switch (method + " " + endpoint) {
+            case "HEAD " -> respond(exchange, indices.containsKey(index) ? 200 : 404, null);
+            case "GET " -> respond(exchange, indices.containsKey(index) ? 200 : 404, indexInformation(index));
+            case "PUT " -> {
+                documents(name);
+                if (body.length > 0) {
+                    var request = objectMapper.readTree(body);
+                    settings.put(name, request.path("settings"));
+                    putMapping(name, request.path("mappings"));
+                }
+                respond(exchange, 200, "{\"acknowledged\":true,\"shards_acknowledged\":true,\"index\":\"" + name + "\"}");
+            }
+            case "DELETE " -> {
+                var deleted = indices.remove(index) != null;
+                idTypes.remove(index);
+                aliases.values().removeIf(index::equals);
+                respond(exchange, deleted ? 200 : 404, "{\"acknowledged\":" + deleted + "}");
+            }
+            case "PUT _settings" -> {
+                var current = (ObjectNode) settings.computeIfAbsent(index, ignored -> objectMapper.createObjectNode());
+                current.setAll((ObjectNode) objectMapper.readTree(body));
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            }
+            case "PUT _mapping", "POST _mapping" -> {
+                putMapping(index, objectMapper.readTree(body));
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            }
+            case "POST _refresh", "GET _refresh" -> respond(exchange, 200, "{\"_shards\":" + SHARDS + "}");
+            case "PUT _doc", "POST _doc" -> {
+                var id = path.get(2);
+                var created = documents(index).put(id, (ObjectNode) objectMapper.readTree(body)) == null;
+                respond(exchange, created ? 201 : 200, writeResult(index, id, created ? "created" : "updated"));
+            }
+            case "GET _doc" -> {
+                var source = documents(index).get(path.get(2));
+                respond(exchange, source != null ? 200 : 404, "{\"_index\":\"" + index + "\",\"_id\":\"" + path.get(2)
+                        + "\",\"found\":" + (source != null)
+                        + (source != null ? ",\"_version\":1,\"_seq_no\":0,\"_primary_term\":1,\"_source\":" + source : "")
+                        + "}");
+            }
+            case "DELETE _doc" -> {
+                var deleted = documents(index).remove(path.get(2)) != null;
+                respond(exchange, deleted ? 200 : 404, writeResult(index, path.get(2), deleted ? "deleted" : "not_found"));
+            }
+            case "POST _count", "GET _count" -> respond(exchange, 200,
+                    "{\"count\":" + search(index, body).size() + ",\"_shards\":" + SHARDS + "}");
+            case "POST _search", "GET _search" -> respond(exchange, 200, searchResponse(index, body));
+            default -> {
+                log.warn("Fake Elasticsearch does not support {} {}", method, exchange.getRequestURI());
+                respond(exchange, 400, error("unsupported_operation", method + " " + exchange.getRequestURI()));
+            }
+        }
+    }
+
+    private void updateAliases(JsonNode actions) {
+        for (var action : actions) {
+            var type = action.fieldNames().next();
+            var parameters = action.get(type);
+            var index = parameters.has("index") ? parameters.get("index").asText() : parameters.path("indices").path(0).asText();
+            var alias = parameters.has("alias") ? parameters.get("alias").asText() : parameters.path("aliases").path(0).asText();
+            switch (type) {
+                case "add" -> aliases.put(alias, index);
+                case "remove" -> aliases.remove(alias, index);
+                case "remove_index" -> {
+                    indices.remove(index);
+                    idTypes.remove(index);
+                    aliases.values().removeIf(index::equals);
+                }
+                default -> throw new IllegalArgumentException("Unsupported alias action " + type);
+            }
+        }
+    }
+
+    /**
+     * Remember how "id" is mapped; without an explicit mapping, numeric ids are mapped dynamically as long
+     */
+    private void putMapping(String index, JsonNode mapping) {
+        var idType = mapping.path("properties").path("id").path("type");
+        if (idType.isTextual()) {
+            idTypes.put(index, idType.asText());
+        }
+    }
+
+    private boolean idIsKeyword(String index) {
+        return "keyword".equals(idTypes.get(index));
+    }
+
+    private Comparator<String> idOrder(String index) {
+        return idIsKeyword(index) ? Comparator.naturalOrder() : Comparator.comparingLong(Long::parseLong);
+    }
+
+    private String indexInformation(String index) {
+        var indexAliases = aliases.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(index))
+                .map(entry -> "\"" + entry.getKey() + "\":{}")
+                .toList();
+        return "{\"" + index + "\":{\"aliases\":{" + String.join(",", indexAliases) + "},\"mappings\":{},"
+                + "\"settings\":{\"index\":{\"provided_name\":\"" + index + "\"}}}}";
+    }
+
+    private String bulk(String defaultIndex, byte[] body) throws IOException {
+        var lines = new String(body, StandardCharsets.UTF_8).lines().filter(line -> !line.isBlank()).toList();
+        var items = new ArrayList<String>();
+        var errors = false;
+        for (int i = 0; i < lines.size(); i++) {
+            var action = objectMapper.readTree(lines.get(i));
+            var operation = action.fieldNames().next();
+            var meta = action.get(operation);
+            var index = resolve(meta.path("_index").asText(defaultIndex));
+            var id = meta.path("_id").asText();
+            String result;
+            int status;
+            if (operation.equals("delete")) {
+                var deleted = documents(index).remove(id) != null;
+                result = deleted ? "deleted" : "not_found";
+                status = deleted ? 200 : 404;
+            } else {
+                var source = (ObjectNode) objectMapper.readTree(lines.get(++i));
+                if (operation.equals("update")) {
+                    source = (ObjectNode) source.path("doc");
+                }
+                if (operation.equals("create") && documents(index).putIfAbsent(id, source) != null) {
+                    errors = true;
+                    items.add("{\"create\":{\"_index\":\"" + index + "\",\"_id\":\"" + id + "\",\"status\":409,"
+                            + "\"error\":{\"type\":\"version_conflict_engine_exception\",\"reason\":\"document already exists\"}}}");
+                    continue;
+                }
+                var created = operation.equals("create") || documents(index).put(id, source) == null;
+                result = created ? "created" : "updated";
+                status = created ? 201 : 200;
+            }
+            items.add("{\"" + operation + "\":" + writeResult(index, id, result)
+                    .replaceFirst("}$", ",\"status\":" + status + "}") + "}");
+        }
+        return "{\"took\":1,\"errors\":" + errors + ",\"items\":[" + String.join(",", items) + "]}";
+    }
+
+    private String searchResponse(String index, byte[] body) throws IOException {
+        var request = body.length > 0 ? objectMapper.readTree(body) : objectMapper.createObjectNode();
+        var matches = search(index, body);
+        var byId = sortsById(request.path("sort"));
+        var idOrder = idOrder(index);
+        if (byId) {
+            matches.sort(Comparator.comparing(Match::id, idOrder));
+        }
+        var from = request.path("from").asInt(0);
+        var searchAfter = request.path("search_after");
+        if (searchAfter.isArray() && !searchAfter.isEmpty()) {
+            from = 0;
+            while (from < matches.size() && !isAfter(matches.get(from), searchAfter, byId, idOrder)) {
+                from++;
+            }
+        }
+        var size = request.path("size").asInt(10);
+        var idSortValue = idIsKeyword(index) ? "\"%s\"" : "%s";
+        var hits = new ArrayList<String>();
+        for (int i = from; i < Math.min(matches.size(), from + size); i++) {
+            var match = matches.get(i);
+            var id = idSortValue.formatted(match.id());
+            var sort = byId ? id : match.score() + "," + id;
+            hits.add("{\"_index\":\"" + index + "\",\"_id\":\"" + match.id() + "\",\"_score\":" + match.score()
+                    + ",\"_source\":" + match.source() + ",\"sort\":[" + sort + "]}");
+        }
+        var maxScore = matches.isEmpty() ? "null" : String.valueOf(matches.get(0).score());
+        return "{\"took\":1,\"timed_out\":false,\"_shards\":" + SHARDS + ",\"hits\":{\"total\":{\"value\":"
+                + matches.size() + ",\"relation\":\"eq\"},\"max_score\":" + maxScore + ",\"hits\":["
+                + String.join(",", hits) + "]}}";
+    }
+
+    /**
+     * Only two orders are supported: by the numeric "id" field, or by score (then id)
+     */
+    private static boolean sortsById(JsonNode sort) {
+        var first = sort.isArray() ? sort.path(0) : sort;
+        return first.isTextual() ? first.asText().equals("id") : first.has("id");
+    }
+
+    private static boolean isAfter(Match match, JsonNode searchAfter, boolean byId, Comparator<String> idOrder) {
+        if (byId) {
+            return idOrder.compare(match.id(), searchAfter.path(0).asText()) > 0;
+        }
+        var score = searchAfter.path(0).asDouble();
+        return match.score() < score
+                || match.score() == score && idOrder.compare(match.id(), searchAfter.path(1).asText()) > 0;
+    }
+
+    private List<Match> search(String index, byte[] body) throws IOException {
+        var terms = new ArrayList<String>();
+        if (body.length > 0) {
+            collectTerms(objectMapper.readTree(body).path("query"), terms);
+        }
+        var matches = new ArrayList<Match>();
+        for (var entry : documents(index).entrySet()) {
+            var score = score(entry.getValue(), terms);
+            if (score > 0) {
+                matches.add(new Match(entry.getKey(), score, entry.getValue()));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::score).reversed()
+                .thenComparing(Match::id, idOrder(index)));
+        return matches;
+    }
+
+    private static double score(ObjectNode source, List<String> terms) {
+        if (terms.isEmpty()) {
+            return 1.0;
+        }
+        var word = source.path("word").asText("").toLowerCase(Locale.ROOT);
+        var definition = source.path("definition").asText("").toLowerCase(Locale.ROOT);
+        double score = 0;
+        for (var term : terms) {
+            if (word.contains(term)) {
+                score = Math.max(score, 2.0);
+            } else if (definition.contains(term)) {
+                score = Math.max(score, 1.0);
+            }
+        }
+        return score;
+    }
+
+    private static void collectTerms(JsonNode node, List<String> terms) {
+        node.fields().forEachRemaining(field -> {
+            var value = field.getValue();
+            if (value.isTextual() && QUERY_KEYS.contains(field.getKey())) {
+                var term = value.asText().replace("*", "").replace("\\", "").trim().toLowerCase(Locale.ROOT);
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            } else if (value.isContainerNode()) {
+                collectTerms(value, terms);
+            }
+        });
+        if (node.isArray()) {
+            node.forEach(element -> collectTerms(element, terms));
+        }
+    }
+
+    private static String writeResult(String index, String id, String result) {
+        return "{\"_index\":\"" + index + "\",\"_id\":\"" + id + "\",\"_version\":1,\"result\":\"" + result
+                + "\",\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"_seq_no\":0,\"_primary_term\":1}";
+    }
+
+    private static String error(String type, String reason) {
+        return "{\"error\":{\"type\":\"" + type + "\",\"reason\":\"" + reason.replace("\"", "'") + "\"},\"status\":400}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        exchange.getResponseHeaders().add("X-Elastic-Product", "Elasticsearch");
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        var response = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        exchange.getResponseBody().write(response);
+    }
+
+    private record Match(String id, double score, ObjectNode source) {
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,225 @@
+package com.capstone.vsl.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Closed-model HTTP load generator
+ * Each virtual user runs on its own virtual thread: it picks a scenario by weight, sends the request,
+ * records the latency and outcome (2xx = ok, 429 = rejected, anything else or an I/O error = error),
+ * then waits the think time. Requests completed during the warmup are not recorded.
+ */
+final class LoadGenerator {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    /**
+     * @param scenarios Traffic mix (scenarios with weight 0 are skipped)
+     */
+    LoadGenerator(List<Scenario> scenarios) {
+        this.scenarios = scenarios.stream().filter(scenario -> scenario.weight() > 0).toList();
+        this.totalWeight = this.scenarios.stream().mapToInt(Scenario::weight).sum();
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("The traffic mix needs at least one scenario with a positive weight");
+        }
+    }
+
+    HttpClient httpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Run the mix and return the per-scenario results
+     *
+     * @param users     Concurrent virtual users
+     * @param setup     Creates the state of virtual user i (e.g. client IP, auth token) before the run starts
+     * @param warmup    Duration whose requests are discarded
+     * @param duration  Measured duration
+     * @param thinkTime Pause between two requests of the same user
+     */
+    Report run(int users, Function<Integer, VirtualUser> setup,
+               Duration warmup, Duration duration, Duration thinkTime) throws InterruptedException {
+        var stats = new ArrayList<ScenarioStats>();
+        for (var scenario : scenarios) {
+            stats.add(new ScenarioStats(scenario.name()));
+        }
+
+        var virtualUsers = new ArrayList<VirtualUser>(users);
+        for (int i = 0; i < users; i++) {
+            virtualUsers.add(setup.apply(i));
+        }
+
+        var measureFrom = System.nanoTime() + warmup.toNanos();
+        var stopAt = measureFrom + duration.toNanos();
+        var threads = new ArrayList<Thread>(users);
+        for (var user : virtualUsers) {
+            threads.add(Thread.ofVirtual().name("load-user-" + user.index()).start(() -> {
+                while (System.nanoTime() < stopAt) {
+                    var index = pick();
+                    var start = System.nanoTime();
+                    var status = send(scenarios.get(index).request().apply(user));
+                    var end = System.nanoTime();
+                    if (start >= measureFrom && end <= stopAt) {
+                        stats.get(index).record(end - start, status);
+                    }
+                    if (!thinkTime.isZero()) {
+                        try {
+                            Thread.sleep(thinkTime);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        return new Report(duration, stats);
+    }
+
+    private int pick() {
+        var ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            ticket -= scenarios.get(i).weight();
+            if (ticket < 0) {
+                return i;
+            }
+        }
+        return scenarios.size() - 1;
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A named request type in the traffic mix
+     *
+     * @param request Builds the next request for a virtual user
+     */
+    record Scenario(String name, int weight, Function<VirtualUser, HttpRequest> request) {
+    }
+
+    /**
+     * Per-user state shared by all scenarios
+     *
+     * @param clientIp Sent as X-Forwarded-For, so every user has its own rate-limit bucket
+     * @param token    JWT for authenticated scenarios (null if none are in the mix)
+     */
+    record VirtualUser(int index, String clientIp, String token) {
+    }
+
+    /**
+     * Latencies and outcomes of one scenario (latencies kept in full for exact percentiles)
+     */
+    static final class ScenarioStats {
+        private final String name;
+        private long[] latencies = new long[1024];
+        private int count;
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        private ScenarioStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, int status) {
+            if (status == 429) {
+                rejected.incrementAndGet();
+            } else if (status < 200 || status >= 300) {
+                errors.incrementAndGet();
+            }
+            synchronized (this) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = nanos;
+            }
+        }
+
+        String name() {
+            return name;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        long rejected() {
+            return rejected.get();
+        }
+
+        long errors() {
+            return errors.get();
+        }
+
+        synchronized long[] sortedLatencies() {
+            var sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    /**
+     * Throughput and latency percentiles per scenario and in total
+     */
+    record Report(Duration duration, List<ScenarioStats> scenarios) {
+
+        String format() {
+            var out = new StringBuilder(String.format("%n%-12s %9s %9s %8s %8s %10s %10s %10s %10s%n",
+                    "scenario", "requests", "req/s", "errors", "429", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+            var all = new ArrayList<long[]>();
+            long errors = 0;
+            long rejected = 0;
+            for (var stats : scenarios) {
+                var sorted = stats.sortedLatencies();
+                all.add(sorted);
+                errors += stats.errors();
+                rejected += stats.rejected();
+                out.append(line(stats.name(), sorted, stats.errors(), stats.rejected()));
+            }
+            var total = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            out.append(line("total", total, errors, rejected));
+            return out.toString();
+        }
+
+        private String line(String name, long[] sorted, long errors, long rejected) {
+            return String.format("%-12s %9d %9.1f %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    name, sorted.length, sorted.length / (duration.toNanos() / 1e9), errors, rejected,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(percentile(sorted, 0.999)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.capstone.vsl.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the unified Python AI service (POST /predict, POST /predict/batch, GET /health)
+ * Every call sleeps for a latency drawn from a log-normal distribution fitted to the configured
+ * median and p99 (a batch is one model run, so it draws a single latency), then answers with a
+ * random character in the AiResponseDTO format.
+ */
+final class StubAiService implements AutoCloseable {
+
+    static {
+        // Without TCP_NODELAY, keep-alive connections stall ~40 ms per response (Nagle + delayed ACK)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * z-score of the 99th percentile of the standard normal distribution
+     */
+    private static final double Z_99 = 2.3263;
+    private static final String CHARACTERS = "abcdefghiklmnopqrstuvxy";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final double medianNanos;
+    private final double sigma;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong predictions = new AtomicLong();
+
+    /**
+     * @param median Median model latency
+     * @param p99    99th percentile model latency (>= median)
+     */
+    StubAiService(Duration median, Duration p99) {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("AI latency p99 must not be below the median");
+        }
+        this.medianNanos = median.toNanos();
+        this.sigma = median.isZero() ? 0 : Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/predict", this::handle);
+        server.createContext("/health", exchange -> respond(exchange, "{\"status\":\"ok\"}"));
+        server.start();
+    }
+
+    String predictUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/predict";
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    long predictions() {
+        return predictions.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        var body = exchange.getRequestBody().readAllBytes();
+        calls.incrementAndGet();
+        var batch = exchange.getRequestURI().getPath().endsWith("/batch");
+        var count = batch ? objectMapper.readTree(body).path("requests").size() : 1;
+        predictions.addAndGet(count);
+
+        try {
+            Thread.sleep(Duration.ofNanos(sampleLatencyNanos()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+            return;
+        }
+
+        var json = new StringBuilder();
+        if (batch) {
+            json.append("{\"success\":true,\"results\":[");
+            for (int i = 0; i < count; i++) {
+                json.append(i == 0 ? "" : ",").append(prediction());
+            }
+            json.append("]}");
+        } else {
+            json.append(prediction());
+        }
+        respond(exchange, json.toString());
+    }
+
+    private long sampleLatencyNanos() {
+        var gaussian = ThreadLocalRandom.current().nextGaussian();
+        return (long) (medianNanos * Math.exp(sigma * gaussian));
+    }
+
+    private static String prediction() {
+        var random = ThreadLocalRandom.current();
+        var character = CHARACTERS.charAt(random.nextInt(CHARACTERS.length()));
+        return "{\"success\":true,\"final_sentence\":\"" + character + "\",\"confidence\":"
+                + (0.6 + random.nextDouble(0.4)) + ",\"raw_char\":\"" + character
+                + "\",\"frames_processed\":30,\"valid_predictions\":28}";
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        try (exchange) {
+            var response = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package com.capstone.vsl.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -9,21 +10,31 @@ import java.util.concurrent.Executor;
 
 /**
  * Async Configuration
- * Configures thread pool for asynchronous Elasticsearch synchronization
+ * Configures thread pools for:
+ * - Asynchronous gesture video jobs (bounded, vsl.jobs.workers / vsl.jobs.queue)
+ * (Elasticsearch synchronization runs on DictionaryOutboxRelay's own thread)
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    @Bean(name = "elasticsearchSyncExecutor")
-    public Executor elasticsearchSyncExecutor() {
+    @Value("${vsl.jobs.workers:4}")
+    private int gestureJobWorkers;
+
+    @Value("${vsl.jobs.queue:100}")
+    private int gestureJobQueue;
+
+    /**
+     * Workers for queued gesture video jobs; submissions beyond the queue are rejected (503)
+     */
+    @Bean(name = "gestureJobExecutor")
+    public Executor gestureJobExecutor() {
         var executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("es-sync-");
+        executor.setCorePoolSize(gestureJobWorkers);
+        executor.setMaxPoolSize(gestureJobWorkers);
+        executor.setQueueCapacity(gestureJobQueue);
+        executor.setThreadNamePrefix("gesture-job-");
         executor.initialize();
         return executor;
     }
 }
-
@@ -44,6 +44,10 @@ import org.springframework.context.annotation.Configuration;
  *   }
  * }
  * 
+ * "dictionary" is created as a plain index on first start. The first zero-downtime reindex
+ * (POST /api/admin/dictionary/reindex, see DictionaryReindexer) replaces it with a versioned index
+ * (dictionary_yyyyMMddHHmmss) behind a "dictionary" alias; later reindexes only move the alias.
+ * 
  * Note: Spring Boot 3.3+ uses application.properties for Elasticsearch connection.
  * The Vietnamese analyzer setup is done at the Elasticsearch cluster level.
  */
@@ -2,16 +2,22 @@ package com.capstone.vsl.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 import org.springframework.web.client.RestClient;
 
 /**
  * RestClient Configuration
  * Provides RestClient bean for HTTP communication with Python AI models
+ *
+ * RestClient.Builder is mutable, so every injection point gets its own builder
+ * instead of sharing (and concurrently mutating) a singleton.
+ * The AI service clients themselves are built once in AiServiceConfig / PythonModelConfig.
  */
 @Configuration
 public class RestClientConfig {
 
     @Bean
+    @Scope("prototype")
     public RestClient.Builder restClientBuilder() {
         return RestClient.builder();
     }
@@ -2,6 +2,7 @@ package com.capstone.vsl.config;
 
 import com.capstone.vsl.security.JwtAuthenticationFilter;
 import com.capstone.vsl.security.RateLimitingFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -137,6 +138,10 @@ public class SecurityConfig {
             
             // Configure authorization rules
             .authorizeHttpRequests(auth -> auth
+                // Async results (e.g. /api/gesture/process) are re-dispatched after the original
+                // request was already authorized; the stateless JWT is not re-read on that dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                 // Public endpoints (no authentication required)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/vsl/**").permitAll()  // Gesture recognition and spelling (public)
@@ -148,6 +153,10 @@ public class SecurityConfig {
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
                 
+                // Actuator: health is public, metrics (AI connection pools, etc.) are admin-only
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                
                 // User endpoints (require authenticated user/admin)
                 .requestMatchers("/api/user/favorites/**").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/api/user/contributions/**").hasAnyRole("USER", "ADMIN")
@@ -0,0 +1,23 @@
+package com.capstone.vsl.config;
+
+import com.capstone.vsl.controller.RecognitionTimingAdvice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC Configuration
+ * Registers the recognition timing interceptor (serialization stage of /api/vsl/recognize)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RecognitionTimingAdvice recognitionTimingAdvice;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(recognitionTimingAdvice).addPathPatterns("/api/vsl/recognize");
+    }
+}
@@ -0,0 +1,30 @@
+package com.capstone.vsl.config;
+
+import com.capstone.vsl.websocket.RecognitionWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket Configuration
+ * Registers the streaming recognition endpoint (/api/vsl/stream)
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final RecognitionWebSocketHandler recognitionWebSocketHandler;
+
+    @Value("${vsl.stream.allowed-origins:http://localhost:3000,http://localhost:5173,http://localhost:8080}")
+    private String[] allowedOrigins;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(recognitionWebSocketHandler, "/api/vsl/stream")
+                .setAllowedOrigins(allowedOrigins);
+    }
+}
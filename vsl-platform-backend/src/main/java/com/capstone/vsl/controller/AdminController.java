@@ -5,12 +5,16 @@ import com.capstone.vsl.dto.ApiResponse;
 import com.capstone.vsl.dto.ContributionDTO;
 import com.capstone.vsl.dto.DashboardStatsDTO;
 import com.capstone.vsl.dto.DictionaryDTO;
+import com.capstone.vsl.dto.ReconcileReportDTO;
+import com.capstone.vsl.dto.ReindexReportDTO;
 import com.capstone.vsl.dto.RegisterRequest;
 import com.capstone.vsl.dto.RoleUpdateRequest;
 import com.capstone.vsl.dto.UserDTO;
 import com.capstone.vsl.entity.ContributionStatus;
 import com.capstone.vsl.security.UserPrincipal;
 import com.capstone.vsl.service.AdminService;
+import com.capstone.vsl.service.DictionaryReconciler;
+import com.capstone.vsl.service.DictionaryReindexer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +33,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -44,6 +49,8 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final DictionaryReconciler dictionaryReconciler;
+    private final DictionaryReindexer dictionaryReindexer;
 
     // ==================== User Management ====================
 
@@ -316,6 +323,74 @@ public class AdminController {
         }
     }
 
+    // ==================== Search Index ====================
+
+    /**
+     * POST /api/admin/dictionary/reconcile
+     * Re-sync dictionary entries missing from Elasticsearch and remove orphaned documents now
+     * (the same job also runs on a schedule)
+     *
+     * @return What was repaired
+     */
+    @PostMapping("/dictionary/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReconcileReportDTO>> reconcileDictionary() {
+        try {
+            log.info("Admin triggered dictionary reconciliation");
+            var report = dictionaryReconciler.reconcile();
+            return ResponseEntity.ok(ApiResponse.success("Dictionary reconciliation completed", report));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to reconcile dictionary: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to reconcile dictionary: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/admin/dictionary/reindex
+     * Start rebuilding the dictionary index from PostgreSQL into a new versioned index; the "dictionary"
+     * alias is switched to it when it is complete and searches keep working on the old index until then.
+     * Returns 202 at once; poll GET /api/admin/dictionary/reindex for progress and the result
+     *
+     * @return The started reindex (RUNNING), or 409 if one is already running
+     */
+    @PostMapping("/dictionary/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexReportDTO>> reindexDictionary() {
+        try {
+            log.info("Admin triggered dictionary reindex");
+            var report = dictionaryReindexer.start();
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/admin/dictionary/reindex"))
+                    .body(ApiResponse.success("Dictionary reindex into " + report.getIndex() + " started", report));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to start dictionary reindex: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to start dictionary reindex: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/admin/dictionary/reindex
+     * Progress of the running dictionary reindex (documents copied, docs/sec), or the result of the last one
+     *
+     * @return The reindex, or 404 if none ran since startup
+     */
+    @GetMapping("/dictionary/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexReportDTO>> getReindexStatus() {
+        return dictionaryReindexer.status()
+                .map(report -> ResponseEntity.ok(ApiResponse.success("Dictionary reindex " + report.getStatus(), report)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No dictionary reindex has run since startup")));
+    }
+
     // ==================== Statistics ====================
 
     /**
@@ -2,6 +2,7 @@ package com.capstone.vsl.controller;
 
 import com.capstone.vsl.dto.ApiResponse;
 import com.capstone.vsl.dto.DictionaryDTO;
+import com.capstone.vsl.dto.DictionarySearchPageDTO;
 import com.capstone.vsl.service.DictionaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Dictionary Controller
  * Handles dictionary search and management endpoints
@@ -29,22 +28,32 @@ public class DictionaryController {
      * Public endpoint for searching dictionary entries
      * Uses Elasticsearch for fuzzy matching, falls back to PostgreSQL if ES is unavailable
      *
-     * @param query Search query string
-     * @return List of matching dictionary entries
+     * @param query  Search query string
+     * @param page   page index (0-based), ignored when a cursor is given
+     * @param size   page size (default 20, max 50)
+     * @param cursor nextCursor of the previous page, for paging past the first pages
+     * @return One page of matching dictionary entries with the total hit count
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<DictionaryDTO>>> search(
-            @RequestParam(required = false) String query) {
+    public ResponseEntity<ApiResponse<DictionarySearchPageDTO>> search(
+            @RequestParam(required = false) String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "0") int size,
+            @RequestParam(required = false) String cursor) {
         try {
+            var results = dictionaryService.search(query, page, size, cursor);
             if (query == null || query.trim().isEmpty()) {
-                return ResponseEntity.ok(ApiResponse.success("Please provide a search query", List.of()));
+                return ResponseEntity.ok(ApiResponse.success("Please provide a search query", results));
             }
 
-            var results = dictionaryService.search(query.trim());
             return ResponseEntity.ok(ApiResponse.success(
-                    String.format("Found %d result(s)", results.size()),
+                    String.format("Found %s%d result(s)", results.isTotalHitsExact() ? "" : "at least ",
+                            results.getTotalHits()),
                     results
             ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Search failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
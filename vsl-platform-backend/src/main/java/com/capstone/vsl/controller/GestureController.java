@@ -1,18 +1,25 @@
 package com.capstone.vsl.controller;
 
 import com.capstone.vsl.dto.ApiResponse;
+import com.capstone.vsl.dto.GestureJobDTO;
 import com.capstone.vsl.dto.GestureToTextResponse;
 import com.capstone.vsl.integration.PythonIntegrationService;
 import com.capstone.vsl.integration.exception.AccentCorrectionException;
 import com.capstone.vsl.integration.exception.GestureRecognitionException;
 import com.capstone.vsl.integration.exception.PythonServiceException;
+import com.capstone.vsl.service.GestureJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Gesture Recognition Controller
  * Handles gesture-to-text conversion using Python AI models
@@ -24,6 +31,14 @@ import org.springframework.web.multipart.MultipartFile;
 public class GestureController {
 
     private final PythonIntegrationService pythonIntegrationService;
+    private final GestureJobService gestureJobService;
+
+    /**
+     * Run /api/gesture/process through the asynchronous pipeline (request thread is released while
+     * the models run) instead of calling both models on the request thread
+     */
+    @Value("${python.pipeline.async.enabled:true}")
+    private boolean asyncPipeline;
 
     /**
      * POST /api/gesture/process
@@ -34,37 +49,100 @@ public class GestureController {
      * @return Corrected Vietnamese text
      */
     @PostMapping("/process")
-    public ResponseEntity<ApiResponse<GestureToTextResponse>> processGesture(
+    public CompletableFuture<ResponseEntity<ApiResponse<GestureToTextResponse>>> processGesture(
             @RequestParam("file") MultipartFile videoFile) {
+        if (videoFile == null || videoFile.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Video file is required")));
+        }
+
+        CompletableFuture<GestureToTextResponse> result;
         try {
-            if (videoFile == null || videoFile.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error("Video file is required"));
-            }
+            result = asyncPipeline
+                    ? pythonIntegrationService.processGestureToTextAsync(videoFile)
+                    : CompletableFuture.completedFuture(pythonIntegrationService.processGestureToText(videoFile));
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.handle((response, error) -> error == null
+                ? ResponseEntity.ok(ApiResponse.success("Gesture processed successfully", response))
+                : errorResponse(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error));
+    }
+
+    /**
+     * POST /api/gesture/jobs
+     * Submit a gesture video for asynchronous processing
+     * Returns 202 with the job id immediately; poll GET /api/gesture/jobs/{jobId} for the result,
+     * or pass callbackUrl to receive the finished job as a POST
+     *
+     * @param videoFile   Video file containing gesture
+     * @param callbackUrl Optional URL notified when the job finishes
+     * @return The PENDING job
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<GestureJobDTO>> submitJob(
+            @RequestParam("file") MultipartFile videoFile,
+            @RequestParam(value = "callbackUrl", required = false) String callbackUrl) {
+        try {
+            var job = gestureJobService.submit(videoFile, callbackUrl);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/gesture/jobs/" + job.getJobId()))
+                    .body(ApiResponse.success("Gesture job accepted", job));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (PythonServiceException e) {
+            log.error("Gesture job rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error submitting gesture job: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to submit gesture job: " + e.getMessage()));
+        }
+    }
 
-            var result = pythonIntegrationService.processGestureToText(videoFile);
-            return ResponseEntity.ok(ApiResponse.success("Gesture processed successfully", result));
+    /**
+     * GET /api/gesture/jobs/{jobId}
+     * Poll the status (and result, once finished) of a gesture job
+     *
+     * @param jobId Job id returned by POST /api/gesture/jobs
+     * @return The job, or 404 if it does not exist or has expired
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<GestureJobDTO>> getJob(@PathVariable String jobId) {
+        return gestureJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiResponse.success("Gesture job " + job.getStatus(), job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Gesture job not found or expired")));
+    }
 
-        } catch (GestureRecognitionException e) {
+    private ResponseEntity<ApiResponse<GestureToTextResponse>> errorResponse(Throwable error) {
+        if (error instanceof GestureRecognitionException e) {
             log.error("Gesture recognition failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                     .body(ApiResponse.error("Gesture Recognition Model error: " + e.getMessage()));
-        } catch (AccentCorrectionException e) {
+        }
+        if (error instanceof AccentCorrectionException e) {
             log.error("Accent correction failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                     .body(ApiResponse.error("Accent Correction Model error: " + e.getMessage()));
-        } catch (PythonServiceException e) {
+        }
+        if (error instanceof PythonServiceException e) {
             log.error("Python service error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                     .body(ApiResponse.error("AI service error: " + e.getMessage()));
-        } catch (IllegalArgumentException e) {
+        }
+        if (error instanceof IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
-        } catch (Exception e) {
-            log.error("Unexpected error processing gesture: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Failed to process gesture: " + e.getMessage()));
         }
+        log.error("Unexpected error processing gesture: {}", error.getMessage(), error);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to process gesture: " + error.getMessage()));
     }
 }
-
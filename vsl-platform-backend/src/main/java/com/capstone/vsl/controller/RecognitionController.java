@@ -2,7 +2,10 @@ package com.capstone.vsl.controller;
 
 import com.capstone.vsl.dto.ApiResponse;
 import com.capstone.vsl.integration.GestureIntegrationService;
+import com.capstone.vsl.integration.RecognitionMetrics;
+import com.capstone.vsl.integration.codec.PackedLandmarkCodec;
 import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
 import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
 import com.capstone.vsl.integration.exception.ExternalServiceException;
 import jakarta.validation.Valid;
@@ -12,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.function.Supplier;
+
 /**
  * Recognition Controller
  * Handles gesture recognition requests from clients
@@ -23,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 public class RecognitionController {
 
     private final GestureIntegrationService gestureIntegrationService;
+    private final RecognitionMetrics recognitionMetrics;
 
     /**
      * POST /api/vsl/recognize
@@ -38,14 +44,41 @@ public class RecognitionController {
      * @return Recognized Vietnamese text with accents
      */
     @PostMapping("/recognize")
-    public ResponseEntity<ApiResponse<String>> recognize(@Valid @RequestBody GestureInputDTO input) {
+    public ResponseEntity<ApiResponse<String>> recognize(
+            @Valid @RequestBody GestureInputDTO input,
+            @RequestAttribute(name = RecognitionTimingAdvice.DECODED_AT, required = false) Long decodedAt) {
+        var frameCount = input.frames() != null ? input.frames().size() : 0;
+        if (decodedAt != null) {
+            // Time between the decoded body and this method is Bean Validation (@Valid)
+            recognitionMetrics.record(RecognitionMetrics.VALIDATION, frameCount, RecognitionMetrics.SUCCESS,
+                    System.nanoTime() - decodedAt);
+        }
+        return handleRecognition(frameCount, () -> gestureIntegrationService.processGesture(input));
+    }
+
+    /**
+     * POST /api/vsl/recognize (Content-Type: application/x-vsl-landmarks)
+     * Same as the JSON variant, but the body uses the packed binary landmark format
+     * (little-endian float32 frames x landmarks x xyz with a small header, see {@link PackedLandmarkCodec}).
+     *
+     * @param input Packed gesture input decoded straight into a flat coordinate array
+     * @return Recognized Vietnamese text with accents
+     */
+    @PostMapping(value = "/recognize", consumes = PackedLandmarkCodec.MEDIA_TYPE_VALUE)
+    public ResponseEntity<ApiResponse<String>> recognizePacked(@RequestBody PackedGestureInput input) {
+        return handleRecognition(input.frameCount(), () -> gestureIntegrationService.processGesture(input));
+    }
+
+    /**
+     * Run a recognition call and map the outcome to a standardized ApiResponse
+     */
+    private ResponseEntity<ApiResponse<String>> handleRecognition(int frameCount, Supplier<String> recognition) {
         var startTime = System.currentTimeMillis();
         
         try {
-            log.info("Received recognition request with {} frames", 
-                    input.frames() != null ? input.frames().size() : 0);
+            log.info("Received recognition request with {} frames", frameCount);
 
-            var result = gestureIntegrationService.processGesture(input);
+            var result = recognition.get();
             
             var executionTime = System.currentTimeMillis() - startTime;
             log.info("Recognition completed in {} ms", executionTime);
@@ -0,0 +1,121 @@
+package com.capstone.vsl.controller;
+
+import com.capstone.vsl.dto.ApiResponse;
+import com.capstone.vsl.integration.RecognitionMetrics;
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Times the framework-side stages of /api/vsl/recognize (see RecognitionMetrics)
+ * - decode: from reading the request body to the decoded GestureInputDTO / PackedGestureInput
+ * - serialization: from the returned ApiResponse until the response has been written
+ *   (registered as a HandlerInterceptor for the end of the request)
+ * The decode end time is left in the request attribute DECODED_AT, so the controller can time validation.
+ */
+@ControllerAdvice(assignableTypes = RecognitionController.class)
+@RequiredArgsConstructor
+public class RecognitionTimingAdvice implements RequestBodyAdvice, ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    public static final String DECODED_AT = "vsl.recognition.decodedAt";
+    private static final String DECODE_STARTED_AT = "vsl.recognition.decodeStartedAt";
+    private static final String FRAME_COUNT = "vsl.recognition.frameCount";
+    private static final String SERIALIZATION_STARTED_AT = "vsl.recognition.serializationStartedAt";
+    private static final String OUTCOME = "vsl.recognition.outcome";
+
+    private final RecognitionMetrics recognitionMetrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == GestureInputDTO.class || targetType == PackedGestureInput.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        setAttribute(DECODE_STARTED_AT, System.nanoTime());
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        var decodedAt = System.nanoTime();
+        var frameCount = frameCount(body);
+        if (getAttribute(DECODE_STARTED_AT) instanceof Long startedAt) {
+            recognitionMetrics.record(RecognitionMetrics.DECODE, frameCount, RecognitionMetrics.SUCCESS,
+                    decodedAt - startedAt);
+        }
+        setAttribute(FRAME_COUNT, frameCount);
+        setAttribute(DECODED_AT, decodedAt);
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        setAttribute(OUTCOME, body instanceof ApiResponse<?> apiResponse && apiResponse.getCode() >= 400
+                ? (apiResponse.getCode() < 500 ? "invalid" : "error")
+                : RecognitionMetrics.SUCCESS);
+        setAttribute(SERIALIZATION_STARTED_AT, System.nanoTime());
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(SERIALIZATION_STARTED_AT) instanceof Long startedAt) {
+            var frameCount = request.getAttribute(FRAME_COUNT) instanceof Integer count ? count : 0;
+            recognitionMetrics.record(RecognitionMetrics.SERIALIZATION, frameCount,
+                    (String) request.getAttribute(OUTCOME), System.nanoTime() - startedAt);
+        }
+    }
+
+    private static int frameCount(Object body) {
+        if (body instanceof GestureInputDTO input) {
+            return input.frames() != null ? input.frames().size() : 0;
+        }
+        return body instanceof PackedGestureInput input ? input.frameCount() : 0;
+    }
+
+    private static void setAttribute(String name, Object value) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(name, value, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static Object getAttribute(String name) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+}
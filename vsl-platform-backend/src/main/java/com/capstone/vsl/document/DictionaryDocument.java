@@ -8,27 +8,48 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.Mapping;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.annotations.Setting;
 
 /**
  * Dictionary Document for Elasticsearch
  * Uses Vietnamese Analyzer (ICU folding) for proper Vietnamese text search.
+ * The index mapping is es-mapping.json, which mirrors the field annotations below except for id.
+ * Mapping changes apply to a new index: run POST /api/admin/dictionary/reindex after deploying them.
  */
 @Document(indexName = "dictionary")
 @Setting(settingPath = "/es-settings.json")
+@Mapping(mappingPath = "/es-mapping.json")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class DictionaryDocument {
 
+    /**
+     * Mapped as long in es-mapping.json (Spring Data always maps an @Id property as keyword) so that
+     * sorting and search_after on id are numeric: the reconciler and search cursors page in id order
+     */
     @Id
     private Long id;
 
-    @Field(
-        type = FieldType.Text,
-        analyzer = "vietnamese_analyzer",
-        searchAnalyzer = "vietnamese_analyzer"
+    @MultiField(
+        mainField = @Field(
+            type = FieldType.Text,
+            analyzer = "vietnamese_analyzer",
+            searchAnalyzer = "vietnamese_analyzer"
+        ),
+        otherFields = {
+            // word.prefix: edge n-grams of each token for search-as-you-type
+            @InnerField(
+                suffix = "prefix",
+                type = FieldType.Text,
+                analyzer = "vietnamese_prefix_analyzer",
+                searchAnalyzer = "vietnamese_analyzer"
+            )
+        }
     )
     private String word;
 
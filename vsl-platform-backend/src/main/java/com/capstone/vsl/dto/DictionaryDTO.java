@@ -1,5 +1,6 @@
 package com.capstone.vsl.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,5 +24,11 @@ public class DictionaryDTO {
     private String videoUrl;
     
     private Boolean elasticSynced;
+
+    /**
+     * Relevance score of a search result (Elasticsearch search only)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
 }
 
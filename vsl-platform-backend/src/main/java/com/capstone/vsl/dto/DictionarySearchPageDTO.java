@@ -0,0 +1,26 @@
+package com.capstone.vsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of dictionary search results
+ * totalHits is exact only if totalHitsExact is true; otherwise at least that many entries match.
+ * Pass nextCursor back as "cursor" to get the following page (null on the last page).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DictionarySearchPageDTO {
+    private List<DictionaryDTO> results;
+    private int page;
+    private int size;
+    private long totalHits;
+    private boolean totalHitsExact;
+    private String nextCursor;
+}
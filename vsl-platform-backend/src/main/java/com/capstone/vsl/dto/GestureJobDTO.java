@@ -0,0 +1,26 @@
+package com.capstone.vsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an asynchronous gesture video job
+ * result is set once the job SUCCEEDED, error once it FAILED
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class GestureJobDTO {
+    private String jobId;
+    private GestureJobStatus status;
+    private String filename;
+    private GestureToTextResponse result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
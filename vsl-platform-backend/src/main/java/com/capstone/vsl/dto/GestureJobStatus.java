@@ -0,0 +1,11 @@
+package com.capstone.vsl.dto;
+
+/**
+ * Lifecycle of an asynchronous gesture video job
+ */
+public enum GestureJobStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
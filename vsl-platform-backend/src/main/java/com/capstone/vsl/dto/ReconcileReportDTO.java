@@ -0,0 +1,21 @@
+package com.capstone.vsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a dictionary PostgreSQL / Elasticsearch reconciliation run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconcileReportDTO {
+    private long resynced;
+    private long failed;
+    private long indexedChecked;
+    private long orphansRemoved;
+    private long durationMs;
+}
@@ -0,0 +1,35 @@
+package com.capstone.vsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the progress or result of a zero-downtime dictionary reindex
+ * documents, durationMs and docsPerSecond grow while the reindex is RUNNING; previousIndices and
+ * caughtUp are set once it SUCCEEDED, error once it FAILED
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReindexReportDTO {
+    private ReindexStatus status;
+    private String index;
+    private List<String> previousIndices;
+    /**
+     * Rows in PostgreSQL when the reindex started
+     */
+    private long expectedDocuments;
+    private long documents;
+    private long caughtUp;
+    private long durationMs;
+    private double docsPerSecond;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,10 @@
+package com.capstone.vsl.dto;
+
+/**
+ * Lifecycle of a background dictionary reindex
+ */
+public enum ReindexStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,65 @@
+package com.capstone.vsl.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox entry: "dictionary entry {dictionaryId} changed and must be replicated to Elasticsearch"
+ * Written in the same transaction as the change; deleted by DictionaryOutboxRelay once the entry's
+ * current state (or its deletion) has been written to the index, or parked (deadAt set) once the
+ * index has rejected it max-attempts times.
+ */
+@Entity
+@Table(name = "dictionary_outbox", indexes = @Index(name = "idx_dictionary_outbox_next_attempt", columnList = "next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DictionaryOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Changed entry (no foreign key: deletions are replicated too)
+     */
+    @Column(name = "dictionary_id", nullable = false)
+    private Long dictionaryId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Not picked up by the relay before this time (pushed back after failed attempts)
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Set when the relay gave up on the event; parked events are kept for inspection but no longer
+     * retried or counted as replication lag
+     */
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
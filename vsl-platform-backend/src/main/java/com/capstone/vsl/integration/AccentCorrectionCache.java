@@ -0,0 +1,169 @@
+package com.capstone.vsl.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Accent Correction Cache
+ * rawText -> correctedText cache in front of Model 2 (/add-accents)
+ * Common words ("xinchao", "camon") are corrected once and then answered locally.
+ *
+ * - Size-bounded (W-TinyLFU eviction keeps the frequently used words) with expire-after-write TTL
+ * - Optional persistence (vsl.accent-cache.file): the cache is written to disk every persist-interval ms
+ *   (when it changed) and on shutdown, and loaded at startup, so a restarted or crashed backend does not
+ *   send the common words to Model 2 again
+ * - Metrics: cache.gets{result=hit|miss}, cache.evictions, cache.size with cache=accent-correction
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccentCorrectionCache {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${vsl.accent-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vsl.accent-cache.max-size:50000}")
+    private long maxSize;
+
+    /**
+     * Time (ms) a correction stays valid after it was written
+     */
+    @Value("${vsl.accent-cache.ttl:86400000}")
+    private long ttlMs;
+
+    /**
+     * JSON file the cache is persisted to / warmed from (empty = in-memory only)
+     */
+    @Value("${vsl.accent-cache.file:}")
+    private String file;
+
+    /**
+     * Interval (ms) between snapshots to vsl.accent-cache.file (0 = only on shutdown)
+     */
+    @Value("${vsl.accent-cache.persist-interval:300000}")
+    private long persistIntervalMs;
+
+    private Cache<String, String> cache;
+    private ScheduledExecutorService persister;
+
+    /**
+     * Set by put(), cleared by persist(); periodic snapshots are skipped while nothing changed
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            log.info("Accent correction cache is disabled");
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accent-correction");
+        warmUp();
+        if (!file.isBlank() && persistIntervalMs > 0) {
+            persister = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofVirtual().name("accent-cache-persist").factory());
+            persister.scheduleWithFixedDelay(() -> {
+                if (dirty.get()) {
+                    persist();
+                }
+            }, persistIntervalMs, persistIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (persister != null) {
+            persister.shutdownNow();
+        }
+        persist();
+    }
+
+    /**
+     * Cached correction for this raw text, or null on a miss (or when the cache is disabled)
+     */
+    public String get(String rawText) {
+        return cache != null ? cache.getIfPresent(rawText) : null;
+    }
+
+    public void put(String rawText, String correctedText) {
+        if (cache != null) {
+            cache.put(rawText, correctedText);
+            dirty.set(true);
+        }
+    }
+
+    private void warmUp() {
+        if (file.isBlank() || !Files.isReadable(Path.of(file))) {
+            return;
+        }
+        try {
+            Map<String, String> entries = objectMapper.readValue(Path.of(file).toFile(), new TypeReference<>() {
+            });
+            entries.entrySet().stream()
+                    .limit(maxSize)
+                    .forEach(entry -> cache.put(entry.getKey(), entry.getValue()));
+            log.info("Accent correction cache warmed with {} entries from {}", Math.min(entries.size(), maxSize), file);
+        } catch (IOException e) {
+            log.warn("Failed to warm accent correction cache from {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the current entries to vsl.accent-cache.file (via a temp file, so a crash never leaves a partial file)
+     */
+    synchronized void persist() {
+        if (cache == null || file.isBlank()) {
+            return;
+        }
+        var target = Path.of(file).toAbsolutePath();
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            dirty.set(false);
+            objectMapper.writeValue(temp.toFile(), new LinkedHashMap<>(cache.asMap()));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Accent correction cache persisted ({} entries) to {}", cache.estimatedSize(), target);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Failed to persist accent correction cache to {}: {}", target, e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Best effort: a stray .tmp file is harmless
+                }
+            }
+        }
+    }
+}
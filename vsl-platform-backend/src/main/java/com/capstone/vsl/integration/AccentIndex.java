@@ -0,0 +1,233 @@
+package com.capstone.vsl.integration;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable de-accented -> accented lookup built from dictionary words
+ *
+ * Keys are folded forms (no diacritics, đ -> d, lower case, letters and digits only), stored in a
+ * trie. Each key keeps its most frequent accented form. Multi-word entries ("xin chào") are indexed
+ * as a whole and per syllable, so a known phrase wins over its syllables and unknown phrases can
+ * still be assembled from known syllables. Each key also keeps its most frequent whole-entry form,
+ * so restore() can be limited to whole dictionary entries (syllables of phrases do not count).
+ *
+ * restore() segments the folded input with a shortest-path search over the trie: fewest segments
+ * first, then highest frequency. Input whitespace is ignored because Model 1 output has no
+ * reliable word boundaries ("xinchao").
+ */
+final class AccentIndex {
+
+    /**
+     * Cost per segment; larger than any frequency score, so longer matches always win
+     */
+    private static final double SEGMENT_COST = 100;
+
+    /**
+     * Cost per input character not covered by the dictionary
+     */
+    private static final double UNKNOWN_COST = 10_000;
+
+    private static final int ALPHABET = 36;
+
+    static final AccentIndex EMPTY = build(Map.of());
+
+    private final Node root;
+    private final int size;
+
+    private AccentIndex(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @param wordFrequencies Accented dictionary words with their lookup counts
+     */
+    static AccentIndex build(Map<String, Long> wordFrequencies) {
+        var formWeights = new HashMap<String, Long>();
+        var entryForms = new HashSet<String>();
+        wordFrequencies.forEach((word, frequency) -> {
+            if (word == null || word.isBlank()) {
+                return;
+            }
+            var form = word.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+            var weight = 1 + (frequency != null ? frequency : 0);
+            formWeights.merge(form, weight, Long::sum);
+            entryForms.add(form);
+            if (form.indexOf(' ') > 0) {
+                for (var syllable : form.split(" ")) {
+                    formWeights.merge(syllable, weight, Long::sum);
+                }
+            }
+        });
+
+        var root = new Node();
+        var size = 0;
+        for (var entry : formWeights.entrySet()) {
+            var key = fold(entry.getKey());
+            if (key.isEmpty()) {
+                continue;
+            }
+            var node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+            }
+            if (node.form == null) {
+                size++;
+            }
+            var score = Math.log1p(entry.getValue());
+            if (node.form == null || score > node.score
+                    || (score == node.score && entry.getKey().compareTo(node.form) < 0)) {
+                node.form = entry.getKey();
+                node.score = score;
+            }
+            if (entryForms.contains(entry.getKey()) && (node.entryForm == null || score > node.entryScore
+                    || (score == node.entryScore && entry.getKey().compareTo(node.entryForm) < 0))) {
+                node.entryForm = entry.getKey();
+                node.entryScore = score;
+            }
+        }
+        return new AccentIndex(root, size);
+    }
+
+    /**
+     * Number of distinct folded keys
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Restore accents in raw (unaccented) text from whole entries and their syllables
+     * Characters the dictionary cannot cover are kept as-is (folded) and make the result incomplete.
+     */
+    Restoration restore(String rawText) {
+        return restore(rawText, false);
+    }
+
+    /**
+     * @param wholeEntriesOnly Only match whole dictionary entries; syllables of multi-word entries
+     *                         count as unknown text
+     */
+    Restoration restore(String rawText, boolean wholeEntriesOnly) {
+        var key = fold(rawText);
+        var n = key.length();
+        if (n == 0) {
+            return new Restoration(rawText.trim(), false);
+        }
+
+        var cost = new double[n + 1];
+        var start = new int[n + 1];
+        var forms = new String[n + 1];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        cost[0] = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (cost[i] == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            // Skip one unknown character
+            if (cost[i] + UNKNOWN_COST < cost[i + 1]) {
+                cost[i + 1] = cost[i] + UNKNOWN_COST;
+                start[i + 1] = i;
+                forms[i + 1] = null;
+            }
+            // Every dictionary key starting at i
+            var node = root;
+            for (int j = i; j < n; j++) {
+                node = node.child(key.charAt(j));
+                if (node == null) {
+                    break;
+                }
+                var form = wholeEntriesOnly ? node.entryForm : node.form;
+                if (form != null) {
+                    var candidate = cost[i] + SEGMENT_COST - (wholeEntriesOnly ? node.entryScore : node.score);
+                    if (candidate < cost[j + 1]) {
+                        cost[j + 1] = candidate;
+                        start[j + 1] = i;
+                        forms[j + 1] = form;
+                    }
+                }
+            }
+        }
+
+        var segments = new ArrayList<String>();
+        var complete = true;
+        var unknown = new StringBuilder();
+        for (int end = n; end > 0; end = start[end]) {
+            if (forms[end] == null) {
+                complete = false;
+                unknown.append(key.charAt(start[end]));
+                continue;
+            }
+            if (!unknown.isEmpty()) {
+                segments.add(unknown.reverse().toString());
+                unknown.setLength(0);
+            }
+            segments.add(forms[end]);
+        }
+        if (!unknown.isEmpty()) {
+            segments.add(unknown.reverse().toString());
+        }
+        Collections.reverse(segments);
+        return new Restoration(String.join(" ", segments), complete);
+    }
+
+    /**
+     * Fold to the lookup alphabet: strip diacritics, đ -> d, lower case, keep only [a-z0-9]
+     */
+    static String fold(String text) {
+        var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        var folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            var c = Character.toLowerCase(decomposed.charAt(i));
+            if (c == 'đ') {
+                c = 'd';
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    private static int slot(char c) {
+        return c <= '9' ? 26 + (c - '0') : c - 'a';
+    }
+
+    /**
+     * @param text     Restored text, segments separated by spaces
+     * @param complete Whether every input character matched a dictionary word
+     */
+    record Restoration(String text, boolean complete) {
+    }
+
+    private static final class Node {
+        private Node[] children;
+        private String form;
+        private double score;
+        private String entryForm;
+        private double entryScore;
+
+        Node child(char c) {
+            return children != null ? children[slot(c)] : null;
+        }
+
+        Node childOrCreate(char c) {
+            if (children == null) {
+                children = new Node[ALPHABET];
+            }
+            var slot = slot(c);
+            if (children[slot] == null) {
+                children[slot] = new Node();
+            }
+            return children[slot];
+        }
+    }
+}
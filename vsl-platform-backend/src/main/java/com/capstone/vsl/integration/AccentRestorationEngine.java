@@ -0,0 +1,144 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.repository.DictionaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accent Restoration Engine
+ * In-JVM Vietnamese accent restoration from the dictionary table (see AccentIndex), answering
+ * add-accents in microseconds without calling Model 2.
+ *
+ * - Fast path (vsl.accent-engine.fast-path, off by default): text made up entirely of whole
+ *   dictionary entries is restored locally and never reaches Model 2. Syllables of multi-word
+ *   entries do not count, so text assembled syllable by syllable still goes to Model 2
+ * - Fallback (vsl.accent-engine.fallback): when Model 2 is busy, unreachable or failing, the best
+ *   local restoration (syllables included) is returned instead of an error
+ *
+ * The index is built once the application is ready and rebuilt every refresh-interval ms.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccentRestorationEngine {
+
+    private final DictionaryRepository dictionaryRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vsl.accent-engine.fast-path:false}")
+    private boolean fastPathEnabled;
+
+    @Value("${vsl.accent-engine.fallback:true}")
+    private boolean fallbackEnabled;
+
+    /**
+     * Interval (ms) between index rebuilds from the dictionary table (0 = build once at startup)
+     */
+    @Value("${vsl.accent-engine.refresh-interval:300000}")
+    private long refreshIntervalMs;
+
+    private volatile AccentIndex index = AccentIndex.EMPTY;
+    private ScheduledExecutorService refresher;
+    private Counter fastPathHits;
+    private Counter fallbacks;
+
+    @PostConstruct
+    void init() {
+        fastPathHits = Counter.builder("vsl.accent-engine.restored")
+                .description("Accent corrections answered locally")
+                .tag("mode", "fast-path")
+                .register(meterRegistry);
+        fallbacks = Counter.builder("vsl.accent-engine.restored")
+                .description("Accent corrections answered locally")
+                .tag("mode", "fallback")
+                .register(meterRegistry);
+        Gauge.builder("vsl.accent-engine.index.size", this, engine -> engine.index.size())
+                .description("Distinct de-accented keys in the local accent index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!fastPathEnabled && !fallbackEnabled) {
+            log.info("Local accent restoration is disabled");
+            return;
+        }
+        refresh();
+        if (refreshIntervalMs > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofVirtual().name("accent-index-refresh").factory());
+            refresher.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuild the index from the dictionary table; on failure the previous index stays in use
+     */
+    public void refresh() {
+        try {
+            var wordFrequencies = new HashMap<String, Long>();
+            for (var row : dictionaryRepository.findWordFrequencies()) {
+                wordFrequencies.merge(row.getWord(), row.getFrequency(), Long::sum);
+            }
+            rebuild(wordFrequencies);
+        } catch (Exception e) {
+            log.warn("Failed to rebuild local accent index: {}", e.getMessage());
+        }
+    }
+
+    void rebuild(Map<String, Long> wordFrequencies) {
+        var started = System.nanoTime();
+        index = AccentIndex.build(wordFrequencies);
+        log.info("Local accent index built: {} words -> {} keys in {} ms",
+                wordFrequencies.size(), index.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Local restoration if the text is made up entirely of whole dictionary entries, otherwise null
+     */
+    public String fastPath(String rawText) {
+        if (!fastPathEnabled) {
+            return null;
+        }
+        var restoration = index.restore(rawText, true);
+        if (!restoration.complete()) {
+            return null;
+        }
+        fastPathHits.increment();
+        return restoration.text();
+    }
+
+    /**
+     * Best-effort local restoration (unknown parts kept unaccented), or null if fallback is off
+     * or the index is empty
+     */
+    public String fallback(String rawText) {
+        if (!fallbackEnabled || index.size() == 0) {
+            return null;
+        }
+        fallbacks.increment();
+        return index.restore(rawText).text();
+    }
+}
@@ -0,0 +1,393 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Client-side load balancer over the unified AI service replicas
+ * - Least outstanding requests: each call goes to the healthy replica with the fewest calls in flight
+ *   (ties are broken round-robin)
+ * - Health-checked membership: every replica's health endpoint is polled; a replica that fails the check
+ *   or refuses a connection (or whose host does not resolve) is skipped until its next successful check.
+ *   Read timeouts do not eject a replica: slowness is left to the circuit breaker, so a loaded cluster
+ *   is not emptied all at once. If no replica is healthy, all of them are tried again.
+ * - Hedging (optional, call() only): if the first replica has not answered within the observed p95
+ *   latency of single calls, the same request is sent to a second replica, the first successful answer
+ *   wins and the other request is cancelled. Hedges are capped at a fraction of all calls so a slow
+ *   cluster is not doubled in load. Only idempotent calls (recognition) go through the pool.
+ * - Batches (callBatch()) are balanced the same way but never hedged, and their latency, which grows
+ *   with the batch size, is kept out of the p95.
+ *
+ * Metrics: vsl.ai.replica.outstanding / .healthy gauges (tagged replica=url), vsl.ai.hedge.requests counter.
+ */
+@Slf4j
+public class AiReplicaPool implements MeterBinder, AutoCloseable {
+
+    private static final int LATENCY_SAMPLES = 512;
+    private static final int P95_REFRESH_INTERVAL = 64;
+
+    private final String name;
+    private final List<Replica> replicas;
+    private final Duration healthInterval;
+    private final boolean hedgingEnabled;
+    private final Duration minHedgeDelay;
+    private final double maxHedgeRatio;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long[] latencySamples = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+    private volatile long p95Nanos;
+
+    private volatile boolean running;
+
+    /**
+     * @param name           Pool name used in logs and metrics
+     * @param baseUrls       Base URL of each replica (e.g. http://host:5000/predict)
+     * @param clientFactory  Creates the RestClient for a base URL
+     * @param healthPath     Health endpoint, resolved against each base URL (e.g. /health)
+     * @param healthInterval Time between health checks (ZERO = no active checks)
+     * @param hedgingEnabled Send a second request when the first is slower than p95
+     * @param minHedgeDelay  Lower bound of the hedge delay (also used until enough latencies are known)
+     * @param maxHedgeRatio  Max fraction of calls that may be hedged
+     */
+    public AiReplicaPool(String name, List<String> baseUrls, Function<String, RestClient> clientFactory,
+                         String healthPath, Duration healthInterval,
+                         boolean hedgingEnabled, Duration minHedgeDelay, double maxHedgeRatio) {
+        if (baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica URL is required for " + name);
+        }
+        this.name = name;
+        this.replicas = baseUrls.stream()
+                .map(url -> new Replica(url, clientFactory.apply(url), URI.create(url).resolve(healthPath)))
+                .toList();
+        this.healthInterval = healthInterval;
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelay = minHedgeDelay;
+        this.maxHedgeRatio = maxHedgeRatio;
+    }
+
+    /**
+     * Start polling replica health (not needed with a single replica, which is always used)
+     */
+    public void start() {
+        if (replicas.size() < 2 || healthInterval.isZero()) {
+            return;
+        }
+        running = true;
+        for (var replica : replicas) {
+            Thread.ofVirtual().name(name + "-health-" + replica.url).start(() -> healthLoop(replica));
+        }
+        log.info("AI replica pool '{}' started with {} replicas (hedging: {})", name, replicas.size(), hedgingEnabled);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run an idempotent request against the least loaded replica, hedged if enabled
+     *
+     * @param request Builds and executes the request with the replica's RestClient
+     */
+    public <T> T call(Function<RestClient, T> request) {
+        calls.incrementAndGet();
+        var primary = choose(null);
+        if (!hedgingEnabled || replicas.size() < 2) {
+            return invoke(primary, request, true);
+        }
+
+        var first = attempt(primary, request);
+        try {
+            return first.result().get(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slower than p95: hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            first.cancel();
+            throw new AiServiceUnavailableException("Interrupted while waiting for " + name, e);
+        }
+
+        var secondary = choose(primary);
+        if (secondary == null || !tryAcquireHedge()) {
+            return await(first);
+        }
+        log.debug("Hedging request to {} after {} ms without an answer from {}",
+                secondary.url, hedgeDelay().toMillis(), primary.url);
+        var second = attempt(secondary, request);
+        return await(firstSuccessful(first, second), first, second);
+    }
+
+    /**
+     * Run a batch request against the least loaded replica; never hedged and not part of the p95
+     */
+    public <T> T callBatch(Function<RestClient, T> request) {
+        return invoke(choose(null), request, false);
+    }
+
+    private <T> T invoke(Replica replica, Function<RestClient, T> request, boolean recordLatency) {
+        replica.outstanding.incrementAndGet();
+        var start = System.nanoTime();
+        try {
+            var result = request.apply(replica.client);
+            if (recordLatency) {
+                recordLatency(System.nanoTime() - start);
+            }
+            return result;
+        } catch (RestClientException e) {
+            if (replicas.size() > 1 && replica.healthy && isConnectFailure(e)
+                    && !Thread.currentThread().isInterrupted()) {
+                log.warn("AI replica {} marked unhealthy: {}", replica.url, e.getMessage());
+                replica.healthy = false;
+            }
+            throw e;
+        } finally {
+            replica.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Connection refused or host not resolvable; read timeouts and resets of a busy replica do not count
+     */
+    private static boolean isConnectFailure(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Connection error, timeout or reset, however RestClient wrapped it: I/O failures while sending or
+     * waiting for the response are ResourceAccessException, but a read timeout while the body is being
+     * extracted is a plain RestClientException
+     */
+    public static boolean isIoFailure(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Start {@code request} on {@code replica} in the background; the attempt can be cancelled, which
+     * interrupts the virtual thread and thereby aborts its blocking socket I/O
+     */
+    private <T> Attempt<T> attempt(Replica replica, Function<RestClient, T> request) {
+        var result = new CompletableFuture<T>();
+        var task = executor.submit(() -> {
+            try {
+                result.complete(invoke(replica, request, true));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new Attempt<>(result, task);
+    }
+
+    /**
+     * Healthy replica with the fewest outstanding requests, other than {@code exclude}
+     * Falls back to all replicas when none is healthy; returns null only if nothing but {@code exclude} is left.
+     */
+    private Replica choose(Replica exclude) {
+        var chosen = pick(exclude, true);
+        return chosen != null ? chosen : pick(exclude, false);
+    }
+
+    private Replica pick(Replica exclude, boolean healthyOnly) {
+        var size = replicas.size();
+        var offset = Math.floorMod(nextIndex.getAndIncrement(), size);
+        Replica best = null;
+        for (int i = 0; i < size; i++) {
+            var replica = replicas.get((offset + i) % size);
+            if (replica == exclude || (healthyOnly && !replica.healthy)) {
+                continue;
+            }
+            if (best == null || replica.outstanding.get() < best.outstanding.get()) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private boolean tryAcquireHedge() {
+        if (hedges.get() >= calls.get() * maxHedgeRatio) {
+            return false;
+        }
+        hedges.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Observed p95 latency, but never below the configured minimum
+     */
+    Duration hedgeDelay() {
+        return Duration.ofNanos(Math.max(p95Nanos, minHedgeDelay.toNanos()));
+    }
+
+    private void recordLatency(long nanos) {
+        long[] snapshot = null;
+        synchronized (latencySamples) {
+            latencySamples[latencyCount++ % LATENCY_SAMPLES] = nanos;
+            if (latencyCount % P95_REFRESH_INTERVAL == 0) {
+                snapshot = Arrays.copyOf(latencySamples, Math.min(latencyCount, LATENCY_SAMPLES));
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            p95Nanos = snapshot[(int) (snapshot.length * 0.95)];
+        }
+    }
+
+    private void healthLoop(Replica replica) {
+        while (running) {
+            try {
+                replica.client.get().uri(replica.healthUri).retrieve().toBodilessEntity();
+                if (!replica.healthy) {
+                    log.info("AI replica {} is healthy again", replica.url);
+                }
+                replica.healthy = true;
+            } catch (Exception e) {
+                if (replica.healthy) {
+                    log.warn("AI replica {} failed health check: {}", replica.url, e.getMessage());
+                }
+                replica.healthy = false;
+            }
+            try {
+                Thread.sleep(healthInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Completes with the first successful answer and cancels the other attempt, or fails once both failed
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(Attempt<T> first, Attempt<T> second) {
+        var winner = new CompletableFuture<T>();
+        var remaining = new AtomicInteger(2);
+        for (var attempt : List.of(first, second)) {
+            var other = attempt == first ? second : first;
+            attempt.result().whenComplete((value, error) -> {
+                if (error == null) {
+                    if (winner.complete(value)) {
+                        other.cancel();
+                    }
+                } else if (remaining.decrementAndGet() == 0) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private <T> T await(Attempt<T> attempt) {
+        return await(attempt.result(), attempt);
+    }
+
+    /**
+     * Wait for {@code future}; if the caller is interrupted, the given attempts are cancelled
+     */
+    @SafeVarargs
+    private <T> T await(CompletableFuture<T> future, Attempt<T>... attempts) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (var attempt : attempts) {
+                attempt.cancel();
+            }
+            throw new AiServiceUnavailableException("Interrupted while waiting for " + name, e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof RuntimeException runtime ? runtime : new CompletionException(error);
+    }
+
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (var replica : replicas) {
+            Gauge.builder("vsl.ai.replica.outstanding", replica.outstanding, AtomicInteger::get)
+                    .tags("pool", name, "replica", replica.url)
+                    .description("Requests in flight to an AI service replica")
+                    .register(registry);
+            Gauge.builder("vsl.ai.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tags("pool", name, "replica", replica.url)
+                    .description("1 if the AI service replica passed its last health check")
+                    .register(registry);
+        }
+        FunctionCounter.builder("vsl.ai.hedge.requests", hedges, AtomicLong::get)
+                .tag("pool", name)
+                .description("Duplicate requests sent because the first replica was slower than p95")
+                .register(registry);
+    }
+
+    /**
+     * One in-flight request: its outcome and the task running it
+     */
+    private record Attempt<T>(CompletableFuture<T> result, Future<?> task) {
+
+        void cancel() {
+            task.cancel(true);
+        }
+    }
+
+    private static final class Replica {
+        private final String url;
+        private final RestClient client;
+        private final URI healthUri;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Replica(String url, RestClient client, URI healthUri) {
+            this.url = url;
+            this.client = client;
+            this.healthUri = healthUri;
+        }
+    }
+}
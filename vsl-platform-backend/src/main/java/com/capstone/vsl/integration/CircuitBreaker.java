@@ -0,0 +1,220 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.exception.CircuitOpenException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Circuit Breaker for one AI backend
+ * States:
+ * - CLOSED: calls pass; the outcome of the last window-size calls is recorded. A call is "bad" if it
+ *   failed (per the failure predicate) or took longer than the slow-call threshold. Once at least
+ *   minimum-calls are recorded and the bad-call rate reaches the threshold, the circuit opens
+ * - OPEN: calls are rejected immediately with CircuitOpenException for open-duration
+ * - HALF_OPEN: up to half-open-probes calls are let through; if all of them are good the circuit
+ *   closes, the first bad one re-opens it
+ *
+ * Exceptions not matched by the failure predicate (e.g. load shedding, 4xx) are not recorded.
+ * Wrap only the backend round trip (not queueing in a limiter or batcher), so that one outcome is
+ * recorded per call actually made and the slow-call threshold measures the backend alone.
+ * Metrics: vsl.backend.circuit.state gauge (0 closed, 1 open, 2 half-open) and
+ * vsl.backend.circuit.rejected counter, tagged backend=name.
+ */
+@Slf4j
+public class CircuitBreaker implements MeterBinder {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallThresholdNanos;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final Predicate<Throwable> isFailure;
+
+    /**
+     * Ring buffer of recent outcomes (true = bad call)
+     */
+    private final boolean[] window;
+    private int windowPosition;
+    private int recordedCalls;
+    private int badCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int goodProbes;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration slowCallThreshold, Duration openDuration, int halfOpenProbes,
+                          Predicate<Throwable> isFailure) {
+        if (windowSize <= 0 || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("windowSize and halfOpenProbes must be positive for backend " + name);
+        }
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThresholdNanos = slowCallThreshold.isZero() ? Long.MAX_VALUE : slowCallThreshold.toNanos();
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.isFailure = isFailure;
+    }
+
+    /**
+     * Run the call if the circuit allows it and record its outcome
+     *
+     * @throws CircuitOpenException if the circuit is open
+     */
+    public <T> T call(Supplier<T> call) {
+        var probe = acquirePermission();
+        var start = System.nanoTime();
+        try {
+            var result = call.get();
+            onOutcome(probe, System.nanoTime() - start >= slowCallThresholdNanos);
+            return result;
+        } catch (RuntimeException e) {
+            if (isFailure.test(e)) {
+                onOutcome(probe, true);
+            } else {
+                onIgnored(probe);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the permitted call is a half-open probe
+     */
+    private synchronized boolean acquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        switch (state) {
+            case CLOSED -> {
+                return false;
+            }
+            case HALF_OPEN -> {
+                if (probesInFlight + goodProbes < halfOpenProbes) {
+                    probesInFlight++;
+                    return true;
+                }
+            }
+            default -> {
+            }
+        }
+        rejected.incrementAndGet();
+        if (state == State.HALF_OPEN) {
+            throw new CircuitOpenException(name + " circuit is half-open, probe calls in progress");
+        }
+        throw openException();
+    }
+
+    /**
+     * Fail fast while the circuit is open, without taking a half-open probe slot
+     * Lets callers skip queueing (limiter, batcher) for a call that call() would reject anyway.
+     *
+     * @throws CircuitOpenException if the circuit is open and the open duration has not passed yet
+     */
+    public synchronized void rejectIfOpen() {
+        if (state == State.OPEN && System.nanoTime() - openedAt < openDurationNanos) {
+            rejected.incrementAndGet();
+            throw openException();
+        }
+    }
+
+    private CircuitOpenException openException() {
+        var retryInMs = Duration.ofNanos(openDurationNanos - (System.nanoTime() - openedAt)).toMillis();
+        return new CircuitOpenException(name + " circuit is open, retry in " + retryInMs + " ms");
+    }
+
+    private synchronized void onOutcome(boolean probe, boolean bad) {
+        if (probe) {
+            // Probes from an earlier half-open period may complete after the state changed
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (bad) {
+                transitionTo(State.OPEN);
+            } else if (++goodProbes >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+
+        if (recordedCalls == window.length) {
+            if (window[windowPosition]) {
+                badCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowPosition] = bad;
+        if (bad) {
+            badCalls++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+
+        if (recordedCalls >= minimumCalls && badCalls * 100 >= failureRateThreshold * recordedCalls) {
+            log.warn("{} circuit opened: {} of the last {} calls failed or were slow", name, badCalls, recordedCalls);
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private synchronized void onIgnored(boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        if (newState != state) {
+            log.info("{} circuit: {} -> {}", name, state, newState);
+        }
+        state = newState;
+        probesInFlight = 0;
+        goodProbes = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (newState == State.CLOSED) {
+            recordedCalls = 0;
+            badCalls = 0;
+            windowPosition = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("vsl.backend.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .tag("backend", name)
+                .description("Circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(registry);
+        FunctionCounter.builder("vsl.backend.circuit.rejected", rejected, AtomicLong::get)
+                .tag("backend", name)
+                .description("Calls rejected while the circuit was open")
+                .register(registry);
+    }
+}
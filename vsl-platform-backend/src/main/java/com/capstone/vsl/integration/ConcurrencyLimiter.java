@@ -0,0 +1,177 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.exception.BackendSaturatedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency Limiter for one AI backend
+ * Caps the number of requests in flight to a Python service:
+ * - Max concurrent: calls allowed to run at the same time
+ * - Max waiting: callers allowed to queue for a slot, anything beyond is rejected immediately
+ * - Acquire timeout: how long a queued caller waits before being rejected
+ * - Wait budget (optional): latency-aware load shedding. The expected wait of a new caller is
+ *   estimated from its queue position and the moving average call latency; if it exceeds the budget
+ *   the caller is rejected immediately instead of queueing until the acquire timeout
+ *
+ * Request threads are virtual (spring.threads.virtual.enabled), so queued callers are cheap parked
+ * virtual threads rather than blocked Tomcat workers. Rejections surface as BackendSaturatedException.
+ * Metrics: vsl.backend.limiter.in-flight / .waiting / .latency gauges and .rejected / .shed counters,
+ * tagged backend=name.
+ */
+public class ConcurrencyLimiter implements MeterBinder {
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final Duration waitBudget;
+
+    /**
+     * Exponentially weighted moving average of call latency in nanoseconds (0 until the first call completes)
+     */
+    private volatile double averageLatencyNanos;
+
+    public ConcurrencyLimiter(String name, int maxConcurrent, int maxWaiting, Duration acquireTimeout) {
+        this(name, maxConcurrent, maxWaiting, acquireTimeout, Duration.ZERO);
+    }
+
+    public ConcurrencyLimiter(String name, int maxConcurrent, int maxWaiting, Duration acquireTimeout,
+                              Duration waitBudget) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive for backend " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitBudget = waitBudget;
+    }
+
+    /**
+     * Run the call once a slot is available
+     *
+     * @throws BackendSaturatedException if the wait queue is full or no slot frees up in time
+     */
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        var start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+            recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Racy read-modify-write is fine here: the average is only an estimate for load shedding
+     */
+    private void recordLatency(long nanos) {
+        var average = averageLatencyNanos;
+        averageLatencyNanos = average == 0 ? nanos : average + EWMA_ALPHA * (nanos - average);
+    }
+
+    /**
+     * Expected time until a caller joining the queue now gets a slot:
+     * callers ahead of it are served maxConcurrent at a time, each round taking the average latency
+     */
+    Duration predictedWait() {
+        var rounds = (waiting.get() + maxConcurrent) / maxConcurrent;
+        return Duration.ofNanos((long) (rounds * averageLatencyNanos));
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (!waitBudget.isZero()) {
+            var predictedWait = predictedWait();
+            if (predictedWait.compareTo(waitBudget) > 0) {
+                shed.incrementAndGet();
+                throw new BackendSaturatedException(name + " is overloaded: predicted wait "
+                        + predictedWait.toMillis() + " ms exceeds budget of " + waitBudget.toMillis() + " ms");
+            }
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw reject("too many queued requests");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw reject("no slot within " + acquireTimeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackendSaturatedException(name + " is busy: interrupted while waiting", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private BackendSaturatedException reject(String reason) {
+        rejected.incrementAndGet();
+        return new BackendSaturatedException(
+                name + " is busy (" + maxConcurrent + " requests in flight): " + reason);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public Duration getAverageLatency() {
+        return Duration.ofNanos((long) averageLatencyNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("vsl.backend.limiter.in-flight", this, ConcurrencyLimiter::getInFlight)
+                .tag("backend", name)
+                .description("AI backend requests currently in flight")
+                .register(registry);
+        Gauge.builder("vsl.backend.limiter.waiting", this, ConcurrencyLimiter::getWaiting)
+                .tag("backend", name)
+                .description("Requests queued for an AI backend slot")
+                .register(registry);
+        Gauge.builder("vsl.backend.limiter.max-concurrent", () -> maxConcurrent)
+                .tag("backend", name)
+                .register(registry);
+        Gauge.builder("vsl.backend.limiter.latency", this, limiter -> limiter.averageLatencyNanos / 1_000_000)
+                .tag("backend", name)
+                .baseUnit("milliseconds")
+                .description("Moving average AI backend call latency")
+                .register(registry);
+        FunctionCounter.builder("vsl.backend.limiter.shed", shed, AtomicLong::get)
+                .tag("backend", name)
+                .description("Requests shed because the predicted queue wait exceeded the budget")
+                .register(registry);
+        FunctionCounter.builder("vsl.backend.limiter.rejected", rejected, AtomicLong::get)
+                .tag("backend", name)
+                .description("Requests rejected because the AI backend was saturated")
+                .register(registry);
+    }
+}
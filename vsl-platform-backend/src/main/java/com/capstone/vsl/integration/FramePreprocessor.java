@@ -0,0 +1,170 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.LandmarkDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Frame Preprocessor
+ * Reduces a frame window before it is sent to the unified AI service:
+ * 1. Drops frames without landmarks (the Python service skips them anyway)
+ * 2. Drops frames whose largest landmark movement since the last kept frame
+ *    is below vsl.frames.dedup-threshold (0 = keep all, the default)
+ * 3. Down-samples evenly to at most vsl.frames.max-frames (0 = no cap), keeping the first and last frame
+ *
+ * Even down-sampling keeps how long each pose was held, which the Python service's per-frame
+ * majority vote depends on. De-duplication collapses a held pose to one frame and so shifts that
+ * vote towards transitions; only enable it for models that do not vote across frames.
+ *
+ * The request format sent to Python is unchanged; only fewer frames are sent.
+ * frames_in vs frames_sent is logged per request and published as vsl.frames.in / vsl.frames.sent.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FramePreprocessor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vsl.frames.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Max absolute coordinate change (normalized image units) below which a frame counts as a duplicate
+     */
+    @Value("${vsl.frames.dedup-threshold:0}")
+    private double dedupThreshold;
+
+    @Value("${vsl.frames.max-frames:30}")
+    private int maxFrames;
+
+    private Counter framesIn;
+    private Counter framesSent;
+
+    @PostConstruct
+    void init() {
+        framesIn = Counter.builder("vsl.frames.in")
+                .description("Frames received from clients for recognition")
+                .register(meterRegistry);
+        framesSent = Counter.builder("vsl.frames.sent")
+                .description("Frames forwarded to the AI service after down-sampling and de-duplication")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reduce a JSON frame window
+     *
+     * @throws IllegalArgumentException if no frame has landmarks
+     */
+    public GestureInputDTO process(GestureInputDTO input) {
+        var frames = input.frames();
+        List<HandFrameDTO> kept;
+        if (enabled) {
+            var withLandmarks = frames.stream()
+                    .filter(frame -> frame != null && frame.landmarks() != null && !frame.landmarks().isEmpty())
+                    .toList();
+            if (withLandmarks.isEmpty()) {
+                throw new IllegalArgumentException("No frames with landmarks");
+            }
+            var indices = select(withLandmarks.size(),
+                    (a, b) -> distance(withLandmarks.get(a).landmarks(), withLandmarks.get(b).landmarks()));
+            kept = new ArrayList<>(indices.length);
+            for (var index : indices) {
+                kept.add(withLandmarks.get(index));
+            }
+        } else {
+            kept = frames;
+        }
+
+        report(frames.size(), kept.size());
+        return kept.size() == frames.size() ? input : new GestureInputDTO(kept, input.currentText());
+    }
+
+    /**
+     * Reduce a packed frame window
+     */
+    public PackedGestureInput process(PackedGestureInput input) {
+        if (!enabled) {
+            report(input.frameCount(), input.frameCount());
+            return input;
+        }
+
+        var stride = input.landmarksPerFrame() * PackedGestureInput.AXES;
+        var coordinates = input.coordinates();
+        var indices = select(input.frameCount(), (a, b) -> {
+            var max = 0f;
+            for (int i = 0; i < stride; i++) {
+                max = Math.max(max, Math.abs(coordinates[a * stride + i] - coordinates[b * stride + i]));
+            }
+            return max;
+        });
+
+        report(input.frameCount(), indices.length);
+        if (indices.length == input.frameCount()) {
+            return input;
+        }
+        var reduced = new float[indices.length * stride];
+        for (int i = 0; i < indices.length; i++) {
+            System.arraycopy(coordinates, indices[i] * stride, reduced, i * stride, stride);
+        }
+        return new PackedGestureInput(indices.length, input.landmarksPerFrame(), reduced, input.currentText());
+    }
+
+    /**
+     * Pick the frames to keep: de-duplicate against the last kept frame, then down-sample evenly
+     */
+    private int[] select(int frameCount, FrameDistance distance) {
+        var kept = new int[frameCount];
+        var keptCount = 0;
+        for (int frame = 0; frame < frameCount; frame++) {
+            if (keptCount == 0 || dedupThreshold <= 0
+                    || distance.between(kept[keptCount - 1], frame) >= dedupThreshold) {
+                kept[keptCount++] = frame;
+            }
+        }
+
+        var target = maxFrames > 0 ? Math.min(maxFrames, keptCount) : keptCount;
+        var selected = new int[target];
+        for (int i = 0; i < target; i++) {
+            // Evenly spaced positions, always including the first and last kept frame
+            var position = target == 1 ? 0 : (int) Math.round((double) i * (keptCount - 1) / (target - 1));
+            selected[i] = kept[position];
+        }
+        return selected;
+    }
+
+    private static float distance(List<LandmarkDTO> a, List<LandmarkDTO> b) {
+        if (a.size() != b.size()) {
+            return Float.MAX_VALUE;
+        }
+        var max = 0f;
+        for (int i = 0; i < a.size(); i++) {
+            max = Math.max(max, Math.abs(a.get(i).x() - b.get(i).x()));
+            max = Math.max(max, Math.abs(a.get(i).y() - b.get(i).y()));
+            max = Math.max(max, Math.abs(a.get(i).z() - b.get(i).z()));
+        }
+        return max;
+    }
+
+    private void report(int in, int sent) {
+        framesIn.increment(in);
+        framesSent.increment(sent);
+        log.debug("Frame preprocessing: frames_in={}, frames_sent={}", in, sent);
+    }
+
+    @FunctionalInterface
+    private interface FrameDistance {
+        float between(int keptFrame, int candidateFrame);
+    }
+}
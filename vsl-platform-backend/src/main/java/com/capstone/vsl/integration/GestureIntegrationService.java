@@ -2,19 +2,23 @@ package com.capstone.vsl.integration;
 
 import com.capstone.vsl.integration.dto.AiResponseDTO;
 import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
 import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
+import com.capstone.vsl.integration.exception.BackendSaturatedException;
+import com.capstone.vsl.integration.exception.CircuitOpenException;
 import com.capstone.vsl.integration.exception.ExternalServiceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -28,6 +32,13 @@ import java.util.Map;
  * 
  * Features:
  * - Robust error handling with timeouts
+ * - Bounded concurrency towards the AI service (requests queue instead of piling onto Python)
+ * - Circuit breaker and latency-aware load shedding (503 instead of waiting for a timeout)
+ * - Opt-in micro-batching of concurrent requests (see RecognitionBatcher)
+ * - Least-outstanding load balancing, health checks and hedging across replicas (see AiReplicaPool)
+ * - Result cache for repeated static poses (see RecognitionCache)
+ * - Frame down-sampling and de-duplication before each call (see FramePreprocessor)
+ * - Only the trailing words of current_text are sent for accent restoration (see SentenceState)
  * - Comprehensive logging
  * - Simple gateway pattern (no orchestration logic)
  */
@@ -36,8 +47,47 @@ import java.util.Map;
 @Slf4j
 public class GestureIntegrationService {
 
-    @Qualifier("aiRestClient")
-    private final RestClient aiRestClient;
+    /**
+     * Unified AI service replicas (load balanced, optionally hedged)
+     */
+    private final AiReplicaPool aiReplicaPool;
+
+    @Qualifier("aiServiceLimiter")
+    private final ConcurrencyLimiter aiServiceLimiter;
+
+    /**
+     * Fails fast while the AI service keeps failing or timing out
+     */
+    @Qualifier("aiCircuitBreaker")
+    private final CircuitBreaker aiCircuitBreaker;
+
+    /**
+     * Coalesces concurrent requests into batched calls (ai.service.batch.*)
+     */
+    private final RecognitionBatcher recognitionBatcher;
+
+    /**
+     * Answers repeated frame windows locally (vsl.recognition-cache.*)
+     */
+    private final RecognitionCache recognitionCache;
+
+    /**
+     * Drops empty / duplicate frames and caps the window before it is sent (vsl.frames.*)
+     */
+    private final FramePreprocessor framePreprocessor;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Per-stage latency timers and AI response distributions (vsl.recognition.*)
+     */
+    private final RecognitionMetrics recognitionMetrics;
+
+    /**
+     * Trailing words of current_text that are sent to the AI service and may still be re-accented
+     */
+    @Value("${vsl.sentence.window-words:3}")
+    private int sentenceWindowWords;
 
     /**
      * Process gesture input through the unified AI pipeline
@@ -45,8 +95,8 @@ public class GestureIntegrationService {
      * Pipeline (handled by Python service):
      * 1. Validate input
      * 2. Process landmarks -> Recognize gesture
-     * 3. Apply accent restoration to current_text + new character
-     * 4. Return final Vietnamese text with accents
+     * 3. Apply accent restoration to the trailing window of current_text + new character
+     * 4. Return final Vietnamese text with accents (confirmed words + restored window)
      *
      * @param input Gesture input with landmarks and current text context
      * @return Final corrected Vietnamese text
@@ -60,27 +110,124 @@ public class GestureIntegrationService {
             throw new IllegalArgumentException("Frames cannot be empty");
         }
 
-        var frameCount = input.frames().size();
-        var currentText = input.currentText() != null ? input.currentText() : "";
-        log.info("Received gesture request with [{}] frames, current_text: '{}'", frameCount, currentText);
+        var framesIn = input.frames().size();
+        var sentence = newSentence(input.currentText());
+        var reduced = framePreprocessor.process(new GestureInputDTO(input.frames(), sentence.window()));
+        var frameCount = reduced.frames().size();
+        log.info("Received gesture request with [{}] frames (frames_sent: {}), current_text window: '{}'",
+                framesIn, frameCount, sentence.window());
 
         // Prepare request body matching Python API format
         var requestBody = Map.of(
-                "frames", input.frames(),
-                "current_text", currentText
+                "frames", reduced.frames(),
+                "current_text", sentence.window()
         );
 
+        var response = recognizeCached(recognitionCache.keyOf(reduced), requestBody, frameCount);
+        return sentence.apply(response.rawChar(), response.finalSentence());
+    }
+
+    /**
+     * Process gesture input decoded from the packed binary landmark format
+     * The flat coordinate array is serialized straight into the Python request body,
+     * without building per-frame / per-landmark records.
+     *
+     * @param input Packed gesture input (frames x landmarks x xyz) with current text context
+     * @return Final corrected Vietnamese text
+     * @throws AiServiceUnavailableException if AI service is offline
+     * @throws ExternalServiceException if external service returns error
+     */
+    public String processGesture(PackedGestureInput input) {
+        var sentence = newSentence(input.currentText());
+        var response = recognize(new PackedGestureInput(
+                input.frameCount(), input.landmarksPerFrame(), input.coordinates(), sentence.window()));
+        return sentence.apply(response.rawChar(), response.finalSentence());
+    }
+
+    /**
+     * Sentence state for a current_text; only its window is sent to the AI service
+     *
+     * @param currentText Sentence so far as held by the client (accented or not)
+     */
+    public SentenceState newSentence(String currentText) {
+        return new SentenceState(currentText, sentenceWindowWords);
+    }
+
+    /**
+     * Recognize packed gesture input and return the full AI response
+     * (raw character, confidence and final sentence), used by streaming sessions
+     *
+     * @param input Packed gesture input whose current text is the unaccented window of a SentenceState
+     * @return Validated AI response with a non-empty final_sentence
+     * @throws AiServiceUnavailableException if AI service is offline
+     * @throws ExternalServiceException if external service returns error
+     */
+    public AiResponseDTO recognize(PackedGestureInput input) {
+        var reduced = framePreprocessor.process(input);
+        var frameCount = reduced.frameCount();
+        log.info("Received packed gesture request with [{}] frames x [{}] landmarks (frames_sent: {}), current_text: '{}'",
+                input.frameCount(), input.landmarksPerFrame(), frameCount, input.currentText());
+
+        return recognizeCached(recognitionCache.keyOf(reduced), reduced, frameCount);
+    }
+
+    /**
+     * Serve the request from the recognition cache, or call the AI service and cache the validated response
+     */
+    private AiResponseDTO recognizeCached(RecognitionCache.Key key, Object requestBody, int frameCount) {
+        var cached = recognitionCache.get(key);
+        if (cached != null) {
+            log.info("Recognition cache hit for [{}] frames: '{}'", frameCount, cached.finalSentence().trim());
+            return cached;
+        }
+
+        var response = callUnifiedService(requestBody, frameCount);
+        recognitionCache.put(key, response);
+        return response;
+    }
+
+    /**
+     * Single (non-batched) call; the response is read as bytes first so that the round trip
+     * and JSON parsing are timed as separate stages
+     */
+    private AiResponseDTO callDirect(Object requestBody, int frameCount) {
+        var body = recognitionMetrics.time(RecognitionMetrics.AI_CALL, frameCount,
+                () -> aiServiceLimiter.call(() -> aiCircuitBreaker.call(() -> aiReplicaPool.call(client -> client.post()
+                        .uri("")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(requestBody)
+                        .retrieve()
+                        .body(byte[].class)))));
+        if (body == null) {
+            return null;
+        }
+        return recognitionMetrics.time(RecognitionMetrics.PARSE, frameCount, () -> {
+            try {
+                return objectMapper.readValue(body, AiResponseDTO.class);
+            } catch (IOException e) {
+                throw new ExternalServiceException("AI Service returned malformed response: " + e.getMessage(),
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+            }
+        });
+    }
+
+    /**
+     * Call the unified AI service and validate its response
+     *
+     * @param requestBody Body serialized as {"frames": [...], "current_text": "..."}
+     * @param frameCount  Number of frames in the request (for logging)
+     * @return AI response with a non-empty final_sentence
+     */
+    private AiResponseDTO callUnifiedService(Object requestBody, int frameCount) {
         try {
             log.debug("Calling unified AI service with {} frames", frameCount);
 
-            ResponseEntity<AiResponseDTO> response = aiRestClient.post()
-                    .uri("")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(requestBody)
-                    .retrieve()
-                    .toEntity(AiResponseDTO.class);
-
-            var responseBody = response.getBody();
+            // The breaker records each round trip inside callDirect / the batcher; here it only fails fast
+            aiCircuitBreaker.rejectIfOpen();
+            var responseBody = recognitionBatcher.isEnabled()
+                    ? recognitionMetrics.time(RecognitionMetrics.BATCH_WAIT, frameCount,
+                            () -> recognitionBatcher.submit(requestBody))
+                    : callDirect(requestBody, frameCount);
             
             // Validate response
             if (responseBody == null) {
@@ -104,14 +251,20 @@ public class GestureIntegrationService {
                         HttpStatus.INTERNAL_SERVER_ERROR.value());
             }
 
-            var finalSentence = responseBody.finalSentence().trim();
+            recognitionMetrics.recordResponse(responseBody);
             log.info("Unified AI service returned: '{}' (confidence: {}, raw_char: '{}')", 
-                    finalSentence, 
+                    responseBody.finalSentence().trim(), 
                     responseBody.confidence(), 
                     responseBody.rawChar());
 
-            return finalSentence;
+            return responseBody;
 
+        } catch (CircuitOpenException e) {
+            log.warn("AI Service call rejected: {}", e.getMessage());
+            throw new AiServiceUnavailableException("AI Service is temporarily unavailable (" + e.getMessage() + ")", e);
+        } catch (BackendSaturatedException e) {
+            log.warn("AI Service request shed: {}", e.getMessage());
+            throw new AiServiceUnavailableException("AI Service is busy, please retry", e);
         } catch (ResourceAccessException e) {
             log.error("AI Service is unavailable: {}", e.getMessage());
             throw new AiServiceUnavailableException("AI Service is offline", e);
@@ -122,7 +275,7 @@ public class GestureIntegrationService {
                     "AI Service error: " + e.getStatusCode(), 
                     e.getStatusCode().value(), 
                     e);
-        } catch (ExternalServiceException e) {
+        } catch (ExternalServiceException | AiServiceUnavailableException e) {
             // Re-throw as-is
             throw e;
         } catch (Exception e) {
@@ -5,25 +5,33 @@ import com.capstone.vsl.dto.AccentCorrectionResponse;
 import com.capstone.vsl.dto.GestureRecognitionResponse;
 import com.capstone.vsl.dto.GestureToTextResponse;
 import com.capstone.vsl.integration.exception.AccentCorrectionException;
+import com.capstone.vsl.integration.exception.BackendSaturatedException;
 import com.capstone.vsl.integration.exception.GestureRecognitionException;
 import com.capstone.vsl.integration.exception.PythonServiceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Python Integration Service
@@ -31,7 +39,18 @@ import java.io.IOException;
  * - Model 1: Gesture Recognition (localhost:5000)
  * - Model 2: Accent Correction (localhost:5001)
  * 
- * Uses Java 21 RestClient for HTTP communication.
+ * Uses Java 21 RestClient for HTTP communication, with one long-lived pooled client
+ * and one concurrency limiter per model.
+ *
+ * Two modes:
+ * - processGestureToText: Model 1 then Model 2 on the calling thread
+ * - processGestureToTextAsync: pipelined on bounded per-stage executors; if Model 1 streams its output
+ *   as NDJSON segments, Model 2 starts speculatively on the text received so far and the result is
+ *   reused when Model 1 finishes without further segments
+ *
+ * Model 2 results are cached (AccentCorrectionCache), so common words skip the Model 2 call.
+ * Text made up of dictionary words is restored locally (AccentRestorationEngine), which also
+ * answers when Model 2 is busy or down.
  */
 @Service
 @RequiredArgsConstructor
@@ -44,31 +63,38 @@ public class PythonIntegrationService {
     @Value("${python.model2.url:http://localhost:5001}")
     private String model2BaseUrl;
 
-    @Value("${python.model1.timeout:30}")
-    private int model1TimeoutSeconds;
+    /**
+     * Long-lived clients with their own connection pools and timeouts (see PythonModelConfig)
+     */
+    @Qualifier("model1RestClient")
+    private final RestClient model1RestClient;
+
+    @Qualifier("model2RestClient")
+    private final RestClient model2RestClient;
+
+    @Qualifier("model1Limiter")
+    private final ConcurrencyLimiter model1Limiter;
+
+    @Qualifier("model2Limiter")
+    private final ConcurrencyLimiter model2Limiter;
+
+    @Qualifier("model1StageExecutor")
+    private final Executor model1StageExecutor;
 
-    @Value("${python.model2.timeout:10}")
-    private int model2TimeoutSeconds;
+    @Qualifier("model2StageExecutor")
+    private final Executor model2StageExecutor;
 
-    private final RestClient.Builder restClientBuilder;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Create RestClient for Model 1 with timeout
+     * rawText -> correctedText cache in front of Model 2 (vsl.accent-cache.*)
      */
-    private RestClient createModel1Client() {
-        return restClientBuilder
-                .baseUrl(model1BaseUrl)
-                .build();
-    }
+    private final AccentCorrectionCache accentCorrectionCache;
 
     /**
-     * Create RestClient for Model 2 with timeout
+     * Dictionary-based accent restoration: fast path for known words, fallback when Model 2 fails
      */
-    private RestClient createModel2Client() {
-        return restClientBuilder
-                .baseUrl(model2BaseUrl)
-                .build();
-    }
+    private final AccentRestorationEngine accentRestorationEngine;
 
     /**
      * Process gesture video to Vietnamese text
@@ -90,7 +116,7 @@ public class PythonIntegrationService {
 
         try {
             // Step A: Send video to Model 1 (Gesture Recognition)
-            var rawText = callGestureRecognitionModel(videoFile);
+            var rawText = callGestureRecognitionModel(videoFile, null);
             log.info("Model 1 returned raw text: {}", rawText);
 
             // Step B: Send raw text to Model 2 (Accent Correction)
@@ -113,46 +139,135 @@ public class PythonIntegrationService {
         }
     }
 
+    /**
+     * Process gesture video to Vietnamese text asynchronously
+     * Pipeline: Video -> [Model 1 stage] -> [Model 2 stage] -> Final Text
+     *
+     * Each stage runs on its own bounded executor, so many uploads are processed concurrently
+     * and a full stage queue rejects new work instead of piling it up. Partial Model 1 output
+     * (NDJSON segments) triggers speculative accent correction of the text received so far.
+     *
+     * @param videoFile Video file to process (must stay readable until Model 1 has consumed it)
+     * @return Future completing with the GestureToTextResponse, or exceptionally with
+     *         GestureRecognitionException / AccentCorrectionException
+     */
+    public CompletableFuture<GestureToTextResponse> processGestureToTextAsync(MultipartFile videoFile) {
+        if (videoFile == null || videoFile.isEmpty()) {
+            throw new IllegalArgumentException("Video file is required");
+        }
+
+        log.info("Processing gesture video asynchronously: {} ({} bytes)",
+                videoFile.getOriginalFilename(), videoFile.getSize());
+
+        var speculation = new AtomicReference<Speculation>();
+        return submitStage(model1StageExecutor,
+                () -> callGestureRecognitionModel(videoFile, partialText -> speculate(partialText, speculation)),
+                () -> new GestureRecognitionException("Gesture Recognition Model is busy, please retry"))
+                .thenCompose(rawText -> {
+                    log.info("Model 1 returned raw text: {}", rawText);
+                    var current = speculation.get();
+                    var correction = current != null && current.rawText().equals(rawText)
+                            ? current.correctedText()
+                            : correctAccentsAsync(rawText);
+                    if (current != null && correction != current.correctedText()) {
+                        current.correctedText().cancel(false);
+                    }
+                    return correction.thenApply(correctedText -> {
+                        log.info("Model 2 returned corrected text: {}", correctedText);
+                        return GestureToTextResponse.builder()
+                                .rawText(rawText)
+                                .correctedText(correctedText)
+                                .status("success")
+                                .message("Gesture recognition completed successfully")
+                                .build();
+                    });
+                });
+    }
+
+    /**
+     * Start accent correction on partial Model 1 output, superseding the previous speculation
+     */
+    private void speculate(String partialText, AtomicReference<Speculation> speculation) {
+        if (partialText.isEmpty()) {
+            return;
+        }
+        var next = new Speculation(partialText, correctAccentsAsync(partialText));
+        var previous = speculation.getAndSet(next);
+        if (previous != null) {
+            // Not started yet -> never runs; already running -> result is ignored
+            previous.correctedText().cancel(false);
+        }
+        log.debug("Speculative accent correction started for: {}", partialText);
+    }
+
+    private CompletableFuture<String> correctAccentsAsync(String rawText) {
+        var cached = accentCorrectionCache.get(rawText.trim());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        var restored = accentRestorationEngine.fastPath(rawText);
+        if (restored != null) {
+            return CompletableFuture.completedFuture(restored);
+        }
+        return submitStage(model2StageExecutor,
+                () -> callAccentCorrectionModel(rawText),
+                () -> new AccentCorrectionException("Accent Correction Model is busy, please retry"));
+    }
+
+    private static <T> CompletableFuture<T> submitStage(Executor executor, Supplier<T> task,
+                                                        Supplier<? extends PythonServiceException> onRejected) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(onRejected.get());
+        }
+    }
+
+    /**
+     * Accent correction started on a prefix of the Model 1 output
+     */
+    private record Speculation(String rawText, CompletableFuture<String> correctedText) {
+    }
+
     /**
      * Step A: Call Gesture Recognition Model (Model 1)
      * POST http://localhost:5000/predict-gesture
-     * Input: Video file (MultipartFile)
-     * Output: Raw text without accents
+     * Input: Video file (MultipartFile), streamed as chunked multipart/form-data
+     * Output: Raw text without accents, either one JSON object or NDJSON segments
+     * ({"text": "<next segment>"} per line) that are concatenated in order
      *
-     * @param videoFile Video file to analyze
+     * @param videoFile     Video file to analyze
+     * @param onPartialText Receives the text accumulated so far after each NDJSON segment (may be null)
      * @return Raw text from gesture recognition
      * @throws GestureRecognitionException if model fails or is unavailable
      */
-    private String callGestureRecognitionModel(MultipartFile videoFile) {
-        var restClient = createModel1Client();
-
+    private String callGestureRecognitionModel(MultipartFile videoFile, Consumer<String> onPartialText) {
         try {
             log.debug("Calling Gesture Recognition Model at: {}/predict-gesture", model1BaseUrl);
 
-            // Prepare multipart request
-            var headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            var body = new LinkedMultiValueMap<String, Object>();
-            var fileResource = new MultipartFileResource(videoFile);
-            body.add("file", fileResource);
+            // Stream the upload into a chunked multipart request (constant heap per upload)
+            var body = new StreamingFilePartBody(
+                    "file", videoFile.getOriginalFilename(), videoFile.getContentType(), videoFile.getResource());
 
             // Call Model 1
-            var requestEntity = new HttpEntity<>(body, headers);
-            ResponseEntity<GestureRecognitionResponse> response = restClient.post()
+            var rawText = model1Limiter.call(() -> model1RestClient.post()
                     .uri("/predict-gesture")
-                    .body(requestEntity)
-                    .retrieve()
-                    .toEntity(GestureRecognitionResponse.class);
+                    .contentType(body.contentType())
+                    .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                    .httpRequest(body::applyTo)
+                    .exchange((request, response) -> readRecognizedText(response, onPartialText)));
 
-            var responseBody = response.getBody();
-            if (responseBody == null || responseBody.getText() == null || responseBody.getText().trim().isEmpty()) {
+            if (rawText == null || rawText.trim().isEmpty()) {
                 throw new GestureRecognitionException("Model 1 returned empty or invalid response");
             }
 
-            log.debug("Model 1 response: {}", responseBody);
-            return responseBody.getText().trim();
+            return rawText.trim();
 
+        } catch (GestureRecognitionException e) {
+            throw e;
+        } catch (BackendSaturatedException e) {
+            log.warn("Model 1 concurrency limit reached: {}", e.getMessage());
+            throw new GestureRecognitionException("Gesture Recognition Model is busy, please retry", e);
         } catch (ResourceAccessException e) {
             log.error("Model 1 is unavailable: {}", e.getMessage());
             throw new GestureRecognitionException(
@@ -167,6 +282,45 @@ public class PythonIntegrationService {
         }
     }
 
+    /**
+     * Read Model 1's text from either a single JSON object or a stream of NDJSON segments
+     */
+    private String readRecognizedText(ClientHttpResponse response, Consumer<String> onPartialText) throws IOException {
+        if (response.getStatusCode().is4xxClientError()) {
+            throw HttpClientErrorException.create(response.getStatusCode(), response.getStatusText(),
+                    response.getHeaders(), response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            throw HttpServerErrorException.create(response.getStatusCode(), response.getStatusText(),
+                    response.getHeaders(), response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        if (!MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType())) {
+            var responseBody = objectMapper.readValue(response.getBody(), GestureRecognitionResponse.class);
+            log.debug("Model 1 response: {}", responseBody);
+            return responseBody != null ? responseBody.getText() : null;
+        }
+
+        var text = new StringBuilder();
+        try (var reader = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                var segment = objectMapper.readValue(line, GestureRecognitionResponse.class);
+                log.debug("Model 1 segment: {}", segment);
+                if (segment.getText() != null && !segment.getText().isEmpty()) {
+                    text.append(segment.getText());
+                    if (onPartialText != null) {
+                        onPartialText.accept(text.toString().trim());
+                    }
+                }
+            }
+        }
+        return text.toString();
+    }
+
     /**
      * Step B: Call Accent Correction Model (Model 2)
      * POST http://localhost:5001/add-accents
@@ -182,7 +336,16 @@ public class PythonIntegrationService {
             throw new IllegalArgumentException("Raw text cannot be empty");
         }
 
-        var restClient = createModel2Client();
+        var cached = accentCorrectionCache.get(rawText.trim());
+        if (cached != null) {
+            log.debug("Accent correction cache hit: {} -> {}", rawText, cached);
+            return cached;
+        }
+        var restored = accentRestorationEngine.fastPath(rawText);
+        if (restored != null) {
+            log.debug("Accent restored locally: {} -> {}", rawText, restored);
+            return restored;
+        }
 
         try {
             log.debug("Calling Accent Correction Model at: {}/add-accents with text: {}", model2BaseUrl, rawText);
@@ -190,12 +353,12 @@ public class PythonIntegrationService {
             var request = new AccentCorrectionRequest(rawText);
 
             // Call Model 2
-            ResponseEntity<AccentCorrectionResponse> response = restClient.post()
+            var response = model2Limiter.call(() -> model2RestClient.post()
                     .uri("/add-accents")
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(request)
                     .retrieve()
-                    .toEntity(AccentCorrectionResponse.class);
+                    .toEntity(AccentCorrectionResponse.class));
 
             var responseBody = response.getBody();
             if (responseBody == null || responseBody.getText() == null || responseBody.getText().trim().isEmpty()) {
@@ -203,13 +366,25 @@ public class PythonIntegrationService {
             }
 
             log.debug("Model 2 response: {}", responseBody);
-            return responseBody.getText().trim();
+            var correctedText = responseBody.getText().trim();
+            accentCorrectionCache.put(rawText.trim(), correctedText);
+            return correctedText;
 
+        } catch (AccentCorrectionException e) {
+            throw e;
+        } catch (BackendSaturatedException e) {
+            log.warn("Model 2 concurrency limit reached: {}", e.getMessage());
+            return fallbackOrThrow(rawText,
+                    new AccentCorrectionException("Accent Correction Model is busy, please retry", e));
         } catch (ResourceAccessException e) {
             log.error("Model 2 is unavailable: {}", e.getMessage());
-            throw new AccentCorrectionException(
-                    "Accent Correction Model is unavailable. Please check if the service is running on " + model2BaseUrl, e);
-        } catch (HttpClientErrorException | HttpServerErrorException e) {
+            return fallbackOrThrow(rawText, new AccentCorrectionException(
+                    "Accent Correction Model is unavailable. Please check if the service is running on " + model2BaseUrl, e));
+        } catch (HttpServerErrorException e) {
+            log.error("Model 2 returned error: {} - {}", e.getStatusCode(), e.getMessage());
+            return fallbackOrThrow(rawText, new AccentCorrectionException(
+                    "Accent Correction Model returned error: " + e.getStatusCode() + " - " + e.getMessage(), e));
+        } catch (HttpClientErrorException e) {
             log.error("Model 2 returned error: {} - {}", e.getStatusCode(), e.getMessage());
             throw new AccentCorrectionException(
                     "Accent Correction Model returned error: " + e.getStatusCode() + " - " + e.getMessage(), e);
@@ -220,74 +395,14 @@ public class PythonIntegrationService {
     }
 
     /**
-     * Helper class to convert MultipartFile to Resource for RestClient
+     * Answer with the local restoration when Model 2 is busy or down, if the fallback is enabled
      */
-    private static class MultipartFileResource implements org.springframework.core.io.Resource {
-        private final MultipartFile file;
-
-        public MultipartFileResource(MultipartFile file) {
-            this.file = file;
-        }
-
-        @Override
-        public java.io.InputStream getInputStream() throws IOException {
-            return file.getInputStream();
-        }
-
-        @Override
-        public boolean exists() {
-            return true;
-        }
-
-        @Override
-        public boolean isReadable() {
-            return true;
-        }
-
-        @Override
-        public boolean isOpen() {
-            return false;
-        }
-
-        @Override
-        public String getFilename() {
-            return file.getOriginalFilename();
-        }
-
-        @Override
-        public long contentLength() throws IOException {
-            return file.getSize();
-        }
-
-        @Override
-        public Resource createRelative(String relativePath) throws IOException {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public String getDescription() {
-            return "MultipartFile resource: " + file.getOriginalFilename();
-        }
-
-        @Override
-        public java.net.URI getURI() throws IOException {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public java.net.URL getURL() throws IOException {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public java.io.File getFile() throws IOException {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public long lastModified() throws IOException {
-            return 0;
+    private String fallbackOrThrow(String rawText, AccentCorrectionException failure) {
+        var restored = accentRestorationEngine.fallback(rawText);
+        if (restored == null) {
+            throw failure;
         }
+        log.warn("Using local accent restoration ({}): {} -> {}", failure.getMessage(), rawText, restored);
+        return restored;
     }
 }
-
@@ -0,0 +1,224 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.AiBatchRequestDTO;
+import com.capstone.vsl.integration.dto.AiBatchResponseDTO;
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
+import com.capstone.vsl.integration.exception.BackendSaturatedException;
+import com.capstone.vsl.integration.exception.ExternalServiceException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recognition Batcher
+ * Micro-batching stage between GestureIntegrationService and the unified AI service
+ *
+ * Flow:
+ * 1. Concurrent callers submit their /predict bodies and wait for their own result
+ * 2. A collector groups queued requests until max-size is reached or max-wait has passed
+ *    since the first request of the batch
+ * 3. The batch is sent as one POST {replica url}/batch (one model pass on the Python side)
+ * 4. results[i] is handed back to the i-th caller; a failed batch call fails every caller with the same exception
+ *
+ * Batches in flight are bounded by the ai-service ConcurrencyLimiter; each batched call is one
+ * circuit breaker outcome.
+ * Batch sizes are published as vsl.ai.batch.size; batch round trip and parse times as
+ * vsl.recognition.stage{frames=batch}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecognitionBatcher {
+
+    /**
+     * Unified AI service replicas (load balanced; batches are never hedged)
+     */
+    private final AiReplicaPool aiReplicaPool;
+
+    @Qualifier("aiServiceLimiter")
+    private final ConcurrencyLimiter aiServiceLimiter;
+
+    /**
+     * Records one outcome per batched call, however many callers share it
+     */
+    @Qualifier("aiCircuitBreaker")
+    private final CircuitBreaker aiCircuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    private final RecognitionMetrics recognitionMetrics;
+
+    /**
+     * Off unless the AI service exposes /batch; while off every request is a single /predict call
+     */
+    @Value("${ai.service.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ai.service.batch.max-size:16}")
+    private int maxBatchSize;
+
+    /**
+     * Max time (ms) the first request of a batch waits for others to join
+     */
+    @Value("${ai.service.batch.max-wait:5}")
+    private int maxWaitMs;
+
+    @Value("${ai.service.batch.max-queued:2000}")
+    private int maxQueued;
+
+    private BlockingQueue<PendingRequest> queue;
+    private ExecutorService dispatchExecutor;
+    private DistributionSummary batchSizes;
+    private Thread collector;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("AI request batching is disabled");
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(maxQueued);
+        dispatchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        batchSizes = DistributionSummary.builder("vsl.ai.batch.size")
+                .description("Requests per batched call to the unified AI service")
+                .register(meterRegistry);
+        collector = Thread.ofVirtual().name("ai-batch-collector").start(this::collect);
+        log.info("AI request batching enabled (max size: {}, max wait: {} ms)", maxBatchSize, maxWaitMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (collector == null) {
+            return;
+        }
+        collector.interrupt();
+        dispatchExecutor.shutdown();
+        PendingRequest pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new AiServiceUnavailableException("AI gateway is shutting down"));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a /predict body for the next batch and wait for its result
+     *
+     * @param requestBody Body serialized as {"frames": [...], "current_text": "..."}
+     * @return The AI response for this request (not yet validated)
+     * @throws BackendSaturatedException if the batch queue is full
+     */
+    public AiResponseDTO submit(Object requestBody) {
+        var pending = new PendingRequest(requestBody, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new BackendSaturatedException("AI batch queue is full (" + maxQueued + " requests)");
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void collect() {
+        var batch = new ArrayList<PendingRequest>(maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    var remaining = deadline - System.nanoTime();
+                    var next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                var dispatched = List.copyOf(batch);
+                batch.clear();
+                dispatchExecutor.execute(() -> dispatch(dispatched));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batch.forEach(pending -> pending.result().completeExceptionally(
+                new AiServiceUnavailableException("AI gateway is shutting down")));
+    }
+
+    private void dispatch(List<PendingRequest> batch) {
+        batchSizes.record(batch.size());
+        try {
+            var requests = batch.stream().map(PendingRequest::body).toList();
+            log.debug("Calling unified AI service with a batch of {} requests", requests.size());
+
+            var body = recognitionMetrics.time(RecognitionMetrics.AI_CALL, RecognitionMetrics.BATCH,
+                    () -> aiServiceLimiter.call(() -> aiCircuitBreaker.call(() -> aiReplicaPool.callBatch(client -> client.post()
+                            .uri("/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(new AiBatchRequestDTO(requests))
+                            .retrieve()
+                            .body(byte[].class)))));
+            var response = body == null ? null : recognitionMetrics.time(RecognitionMetrics.PARSE,
+                    RecognitionMetrics.BATCH, () -> parse(body));
+
+            if (response == null || Boolean.FALSE.equals(response.success()) || response.results() == null) {
+                var errorMsg = response != null && response.error() != null
+                        ? response.error()
+                        : "AI Service returned unsuccessful batch response";
+                throw new ExternalServiceException("AI Service error: " + errorMsg,
+                        HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+            if (response.results().size() != batch.size()) {
+                throw new ExternalServiceException("AI Service returned " + response.results().size()
+                        + " results for a batch of " + batch.size(), HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(response.results().get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private AiBatchResponseDTO parse(byte[] body) {
+        try {
+            return objectMapper.readValue(body, AiBatchResponseDTO.class);
+        } catch (IOException e) {
+            throw new ExternalServiceException("AI Service returned malformed batch response: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR.value(), e);
+        }
+    }
+
+    private record PendingRequest(Object body, CompletableFuture<AiResponseDTO> result) {
+    }
+}
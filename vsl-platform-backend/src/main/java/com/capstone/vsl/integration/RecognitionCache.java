@@ -0,0 +1,154 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Recognition Cache
+ * Answers repeated frame windows (e.g. a static fingerspelling pose held in front of the camera)
+ * without calling the unified AI service.
+ *
+ * Key: 64-bit fingerprint of the quantized landmark coordinates + frame count + current_text.
+ * - Coordinates are taken relative to the wrist (landmark 0), like the Python preprocessing,
+ *   so the same pose at a slightly different position in the frame maps to the same key
+ * - Quantization step (vsl.recognition-cache.quantization) absorbs landmark jitter
+ *
+ * Bounded by size (W-TinyLFU eviction) and TTL; only validated, successful responses are cached.
+ * Metrics: cache.gets{result=hit|miss}, cache.evictions, cache.size with cache=recognition.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecognitionCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vsl.recognition-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vsl.recognition-cache.max-size:10000}")
+    private long maxSize;
+
+    /**
+     * Time (ms) a cached result stays valid after it was written
+     */
+    @Value("${vsl.recognition-cache.ttl:60000}")
+    private long ttlMs;
+
+    /**
+     * Grid size used to quantize wrist-relative coordinates (normalized image units)
+     */
+    @Value("${vsl.recognition-cache.quantization:0.01}")
+    private double quantization;
+
+    private Cache<Key, AiResponseDTO> cache;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            log.info("Recognition cache is disabled");
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recognition");
+    }
+
+    /**
+     * Cached response for this key, or null on a miss (or when the cache is disabled)
+     */
+    public AiResponseDTO get(Key key) {
+        return cache != null ? cache.getIfPresent(key) : null;
+    }
+
+    public void put(Key key, AiResponseDTO response) {
+        if (cache != null) {
+            cache.put(key, response);
+        }
+    }
+
+    public Key keyOf(GestureInputDTO input) {
+        var fingerprint = new Fingerprint();
+        for (HandFrameDTO frame : input.frames()) {
+            var landmarks = frame.landmarks();
+            if (landmarks == null || landmarks.isEmpty()) {
+                fingerprint.addFrameBoundary();
+                continue;
+            }
+            var wrist = landmarks.get(0);
+            for (var landmark : landmarks) {
+                fingerprint.add(landmark.x() - wrist.x());
+                fingerprint.add(landmark.y() - wrist.y());
+                fingerprint.add(landmark.z() - wrist.z());
+            }
+            fingerprint.addFrameBoundary();
+        }
+        var currentText = input.currentText() != null ? input.currentText() : "";
+        return new Key(fingerprint.value(), input.frames().size(), currentText);
+    }
+
+    public Key keyOf(PackedGestureInput input) {
+        var fingerprint = new Fingerprint();
+        var coordinates = input.coordinates();
+        for (int frame = 0; frame < input.frameCount(); frame++) {
+            var wrist = input.offset(frame, 0);
+            for (int landmark = 0; landmark < input.landmarksPerFrame(); landmark++) {
+                var offset = input.offset(frame, landmark);
+                for (int axis = 0; axis < PackedGestureInput.AXES; axis++) {
+                    fingerprint.add(coordinates[offset + axis] - coordinates[wrist + axis]);
+                }
+            }
+            fingerprint.addFrameBoundary();
+        }
+        return new Key(fingerprint.value(), input.frameCount(), input.currentText());
+    }
+
+    /**
+     * Cache key: landmark fingerprint plus the text context the AI service appends to
+     */
+    public record Key(long fingerprint, int frameCount, String currentText) {
+    }
+
+    /**
+     * Streaming 64-bit hash over quantized coordinates (splitmix64 finalizer per step)
+     */
+    private final class Fingerprint {
+
+        private long hash = 0x9E3779B97F4A7C15L;
+
+        void add(float value) {
+            mix(Math.round(value / quantization));
+        }
+
+        void addFrameBoundary() {
+            mix(Long.MIN_VALUE);
+        }
+
+        private void mix(long value) {
+            var z = hash ^ value;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            hash = (z ^ (z >>> 31)) + 0x9E3779B97F4A7C15L;
+        }
+
+        long value() {
+            return hash;
+        }
+    }
+}
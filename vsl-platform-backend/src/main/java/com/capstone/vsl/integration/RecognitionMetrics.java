@@ -0,0 +1,156 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
+import com.capstone.vsl.integration.exception.BackendSaturatedException;
+import com.capstone.vsl.integration.exception.CircuitOpenException;
+import com.capstone.vsl.integration.exception.ExternalServiceException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Recognition Metrics
+ * Per-stage latency of the /api/vsl/recognize path, so it is visible where the time goes:
+ * - decode: request body -> GestureInputDTO / PackedGestureInput
+ * - validation: Bean Validation of the decoded body
+ * - ai-call: AI service round trip (for micro-batched calls: the batch round trip, frames=batch)
+ * - batch-wait: micro-batched calls only, per caller: from submit until its result is handed back
+ *   (linger for the batch to fill + queueing + batch round trip + batch parse)
+ * - parse: AI response body -> AiResponseDTO (for micro-batched calls: the whole batch response)
+ * - serialization: ApiResponse -> response body
+ *
+ * Timer vsl.recognition.stage is tagged stage, frames (frame count bucket) and outcome
+ * (success / invalid / unavailable / error), with percentile histograms for Prometheus.
+ * Distributions of the AI response: vsl.recognition.confidence, .frames-processed, .valid-predictions.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecognitionMetrics {
+
+    public static final String DECODE = "decode";
+    public static final String VALIDATION = "validation";
+    public static final String AI_CALL = "ai-call";
+    public static final String BATCH_WAIT = "batch-wait";
+    public static final String PARSE = "parse";
+    public static final String SERIALIZATION = "serialization";
+
+    public static final String SUCCESS = "success";
+
+    /**
+     * Frame count tag for stages that cover a whole micro-batch
+     */
+    public static final int BATCH = -1;
+
+    private static final int[] FRAME_BUCKETS = {15, 30, 60, 120};
+
+    private final MeterRegistry meterRegistry;
+
+    private DistributionSummary confidence;
+    private DistributionSummary framesProcessed;
+    private DistributionSummary validPredictions;
+
+    @PostConstruct
+    void init() {
+        confidence = DistributionSummary.builder("vsl.recognition.confidence")
+                .description("Confidence of recognized characters")
+                .publishPercentiles(0.05, 0.5, 0.95)
+                .register(meterRegistry);
+        framesProcessed = DistributionSummary.builder("vsl.recognition.frames-processed")
+                .description("Frames processed by the AI service per recognition")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        validPredictions = DistributionSummary.builder("vsl.recognition.valid-predictions")
+                .description("Frame predictions above the confidence threshold per recognition")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record the duration of one stage
+     *
+     * @param frameCount Frames in the payload of that stage, or BATCH
+     * @param outcome    SUCCESS or outcome(exception)
+     */
+    public void record(String stage, int frameCount, String outcome, long nanos) {
+        Timer.builder("vsl.recognition.stage")
+                .description("Latency of one stage of the recognition path")
+                .tags("stage", stage, "frames", frameBucket(frameCount), "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Run and record one stage; the outcome is derived from the exception it throws, if any
+     */
+    public <T> T time(String stage, int frameCount, Supplier<T> call) {
+        var started = System.nanoTime();
+        var outcome = SUCCESS;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            record(stage, frameCount, outcome, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Record the confidence / frames_processed / valid_predictions of a successful AI response
+     */
+    public void recordResponse(AiResponseDTO response) {
+        if (response.confidence() != null) {
+            confidence.record(response.confidence());
+        }
+        if (response.framesProcessed() != null) {
+            framesProcessed.record(response.framesProcessed());
+        }
+        if (response.validPredictions() != null) {
+            validPredictions.record(response.validPredictions());
+        }
+    }
+
+    /**
+     * Outcome tag for a failed stage
+     */
+    public static String outcome(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        if (error instanceof IllegalArgumentException || error instanceof HttpClientErrorException) {
+            return "invalid";
+        }
+        if (error instanceof AiServiceUnavailableException || error instanceof ResourceAccessException
+                || error instanceof BackendSaturatedException || error instanceof CircuitOpenException) {
+            return "unavailable";
+        }
+        if (error instanceof ExternalServiceException external && external.getStatusCode() < 500) {
+            return "invalid";
+        }
+        return "error";
+    }
+
+    static String frameBucket(int frameCount) {
+        if (frameCount == BATCH) {
+            return "batch";
+        }
+        var lower = 0;
+        for (var upper : FRAME_BUCKETS) {
+            if (frameCount <= upper) {
+                return lower + "-" + upper;
+            }
+            lower = upper + 1;
+        }
+        return lower + "+";
+    }
+}
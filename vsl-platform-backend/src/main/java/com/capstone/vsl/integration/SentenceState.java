@@ -0,0 +1,143 @@
+package com.capstone.vsl.integration;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental sentence state for gesture spelling
+ * Splits the sentence into a confirmed part (accented, never sent to the AI service again) and a
+ * tentative window of the last few words, kept unaccented, whose accents can still change as
+ * characters are appended. Only the window is sent as current_text, so each recognize call costs
+ * the same regardless of how long the sentence already is.
+ *
+ * Words move from the window to the confirmed part once more than windowWords words follow them.
+ *
+ * Not thread-safe: one instance per sentence / request.
+ */
+public class SentenceState {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Safety cap for restorations that do not keep the word count of the window
+     */
+    private static final int MAX_WINDOW_FACTOR = 4;
+
+    private final int windowWords;
+    private final StringBuilder confirmed = new StringBuilder();
+    private String tentativeRaw = "";
+    private String tentativeText = "";
+
+    /**
+     * @param text        Sentence so far (accented or not); all but the last windowWords words are confirmed
+     * @param windowWords Number of trailing words that stay tentative
+     */
+    public SentenceState(String text, int windowWords) {
+        if (windowWords <= 0) {
+            throw new IllegalArgumentException("Window must hold at least one word");
+        }
+        this.windowWords = windowWords;
+        reset(text);
+    }
+
+    /**
+     * Replace the whole sentence
+     */
+    public void reset(String text) {
+        confirmed.setLength(0);
+        var value = text != null ? text : "";
+        tentativeText = value.trim();
+        tentativeRaw = stripAccents(value).stripLeading();
+        promote();
+    }
+
+    /**
+     * Tentative tail to send as current_text (unaccented, may end with a space)
+     */
+    public String window() {
+        return tentativeRaw;
+    }
+
+    /**
+     * Apply a recognition result computed for {@link #window()}
+     *
+     * @param rawChar        Recognized character ("SPACE" for a word break); null if unknown
+     * @param restoredWindow final_sentence returned for the window
+     * @return The full sentence
+     */
+    public String apply(String rawChar, String restoredWindow) {
+        tentativeText = restoredWindow != null ? restoredWindow.trim() : "";
+        if (rawChar == null) {
+            tentativeRaw = stripAccents(tentativeText);
+        } else if ("SPACE".equalsIgnoreCase(rawChar)) {
+            tentativeRaw = tentativeRaw + " ";
+        } else {
+            tentativeRaw = tentativeRaw + rawChar;
+        }
+        promote();
+        return text();
+    }
+
+    /**
+     * Confirmed part followed by the latest restoration of the window
+     */
+    public String text() {
+        if (confirmed.isEmpty()) {
+            return tentativeText;
+        }
+        return tentativeText.isEmpty() ? confirmed.toString() : confirmed + " " + tentativeText;
+    }
+
+    /**
+     * Move all but the last windowWords words of the window into the confirmed part
+     */
+    private void promote() {
+        var rawWords = words(tentativeRaw);
+        var overflow = rawWords.length - windowWords;
+        if (overflow <= 0) {
+            return;
+        }
+
+        var textWords = words(tentativeText);
+        if (textWords.length != rawWords.length) {
+            // Restoration did not keep word boundaries: only confirm once the window has clearly run away
+            if (rawWords.length > windowWords * MAX_WINDOW_FACTOR) {
+                confirm(tentativeText);
+                tentativeText = "";
+                tentativeRaw = "";
+            }
+            return;
+        }
+
+        confirm(String.join(" ", Arrays.copyOfRange(textWords, 0, overflow)));
+        tentativeText = String.join(" ", Arrays.copyOfRange(textWords, overflow, textWords.length));
+        var trailingSpace = Character.isWhitespace(tentativeRaw.charAt(tentativeRaw.length() - 1));
+        tentativeRaw = String.join(" ", Arrays.copyOfRange(rawWords, overflow, rawWords.length))
+                + (trailingSpace ? " " : "");
+    }
+
+    private void confirm(String words) {
+        if (words.isEmpty()) {
+            return;
+        }
+        if (!confirmed.isEmpty()) {
+            confirmed.append(' ');
+        }
+        confirmed.append(words);
+    }
+
+    private static String[] words(String text) {
+        var trimmed = text.trim();
+        return trimmed.isEmpty() ? new String[0] : WHITESPACE.split(trimmed);
+    }
+
+    /**
+     * Remove Vietnamese diacritics (the AI service only accepts unaccented input), keeping spacing
+     */
+    static String stripAccents(String text) {
+        var stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.replace('đ', 'd').replace('Đ', 'D');
+    }
+}
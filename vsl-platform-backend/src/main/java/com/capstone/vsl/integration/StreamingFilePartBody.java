@@ -0,0 +1,101 @@
+package com.capstone.vsl.integration;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Streaming multipart/form-data body with a single file part
+ * The file is copied straight from its source into the outbound request stream, which is sent with
+ * chunked transfer encoding. File-backed resources (e.g. a queued job's StoredVideoFile) are read through
+ * a FileChannel; anything else (e.g. the servlet multipart part) through a fixed-size copy buffer.
+ * Either way heap usage per upload stays constant regardless of video size.
+ */
+class StreamingFilePartBody implements StreamingHttpOutputMessage.Body {
+
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final String boundary = new String(MimeTypeUtils.generateMultipartBoundary(), StandardCharsets.US_ASCII);
+    private final String partName;
+    private final String filename;
+    private final String partContentType;
+    private final Resource source;
+
+    StreamingFilePartBody(String partName, String filename, String partContentType, Resource source) {
+        this.partName = partName;
+        this.filename = filename != null ? filename : "upload";
+        this.partContentType = partContentType != null ? partContentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        this.source = source;
+    }
+
+    /**
+     * Content type of the whole request, including the boundary
+     */
+    MediaType contentType() {
+        return new MediaType(MediaType.MULTIPART_FORM_DATA, Map.of("boundary", boundary));
+    }
+
+    /**
+     * Attach this body to the outgoing request
+     * RestClient's body(StreamingHttpOutputMessage.Body) writes into request.getBody(), which
+     * buffers the whole payload in memory; setting the body on the request itself keeps it streaming.
+     */
+    void applyTo(ClientHttpRequest request) {
+        if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+            streamingRequest.setBody(this);
+            return;
+        }
+        try {
+            writeTo(request.getBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        var partHeader = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + escape(partName)
+                + "\"; filename=\"" + escape(filename) + "\"\r\n"
+                + "Content-Type: " + partContentType + "\r\n\r\n";
+        outputStream.write(partHeader.getBytes(StandardCharsets.UTF_8));
+
+        if (source.isFile()) {
+            // Disk-backed upload: let the channel drive the copy
+            try (var channel = FileChannel.open(source.getFile().toPath(), StandardOpenOption.READ)) {
+                var target = Channels.newChannel(outputStream);
+                var position = 0L;
+                var size = channel.size();
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        } else {
+            try (var in = source.getInputStream()) {
+                // Fixed 8 KB buffer (InputStream.transferTo may copy in-memory sources wholesale)
+                StreamUtils.copy(in, outputStream);
+            }
+        }
+
+        outputStream.write(CRLF);
+        outputStream.write(("--" + boundary + "--").getBytes(StandardCharsets.US_ASCII));
+        outputStream.write(CRLF);
+        outputStream.flush();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\r", "").replace("\n", "");
+    }
+}
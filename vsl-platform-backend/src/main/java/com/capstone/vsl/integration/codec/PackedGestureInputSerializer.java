@@ -0,0 +1,47 @@
+package com.capstone.vsl.integration.codec;
+
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Streams a {@link PackedGestureInput} straight from its flat coordinate array
+ * into the JSON body expected by the unified Python AI Service,
+ * without materializing HandFrameDTO / LandmarkDTO records.
+ */
+public class PackedGestureInputSerializer extends StdSerializer<PackedGestureInput> {
+
+    public PackedGestureInputSerializer() {
+        super(PackedGestureInput.class);
+    }
+
+    @Override
+    public void serialize(PackedGestureInput input, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        var coordinates = input.coordinates();
+        var landmarksPerFrame = input.landmarksPerFrame();
+
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("frames");
+        for (int frame = 0; frame < input.frameCount(); frame++) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("landmarks");
+            for (int landmark = 0; landmark < landmarksPerFrame; landmark++) {
+                var offset = input.offset(frame, landmark);
+                gen.writeStartObject();
+                gen.writeNumberField("x", coordinates[offset]);
+                gen.writeNumberField("y", coordinates[offset + 1]);
+                gen.writeNumberField("z", coordinates[offset + 2]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeStringField("current_text", input.currentText());
+        gen.writeEndObject();
+    }
+}
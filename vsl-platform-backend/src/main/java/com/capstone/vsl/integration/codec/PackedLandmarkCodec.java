@@ -0,0 +1,111 @@
+package com.capstone.vsl.integration.codec;
+
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Packed Landmark Codec
+ * Encodes/decodes the compact binary landmark frame format (all values little-endian):
+ *
+ * <pre>
+ * offset  size  field
+ * 0       4     magic "VSLF"
+ * 4       1     version (1)
+ * 5       1     landmarks per frame (e.g. 21)
+ * 6       2     current_text length in bytes (UTF-8)
+ * 8       4     frame count
+ * 12      n     current_text (UTF-8)
+ * 12+n    ...   float32 coordinates, frames x landmarks x (x, y, z)
+ * </pre>
+ *
+ * A 30-frame window of 21 landmarks is ~7.5 KB instead of ~70 KB of JSON.
+ */
+public final class PackedLandmarkCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-vsl-landmarks";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public static final int MAGIC = 0x464C5356; // "VSLF" read as little-endian int
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 12;
+
+    /**
+     * Upper bound on frames per request, protects against oversized allocations
+     */
+    public static final int MAX_FRAMES = 4096;
+
+    private PackedLandmarkCodec() {
+    }
+
+    /**
+     * Decode a complete packed payload
+     *
+     * @param buffer Buffer positioned at the start of the payload (byte order is ignored)
+     * @return Decoded gesture input
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static PackedGestureInput decode(ByteBuffer buffer) {
+        var in = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Packed landmark payload is shorter than its header");
+        }
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Packed landmark payload has an invalid magic number");
+        }
+        var version = Byte.toUnsignedInt(in.get());
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported packed landmark version: " + version);
+        }
+        var landmarksPerFrame = Byte.toUnsignedInt(in.get());
+        var textLength = Short.toUnsignedInt(in.getShort());
+        var frameCount = in.getInt();
+        if (frameCount <= 0 || frameCount > MAX_FRAMES) {
+            throw new IllegalArgumentException("Frame count must be between 1 and " + MAX_FRAMES);
+        }
+
+        var coordinateCount = frameCount * landmarksPerFrame * PackedGestureInput.AXES;
+        var expectedBytes = (long) textLength + (long) coordinateCount * Float.BYTES;
+        if (in.remaining() != expectedBytes) {
+            throw new IllegalArgumentException(String.format(
+                    "Packed landmark payload size mismatch: expected %d bytes after header, got %d",
+                    expectedBytes, in.remaining()));
+        }
+
+        var textBytes = new byte[textLength];
+        in.get(textBytes);
+        var coordinates = new float[coordinateCount];
+        in.asFloatBuffer().get(coordinates);
+
+        return new PackedGestureInput(frameCount, landmarksPerFrame, coordinates,
+                new String(textBytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encode a gesture input into the packed format
+     */
+    public static byte[] encode(PackedGestureInput input) {
+        var textBytes = input.currentText().getBytes(StandardCharsets.UTF_8);
+        if (textBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("current_text is too long for the packed format");
+        }
+        if (input.landmarksPerFrame() > 0xFF) {
+            throw new IllegalArgumentException("Too many landmarks per frame for the packed format");
+        }
+
+        var out = ByteBuffer
+                .allocate(HEADER_BYTES + textBytes.length + input.coordinates().length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC);
+        out.put((byte) VERSION);
+        out.put((byte) input.landmarksPerFrame());
+        out.putShort((short) textBytes.length);
+        out.putInt(input.frameCount());
+        out.put(textBytes);
+        out.asFloatBuffer().put(input.coordinates());
+        return out.array();
+    }
+}
@@ -0,0 +1,55 @@
+package com.capstone.vsl.integration.codec;
+
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * HTTP message converter for the packed binary landmark format ({@value PackedLandmarkCodec#MEDIA_TYPE_VALUE})
+ * Reads the request body once into a byte array and decodes it into a flat float[].
+ */
+public class PackedLandmarkHttpMessageConverter extends AbstractHttpMessageConverter<PackedGestureInput> {
+
+    private static final long MAX_PAYLOAD_BYTES = PackedLandmarkCodec.HEADER_BYTES + 0xFFFFL
+            + (long) PackedLandmarkCodec.MAX_FRAMES * 0xFF * PackedGestureInput.AXES * Float.BYTES;
+
+    public PackedLandmarkHttpMessageConverter() {
+        super(PackedLandmarkCodec.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PackedGestureInput.class == clazz;
+    }
+
+    @Override
+    protected PackedGestureInput readInternal(Class<? extends PackedGestureInput> clazz,
+                                              HttpInputMessage inputMessage) throws IOException {
+        var contentLength = inputMessage.getHeaders().getContentLength();
+        if (contentLength > MAX_PAYLOAD_BYTES) {
+            throw new HttpMessageNotReadableException("Packed landmark payload is too large", inputMessage);
+        }
+
+        var limit = contentLength >= 0 ? (int) contentLength : (int) MAX_PAYLOAD_BYTES + 1;
+        var bytes = inputMessage.getBody().readNBytes(limit);
+        if (bytes.length > MAX_PAYLOAD_BYTES) {
+            throw new HttpMessageNotReadableException("Packed landmark payload is too large", inputMessage);
+        }
+
+        try {
+            return PackedLandmarkCodec.decode(ByteBuffer.wrap(bytes));
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(PackedGestureInput input, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(PackedLandmarkCodec.encode(input));
+    }
+}
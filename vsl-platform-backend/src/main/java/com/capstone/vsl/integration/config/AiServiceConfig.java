@@ -1,53 +1,228 @@
 package com.capstone.vsl.integration.config;
 
+import com.capstone.vsl.integration.AiReplicaPool;
+import com.capstone.vsl.integration.CircuitBreaker;
+import com.capstone.vsl.integration.ConcurrencyLimiter;
+import com.capstone.vsl.integration.codec.PackedLandmarkHttpMessageConverter;
+import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
+import com.capstone.vsl.integration.exception.ExternalServiceException;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * AI Service Configuration
  * Configures RestClient for the unified AI service endpoint
  * The unified service handles both gesture recognition and accent restoration
+ *
+ * Connections are pooled and kept alive (Apache HttpClient 5), so
+ * GestureIntegrationService does not pay TCP connection setup per call.
+ * Pool usage is exposed as Micrometer metrics (httpcomponents.httpclient.pool.*, pool=ai-service).
+ * Calls are additionally capped by a concurrency limiter (ai.service.limiter.*) so a burst of
+ * recognitions queues in the backend instead of overwhelming the Python service; callers whose
+ * predicted queue wait exceeds ai.service.limiter.wait-budget are shed immediately.
+ * A circuit breaker (ai.service.circuit-breaker.*) stops calling the service while it keeps failing or timing out.
+ * Several replicas can be listed in ai.service.urls; calls are balanced and optionally hedged across them
+ * (see AiReplicaPool).
  */
 @Configuration
 public class AiServiceConfig {
 
-    @Value("${ai.service.url:http://localhost:5000/predict}")
-    private String aiServiceUrl;
+    /**
+     * Comma-separated replica URLs; falls back to the single ai.service.url
+     */
+    @Value("${ai.service.urls:${ai.service.url:http://localhost:5000/predict}}")
+    private List<String> aiServiceUrls;
+
+    @Value("${ai.service.connect-timeout:2000}")
+    private int connectTimeoutMs;
+
+    /**
+     * Falls back to the legacy single ai.service.timeout
+     */
+    @Value("${ai.service.read-timeout:${ai.service.timeout:10000}}")
+    private int readTimeoutMs;
+
+    @Value("${ai.service.pool.connection-request-timeout:1000}")
+    private int connectionRequestTimeoutMs;
+
+    @Value("${ai.service.pool.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${ai.service.pool.max-connections-per-route:100}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${ai.service.pool.keep-alive:30000}")
+    private int keepAliveMs;
+
+    @Value("${ai.service.pool.idle-eviction:60000}")
+    private int idleEvictionMs;
+
+    @Value("${ai.service.limiter.max-concurrent:32}")
+    private int limiterMaxConcurrent;
+
+    @Value("${ai.service.limiter.max-waiting:2000}")
+    private int limiterMaxWaiting;
+
+    @Value("${ai.service.limiter.acquire-timeout:5000}")
+    private int limiterAcquireTimeoutMs;
 
-    @Value("${ai.service.timeout:10000}")
-    private int timeoutMs;
+    /**
+     * Max predicted queue wait (ms) before new requests are shed, 0 = no shedding
+     */
+    @Value("${ai.service.limiter.wait-budget:2000}")
+    private int limiterWaitBudgetMs;
+
+    @Value("${ai.service.circuit-breaker.window-size:20}")
+    private int circuitWindowSize;
+
+    @Value("${ai.service.circuit-breaker.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    /**
+     * Percentage of failed or slow calls in the window that opens the circuit
+     */
+    @Value("${ai.service.circuit-breaker.failure-rate-threshold:50}")
+    private int circuitFailureRateThreshold;
+
+    @Value("${ai.service.circuit-breaker.slow-call-threshold:5000}")
+    private int circuitSlowCallThresholdMs;
+
+    @Value("${ai.service.circuit-breaker.open-duration:10000}")
+    private int circuitOpenDurationMs;
+
+    @Value("${ai.service.circuit-breaker.half-open-probes:3}")
+    private int circuitHalfOpenProbes;
+
+    @Value("${ai.service.health.path:/health}")
+    private String healthPath;
+
+    @Value("${ai.service.health.interval:5000}")
+    private int healthIntervalMs;
+
+    @Value("${ai.service.hedging.enabled:false}")
+    private boolean hedgingEnabled;
 
     /**
-     * Creates a request factory with configured timeouts
+     * Minimum wait (ms) before a hedge is sent; the observed p95 latency is used when it is higher
+     */
+    @Value("${ai.service.hedging.min-delay:50}")
+    private int hedgingMinDelayMs;
+
+    /**
+     * Max fraction of calls that may be duplicated to a second replica
+     */
+    @Value("${ai.service.hedging.max-ratio:0.1}")
+    private double hedgingMaxRatio;
+
+    /**
+     * Creates the connection pool for the unified AI service
      * Connect Timeout: Time to establish connection
-     * Read Timeout: Time to wait for response
-     * 
+     * Read Timeout: Max inactivity while waiting for response data
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager aiConnectionManager() {
+        return HttpClientPools.connectionManager(
+                maxConnections,
+                maxConnectionsPerRoute,
+                Duration.ofMillis(connectTimeoutMs),
+                Duration.ofMillis(readTimeoutMs));
+    }
+
+    /**
+     * Creates a pooled, keep-alive request factory with configured timeouts
+     * Connection Request Timeout: Time to wait for a free connection when the pool is exhausted
+     *
      * @return Configured ClientHttpRequestFactory
      */
     @Bean
-    public SimpleClientHttpRequestFactory aiRequestFactory() {
-        var requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(Duration.ofMillis(timeoutMs));
-        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
-        return requestFactory;
+    public HttpComponentsClientHttpRequestFactory aiRequestFactory(
+            @Qualifier("aiConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClientPools.requestFactory(
+                connectionManager,
+                Duration.ofMillis(keepAliveMs),
+                Duration.ofMillis(idleEvictionMs),
+                Duration.ofMillis(connectionRequestTimeoutMs),
+                Duration.ofMillis(readTimeoutMs));
     }
 
     /**
-     * Creates RestClient for the unified AI service
-     * This single endpoint handles:
+     * Creates the replica pool for the unified AI service, one RestClient per replica URL
+     * sharing the same connection pool. Each replica handles:
      * - Gesture recognition from landmarks
      * - Accent restoration for Vietnamese text
+     * Also publishes vsl.ai.replica.* and vsl.ai.hedge.* metrics.
      */
-    @Bean("aiRestClient")
-    public RestClient aiRestClient(SimpleClientHttpRequestFactory requestFactory) {
-        return RestClient.builder()
-                .baseUrl(aiServiceUrl)
-                .requestFactory(requestFactory)
-                .build();
+    @Bean(value = "aiReplicaPool", initMethod = "start", destroyMethod = "close")
+    public AiReplicaPool aiReplicaPool(@Qualifier("aiRequestFactory") HttpComponentsClientHttpRequestFactory requestFactory) {
+        return new AiReplicaPool("ai-service",
+                aiServiceUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList(),
+                url -> RestClient.builder()
+                        .baseUrl(url)
+                        .requestFactory(requestFactory)
+                        .build(),
+                healthPath,
+                Duration.ofMillis(healthIntervalMs),
+                hedgingEnabled,
+                Duration.ofMillis(hedgingMinDelayMs),
+                hedgingMaxRatio);
+    }
+
+    /**
+     * Exposes pool metrics (leased / available / pending / max connections) for the AI service pool
+     */
+    @Bean
+    public MeterBinder aiConnectionPoolMetrics(
+            @Qualifier("aiConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "ai-service");
+    }
+
+    /**
+     * Bounds concurrent calls to the unified AI service (also publishes vsl.backend.limiter.* metrics)
+     */
+    @Bean("aiServiceLimiter")
+    public ConcurrencyLimiter aiServiceLimiter() {
+        return new ConcurrencyLimiter("ai-service", limiterMaxConcurrent, limiterMaxWaiting,
+                Duration.ofMillis(limiterAcquireTimeoutMs), Duration.ofMillis(limiterWaitBudgetMs));
+    }
+
+    /**
+     * Circuit breaker for the unified AI service
+     * Connection errors, timeouts and 5xx responses count as failures; 4xx and shed requests do not.
+     * Timeouts count however RestClient wrapped them (see AiReplicaPool.isIoFailure), the same way the
+     * replica pool classifies them.
+     */
+    @Bean("aiCircuitBreaker")
+    public CircuitBreaker aiCircuitBreaker() {
+        return new CircuitBreaker("ai-service",
+                circuitWindowSize,
+                circuitMinimumCalls,
+                circuitFailureRateThreshold,
+                Duration.ofMillis(circuitSlowCallThresholdMs),
+                Duration.ofMillis(circuitOpenDurationMs),
+                circuitHalfOpenProbes,
+                e -> AiReplicaPool.isIoFailure(e)
+                        || e instanceof HttpServerErrorException
+                        || e instanceof AiServiceUnavailableException
+                        || (e instanceof ExternalServiceException external && external.getStatusCode() >= 500));
+    }
+
+    /**
+     * Registers the packed binary landmark format with Spring MVC
+     * so /api/vsl/recognize can accept application/x-vsl-landmarks bodies
+     */
+    @Bean
+    public PackedLandmarkHttpMessageConverter packedLandmarkHttpMessageConverter() {
+        return new PackedLandmarkHttpMessageConverter();
     }
 }
@@ -0,0 +1,70 @@
+package com.capstone.vsl.integration.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * Helpers for building pooled, keep-alive Apache HttpClient 5 request factories
+ * Shared by the AI service clients so every backend gets its own connection pool:
+ * - Connect timeout: time to establish a TCP connection
+ * - Read timeout: max inactivity while waiting for response data
+ * - Connection request timeout: time to lease a connection from a saturated pool
+ */
+final class HttpClientPools {
+
+    private HttpClientPools() {
+    }
+
+    /**
+     * Create a connection pool with the given limits and socket-level timeouts
+     */
+    static PoolingHttpClientConnectionManager connectionManager(int maxConnections,
+                                                                int maxConnectionsPerRoute,
+                                                                Duration connectTimeout,
+                                                                Duration readTimeout) {
+        var connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                // Re-validate connections that sat idle, the Python servers may drop them silently
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    /**
+     * Create a request factory on top of a pooled HttpClient that keeps connections alive
+     * for {@code keepAlive} and evicts connections idle for longer than {@code idleEviction}
+     */
+    static HttpComponentsClientHttpRequestFactory requestFactory(PoolingHttpClientConnectionManager connectionManager,
+                                                                 Duration keepAlive,
+                                                                 Duration idleEviction,
+                                                                 Duration connectionRequestTimeout,
+                                                                 Duration readTimeout) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+}
@@ -0,0 +1,186 @@
+package com.capstone.vsl.integration.config;
+
+import com.capstone.vsl.integration.ConcurrencyLimiter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Python Model Configuration (Legacy video pipeline)
+ * Long-lived RestClients for:
+ * - Model 1: Gesture Recognition (python.model1.*)
+ * - Model 2: Accent Correction (python.model2.*)
+ *
+ * Each model gets its own keep-alive connection pool, and python.model1.timeout /
+ * python.model2.timeout (seconds) are applied as the read timeout of that pool.
+ * Pool metrics are published with pool=python-model1 / pool=python-model2.
+ * Each model also has its own concurrency limiter (python.modelN.limiter.*).
+ *
+ * The asynchronous video pipeline runs each model on its own bounded stage executor
+ * (python.pipeline.modelN.workers / .queue); submissions beyond the queue are rejected.
+ */
+@Configuration
+public class PythonModelConfig {
+
+    @Value("${python.model1.url:http://localhost:5000}")
+    private String model1BaseUrl;
+
+    @Value("${python.model2.url:http://localhost:5001}")
+    private String model2BaseUrl;
+
+    @Value("${python.model1.timeout:30}")
+    private int model1TimeoutSeconds;
+
+    @Value("${python.model2.timeout:10}")
+    private int model2TimeoutSeconds;
+
+    @Value("${python.connect-timeout:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${python.pool.connection-request-timeout:1000}")
+    private int connectionRequestTimeoutMs;
+
+    @Value("${python.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${python.pool.keep-alive:30000}")
+    private int keepAliveMs;
+
+    @Value("${python.pool.idle-eviction:60000}")
+    private int idleEvictionMs;
+
+    @Value("${python.model1.limiter.max-concurrent:8}")
+    private int model1MaxConcurrent;
+
+    @Value("${python.model2.limiter.max-concurrent:16}")
+    private int model2MaxConcurrent;
+
+    @Value("${python.limiter.max-waiting:1000}")
+    private int limiterMaxWaiting;
+
+    @Value("${python.limiter.acquire-timeout:10000}")
+    private int limiterAcquireTimeoutMs;
+
+    @Value("${python.pipeline.model1.workers:8}")
+    private int model1StageWorkers;
+
+    @Value("${python.pipeline.model1.queue:100}")
+    private int model1StageQueue;
+
+    @Value("${python.pipeline.model2.workers:16}")
+    private int model2StageWorkers;
+
+    @Value("${python.pipeline.model2.queue:200}")
+    private int model2StageQueue;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager model1ConnectionManager() {
+        return HttpClientPools.connectionManager(maxConnections, maxConnections,
+                Duration.ofMillis(connectTimeoutMs), Duration.ofSeconds(model1TimeoutSeconds));
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager model2ConnectionManager() {
+        return HttpClientPools.connectionManager(maxConnections, maxConnections,
+                Duration.ofMillis(connectTimeoutMs), Duration.ofSeconds(model2TimeoutSeconds));
+    }
+
+    /**
+     * RestClient for Model 1 (Gesture Recognition), read timeout = python.model1.timeout
+     */
+    @Bean("model1RestClient")
+    public RestClient model1RestClient(
+            @Qualifier("model1ConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return RestClient.builder()
+                .baseUrl(model1BaseUrl)
+                .requestFactory(HttpClientPools.requestFactory(
+                        connectionManager,
+                        Duration.ofMillis(keepAliveMs),
+                        Duration.ofMillis(idleEvictionMs),
+                        Duration.ofMillis(connectionRequestTimeoutMs),
+                        Duration.ofSeconds(model1TimeoutSeconds)))
+                .build();
+    }
+
+    /**
+     * RestClient for Model 2 (Accent Correction), read timeout = python.model2.timeout
+     */
+    @Bean("model2RestClient")
+    public RestClient model2RestClient(
+            @Qualifier("model2ConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return RestClient.builder()
+                .baseUrl(model2BaseUrl)
+                .requestFactory(HttpClientPools.requestFactory(
+                        connectionManager,
+                        Duration.ofMillis(keepAliveMs),
+                        Duration.ofMillis(idleEvictionMs),
+                        Duration.ofMillis(connectionRequestTimeoutMs),
+                        Duration.ofSeconds(model2TimeoutSeconds)))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder model1ConnectionPoolMetrics(
+            @Qualifier("model1ConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "python-model1");
+    }
+
+    @Bean
+    public MeterBinder model2ConnectionPoolMetrics(
+            @Qualifier("model2ConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "python-model2");
+    }
+
+    /**
+     * Bounds concurrent video uploads to Model 1
+     */
+    @Bean("model1Limiter")
+    public ConcurrencyLimiter model1Limiter() {
+        return new ConcurrencyLimiter("python-model1", model1MaxConcurrent, limiterMaxWaiting,
+                Duration.ofMillis(limiterAcquireTimeoutMs));
+    }
+
+    /**
+     * Bounds concurrent accent correction calls to Model 2
+     */
+    @Bean("model2Limiter")
+    public ConcurrencyLimiter model2Limiter() {
+        return new ConcurrencyLimiter("python-model2", model2MaxConcurrent, limiterMaxWaiting,
+                Duration.ofMillis(limiterAcquireTimeoutMs));
+    }
+
+    /**
+     * Stage executor for Model 1 (Gesture Recognition) in the asynchronous video pipeline
+     */
+    @Bean(name = "model1StageExecutor")
+    public ThreadPoolTaskExecutor model1StageExecutor() {
+        return stageExecutor("pipeline-model1-", model1StageWorkers, model1StageQueue);
+    }
+
+    /**
+     * Stage executor for Model 2 (Accent Correction) in the asynchronous video pipeline
+     */
+    @Bean(name = "model2StageExecutor")
+    public ThreadPoolTaskExecutor model2StageExecutor() {
+        return stageExecutor("pipeline-model2-", model2StageWorkers, model2StageQueue);
+    }
+
+    private static ThreadPoolTaskExecutor stageExecutor(String threadNamePrefix, int workers, int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        // Workers only wait on HTTP calls, so they can be virtual threads
+        executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+        executor.initialize();
+        return executor;
+    }
+}
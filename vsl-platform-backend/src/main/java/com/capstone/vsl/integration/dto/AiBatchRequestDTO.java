@@ -0,0 +1,16 @@
+package com.capstone.vsl.integration.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Immutable DTO representing a micro-batched request to the unified Python AI Service
+ * Each entry is a regular /predict body ({"frames": [...], "current_text": "..."})
+ * JSON format: {"requests": [ {...}, {...} ]}
+ */
+public record AiBatchRequestDTO(
+        @JsonProperty("requests")
+        List<Object> requests
+) {
+}
@@ -0,0 +1,25 @@
+package com.capstone.vsl.integration.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Immutable DTO representing the response from /predict/batch of the unified Python AI Service
+ * Expected JSON format:
+ * {
+ *   "success": true,
+ *   "results": [ { same object as /predict }, ... ]   (one per request, in request order)
+ * }
+ */
+public record AiBatchResponseDTO(
+        @JsonProperty("success")
+        Boolean success,
+
+        @JsonProperty("results")
+        List<AiResponseDTO> results,
+
+        @JsonProperty("error")
+        String error
+) {
+}
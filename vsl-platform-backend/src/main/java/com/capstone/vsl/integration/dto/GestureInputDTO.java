@@ -2,6 +2,7 @@ package com.capstone.vsl.integration.dto;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import java.util.List;
 
 /**
@@ -13,7 +14,7 @@ import java.util.List;
 public record GestureInputDTO(
         @NotEmpty(message = "Frames cannot be empty")
         @Valid
-        List<HandFrameDTO> frames,
+        List<@NotNull(message = "Frames cannot contain null") HandFrameDTO> frames,
         
         /**
          * Current text context (accumulated text so far)
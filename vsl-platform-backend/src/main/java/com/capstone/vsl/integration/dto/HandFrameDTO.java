@@ -1,5 +1,7 @@
 package com.capstone.vsl.integration.dto;
 
+import jakarta.validation.constraints.NotNull;
+
 import java.util.List;
 
 /**
@@ -7,7 +9,7 @@ import java.util.List;
  * Contains a list of landmarks for one frame
  */
 public record HandFrameDTO(
-        List<LandmarkDTO> landmarks
+        List<@NotNull(message = "Landmarks cannot contain null") LandmarkDTO> landmarks
 ) {
 }
 
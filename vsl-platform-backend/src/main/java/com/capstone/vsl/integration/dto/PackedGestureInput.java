@@ -0,0 +1,45 @@
+package com.capstone.vsl.integration.dto;
+
+import com.capstone.vsl.integration.codec.PackedGestureInputSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Immutable gesture input decoded from the compact binary landmark format
+ * Landmarks are kept in a single flat array laid out as frames x landmarks x (x, y, z),
+ * so no per-frame or per-landmark objects are created on the hot path.
+ *
+ * Serializes (via Jackson) directly to the unified Python AI Service request body:
+ * {"frames": [{"landmarks": [{"x": .., "y": .., "z": ..}, ...]}, ...], "current_text": "..."}
+ */
+@JsonSerialize(using = PackedGestureInputSerializer.class)
+public record PackedGestureInput(
+        int frameCount,
+        int landmarksPerFrame,
+        float[] coordinates,
+        String currentText
+) {
+    /**
+     * Number of coordinates stored per landmark (x, y, z)
+     */
+    public static final int AXES = 3;
+
+    public PackedGestureInput {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frames cannot be empty");
+        }
+        if (landmarksPerFrame <= 0) {
+            throw new IllegalArgumentException("Landmarks per frame must be positive");
+        }
+        if (coordinates == null || coordinates.length != frameCount * landmarksPerFrame * AXES) {
+            throw new IllegalArgumentException("Coordinate count does not match frames x landmarks x 3");
+        }
+        currentText = currentText != null ? currentText : "";
+    }
+
+    /**
+     * Offset of the first coordinate (x) of the given landmark in {@link #coordinates()}
+     */
+    public int offset(int frame, int landmark) {
+        return (frame * landmarksPerFrame + landmark) * AXES;
+    }
+}
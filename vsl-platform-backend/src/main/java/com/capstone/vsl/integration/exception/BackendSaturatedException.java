@@ -0,0 +1,16 @@
+package com.capstone.vsl.integration.exception;
+
+/**
+ * Exception thrown when an AI backend's concurrency limit is reached
+ * and no slot frees up within the acquire timeout
+ */
+public class BackendSaturatedException extends RuntimeException {
+
+    public BackendSaturatedException(String message) {
+        super(message);
+    }
+
+    public BackendSaturatedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.capstone.vsl.integration.exception;
+
+/**
+ * Exception thrown when a call is rejected because the backend's circuit breaker is open
+ * (or half-open with all probe calls already in flight)
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
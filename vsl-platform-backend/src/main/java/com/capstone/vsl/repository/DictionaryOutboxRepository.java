@@ -0,0 +1,58 @@
+package com.capstone.vsl.repository;
+
+import com.capstone.vsl.entity.DictionaryOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DictionaryOutboxRepository extends JpaRepository<DictionaryOutboxEvent, Long> {
+
+    /**
+     * Oldest events that are due (not parked), in write order
+     */
+    @Query("SELECT e FROM DictionaryOutboxEvent e WHERE e.deadAt IS NULL AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<DictionaryOutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Creation time of the oldest event still waiting (replication lag); parked events are not waiting
+     */
+    @Query("SELECT MIN(e.createdAt) FROM DictionaryOutboxEvent e WHERE e.deadAt IS NULL")
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    /**
+     * Number of parked events
+     */
+    long countByDeadAtIsNotNull();
+
+    /**
+     * Push failed events back (one UPDATE for a whole batch)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DictionaryOutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :error WHERE e.id IN :ids")
+    int reschedule(@Param("ids") Collection<Long> ids,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    /**
+     * Park events the relay gave up on (one UPDATE for a whole batch)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DictionaryOutboxEvent e SET e.attempts = e.attempts + 1, e.deadAt = :deadAt, " +
+           "e.lastError = :error WHERE e.id IN :ids")
+    int markDead(@Param("ids") Collection<Long> ids,
+                 @Param("deadAt") LocalDateTime deadAt,
+                 @Param("error") String error);
+}
@@ -1,11 +1,16 @@
 package com.capstone.vsl.repository;
 
 import com.capstone.vsl.entity.Dictionary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,17 +23,79 @@ public interface DictionaryRepository extends JpaRepository<Dictionary, Long> {
 
     /**
      * Search using PostgreSQL ILIKE (case-insensitive pattern matching)
-     * Fallback when Elasticsearch is unavailable
+     * Fallback when Elasticsearch is unavailable; one page in id order
      */
     @Query("SELECT d FROM Dictionary d WHERE " +
            "LOWER(d.word) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(d.definition) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Dictionary> searchByQuery(@Param("query") String query);
+           "LOWER(d.definition) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "ORDER BY d.id")
+    List<Dictionary> searchByQuery(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Next page of searchByQuery after the given id (keyset pagination, no OFFSET scan)
+     */
+    @Query("SELECT d FROM Dictionary d WHERE d.id > :afterId AND (" +
+           "LOWER(d.word) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(d.definition) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "ORDER BY d.id")
+    List<Dictionary> searchByQueryAfter(@Param("query") String query, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Number of searchByQuery matches, counting at most {@code limit} (stops scanning there)
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM dictionary d WHERE " +
+           "LOWER(d.word) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(d.definition) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "LIMIT :limit) matches", nativeQuery = true)
+    long countByQuery(@Param("query") String query, @Param("limit") int limit);
 
     /**
      * Get a random dictionary entry (PostgreSQL specific).
      */
     @Query(value = "SELECT * FROM dictionary ORDER BY RANDOM() LIMIT 1", nativeQuery = true)
     Optional<Dictionary> findRandom();
+
+    /**
+     * Every dictionary word with the number of times it was looked up
+     * Used to rank candidates in the local accent restoration engine
+     */
+    @Query("SELECT d.word AS word, COUNT(h) AS frequency FROM Dictionary d " +
+           "LEFT JOIN d.searchHistories h GROUP BY d.id, d.word")
+    List<WordFrequency> findWordFrequencies();
+
+    /**
+     * Flag entries as written to Elasticsearch (one UPDATE for a whole sync batch)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Dictionary d SET d.elasticSynced = true WHERE d.id IN :ids")
+    int markElasticSynced(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next page of entries not yet written to Elasticsearch (keyset pagination by id)
+     */
+    @Query("SELECT d.id FROM Dictionary d WHERE d.elasticSynced = false AND d.id > :afterId ORDER BY d.id")
+    List<Long> findUnsyncedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Next page of entries in id order (keyset pagination, used to stream the table into a new index)
+     */
+    @Query("SELECT d FROM Dictionary d WHERE d.id > :afterId ORDER BY d.id")
+    List<Dictionary> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT d.id FROM Dictionary d WHERE d.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * The given ids that still have a row
+     */
+    @Query("SELECT d.id FROM Dictionary d WHERE d.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    interface WordFrequency {
+        String getWord();
+
+        Long getFrequency();
+    }
 }
 
@@ -4,16 +4,12 @@ import com.capstone.vsl.document.DictionaryDocument;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
+/**
+ * Elasticsearch repository for dictionary documents
+ * Creates the dictionary index (settings and mapping) on first start. Searches are built as
+ * relevance-ranked native queries in DictionaryService; derived Containing queries compile to
+ * unranked wildcard queries and are not used.
+ */
 @Repository
 public interface DictionarySearchRepository extends ElasticsearchRepository<DictionaryDocument, Long> {
-    
-    /**
-     * Search using Elasticsearch fuzzy matching
-     * The Vietnamese analyzer will handle proper text analysis
-     */
-    List<DictionaryDocument> findByWordContainingIgnoreCaseOrDefinitionContainingIgnoreCase(
-            String word, String definition);
 }
-
@@ -0,0 +1,164 @@
+package com.capstone.vsl.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import com.capstone.vsl.document.DictionaryDocument;
+import com.capstone.vsl.entity.Dictionary;
+import com.capstone.vsl.repository.DictionaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dictionary Indexer
+ * Writes the current PostgreSQL state of dictionary entries to Elasticsearch in bulk
+ * - Existing rows are indexed and ids without a row (deleted entries) are removed with one bulk request
+ * - Written rows are flagged elasticSynced with one UPDATE
+ *
+ * Indexing is idempotent (always the current row), so replaying an id is harmless.
+ * While a reindex builds a new index, every change is also written to that index (shadow writes),
+ * so the new index does not miss changes made during the build; they go into the same bulk request.
+ * Metrics: vsl.search.sync.documents counter (tagged result = indexed / deleted / failed).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DictionaryIndexer {
+
+    private final DictionaryRepository dictionaryRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final MeterRegistry meterRegistry;
+
+    private Counter indexed;
+    private Counter deleted;
+    private Counter failed;
+    private volatile IndexCoordinates shadowIndex;
+
+    @PostConstruct
+    void init() {
+        indexed = documents("indexed");
+        deleted = documents("deleted");
+        failed = documents("failed");
+    }
+
+    private Counter documents(String result) {
+        return Counter.builder("vsl.search.sync.documents")
+                .tag("result", result)
+                .description("Dictionary documents written to or removed from Elasticsearch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Also write every change to the given index until stopShadow() (used while it is being built)
+     */
+    void startShadow(String index) {
+        shadowIndex = IndexCoordinates.of(index);
+    }
+
+    void stopShadow() {
+        shadowIndex = null;
+    }
+
+    /**
+     * Write the given entries to Elasticsearch and remove entries that no longer exist, all with one
+     * bulk request (shadow writes included), and mark the written rows as synced
+     *
+     * @param ids Dictionary ids (duplicates are ignored)
+     * @return Ids that could not be written or removed
+     * @throws org.springframework.dao.DataAccessException if Elasticsearch cannot be reached
+     */
+    public List<Long> sync(Collection<Long> ids) {
+        var distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        var rows = dictionaryRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Dictionary::getId, Function.identity()));
+        var documents = new LinkedHashMap<String, Map<String, Object>>();
+        rows.values().forEach(row -> documents.put(row.getId().toString(),
+                elasticsearchOperations.getElasticsearchConverter().mapObject(toDocument(row))));
+        var deletedIds = distinctIds.stream()
+                .filter(id -> !rows.containsKey(id))
+                .map(String::valueOf)
+                .toList();
+
+        var indices = new ArrayList<String>();
+        indices.add(elasticsearchOperations.getIndexCoordinatesFor(DictionaryDocument.class).getIndexName());
+        var shadow = shadowIndex;
+        if (shadow != null) {
+            indices.add(shadow.getIndexName());
+        }
+        var operations = new ArrayList<BulkOperation>();
+        for (var index : indices) {
+            documents.forEach((id, document) -> operations.add(BulkOperation.of(operation -> operation
+                    .index(write -> write.index(index).id(id).document(document)))));
+            deletedIds.forEach(id -> operations.add(BulkOperation.of(operation -> operation
+                    .delete(delete -> delete.index(index).id(id)))));
+        }
+        var failedIds = bulk(operations);
+
+        var synced = new HashSet<>(rows.keySet());
+        synced.removeAll(failedIds);
+        if (!synced.isEmpty()) {
+            dictionaryRepository.markElasticSynced(synced);
+        }
+        indexed.increment(synced.size());
+        deleted.increment(deletedIds.stream().map(Long::valueOf).filter(id -> !failedIds.contains(id)).count());
+        failed.increment(failedIds.size());
+        return List.copyOf(failedIds);
+    }
+
+    /**
+     * @return Ids of rejected operations; a delete of a document that is already gone is not a failure
+     */
+    private Set<Long> bulk(List<BulkOperation> operations) {
+        BulkResponse response;
+        try {
+            response = elasticsearchClient.bulk(request -> request.operations(operations));
+        } catch (IOException | ElasticsearchException e) {
+            throw new DataAccessResourceFailureException("Bulk sync of dictionary entries failed: " + e.getMessage(), e);
+        }
+        var failedIds = new LinkedHashSet<Long>();
+        if (response.errors()) {
+            for (var item : response.items()) {
+                if (item.error() != null) {
+                    log.warn("Failed to {} dictionary entry {} in {}: {}", item.operationType().jsonValue(),
+                            item.id(), item.index(), item.error().reason());
+                    failedIds.add(Long.valueOf(item.id()));
+                }
+            }
+        }
+        return failedIds;
+    }
+
+    static DictionaryDocument toDocument(Dictionary dictionary) {
+        return DictionaryDocument.builder()
+                .id(dictionary.getId())
+                .word(dictionary.getWord())
+                .definition(dictionary.getDefinition())
+                .videoUrl(dictionary.getVideoUrl())
+                .elasticSynced(true)
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package com.capstone.vsl.service;
+
+import com.capstone.vsl.entity.DictionaryOutboxEvent;
+import com.capstone.vsl.repository.DictionaryOutboxRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Dictionary Outbox Relay
+ * Transactional outbox for PostgreSQL -> Elasticsearch replication of dictionary entries
+ *
+ * Flow:
+ * 1. Writers call record(id) inside their transaction: the outbox row commits (or rolls back) with the change
+ * 2. After commit the relay is woken up; it also polls every poll-interval (events of other instances,
+ *    events left over from a restart or an Elasticsearch outage)
+ * 3. The relay waits max-wait for more changes to arrive, then loads up to batch-size due events,
+ *    coalesces them by dictionary id and hands the ids to DictionaryIndexer (one bulk request)
+ * 4. Events of written ids are deleted with one DELETE; the others are pushed back with exponential
+ *    backoff computed from each event's own attempts (backoff * 2^attempts, at most max-backoff),
+ *    one UPDATE per distinct attempt count
+ * 5. An event still rejected by Elasticsearch on its max-attempts-th attempt is parked (deadAt set, error
+ *    logged): it is no longer retried nor counted as lag; its row stays unsynced for the reconciler.
+ *    A failed bulk request (Elasticsearch unreachable) is an outage, not a rejection: it never parks events.
+ *
+ * Only events loaded for the batch are deleted, so a change committed while a batch is being
+ * written keeps its own event and is replicated by the next batch. With several instances the same
+ * event may be written twice, which is harmless (indexing is idempotent).
+ *
+ * Metrics: vsl.search.outbox.lag gauge (seconds since the oldest waiting event was written),
+ * vsl.search.outbox.dead gauge (parked events), vsl.search.sync.batch.size summary.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DictionaryOutboxRelay {
+
+    private final DictionaryOutboxRepository dictionaryOutboxRepository;
+    private final DictionaryIndexer dictionaryIndexer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vsl.search.sync.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Time (ms) the relay waits after a wake-up so that a burst of changes shares one batch
+     */
+    @Value("${vsl.search.sync.max-wait:200}")
+    private long maxWaitMs;
+
+    @Value("${vsl.search.sync.poll-interval:5000}")
+    private long pollIntervalMs;
+
+    /**
+     * Delay (ms) before the first retry of a failed event, doubled on every further attempt up to max-backoff
+     */
+    @Value("${vsl.search.sync.backoff:1000}")
+    private long backoffMs;
+
+    @Value("${vsl.search.sync.max-backoff:60000}")
+    private long maxBackoffMs;
+
+    /**
+     * Rejections of the same event after which it is parked instead of retried
+     */
+    @Value("${vsl.search.sync.max-attempts:10}")
+    private int maxAttempts;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private boolean signalled;
+
+    private DistributionSummary batchSizes;
+    private volatile double lagSeconds;
+    private volatile long deadEvents;
+    private Thread relay;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("vsl.search.outbox.lag", this, r -> r.lagSeconds)
+                .baseUnit("seconds")
+                .description("Age of the oldest dictionary change not yet replicated to Elasticsearch")
+                .register(meterRegistry);
+        Gauge.builder("vsl.search.outbox.dead", this, r -> r.deadEvents)
+                .description("Dictionary changes parked after being rejected by Elasticsearch max-attempts times")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("vsl.search.sync.batch.size")
+                .description("Dictionary ids per Elasticsearch bulk sync")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start relaying once the application is up (events left from a previous run are picked up first)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        relay = Thread.ofVirtual().name("dictionary-outbox-relay").start(this::relayLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (relay != null) {
+            relay.interrupt();
+        }
+    }
+
+    /**
+     * Record that a dictionary entry changed (created, updated or deleted)
+     * Must run inside the transaction that makes the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long dictionaryId) {
+        dictionaryOutboxRepository.save(DictionaryOutboxEvent.builder()
+                .dictionaryId(dictionaryId)
+                .build());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wake();
+            }
+        });
+    }
+
+    void wake() {
+        lock.lock();
+        try {
+            signalled = true;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void relayLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                var drained = relayBatch();
+                if (drained) {
+                    awaitChange();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.error("Dictionary outbox relay failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(Duration.ofMillis(pollIntervalMs));
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replicate one batch of due events
+     *
+     * @return true if fewer than batch-size events were due (nothing left to do right now)
+     */
+    boolean relayBatch() {
+        var events = dictionaryOutboxRepository.findDue(LocalDateTime.now(), PageRequest.ofSize(batchSize));
+        if (events.isEmpty()) {
+            lagSeconds = 0;
+            return true;
+        }
+
+        var ids = events.stream().map(DictionaryOutboxEvent::getDictionaryId).distinct().toList();
+        batchSizes.record(ids.size());
+        List<Long> failedIds;
+        String error = null;
+        var rejected = false;
+        try {
+            failedIds = dictionaryIndexer.sync(ids);
+            if (!failedIds.isEmpty()) {
+                error = "Bulk indexing rejected the document";
+                rejected = true;
+            }
+        } catch (Exception e) {
+            log.warn("Elasticsearch sync of {} dictionary entries failed, will retry: {}", ids.size(), e.getMessage());
+            failedIds = ids;
+            error = e.getMessage();
+        }
+
+        var failed = new HashSet<>(failedIds);
+        var done = new ArrayList<Long>();
+        var retry = new ArrayList<DictionaryOutboxEvent>();
+        var dead = new ArrayList<DictionaryOutboxEvent>();
+        for (var event : events) {
+            if (!failed.contains(event.getDictionaryId())) {
+                done.add(event.getId());
+            } else if (rejected && event.getAttempts() + 1 >= maxAttempts) {
+                dead.add(event);
+            } else {
+                retry.add(event);
+            }
+        }
+        if (!done.isEmpty()) {
+            dictionaryOutboxRepository.deleteAllByIdInBatch(done);
+        }
+        var lastError = error == null ? null : error.substring(0, Math.min(error.length(), 1000));
+        retry.stream()
+                .collect(Collectors.groupingBy(DictionaryOutboxEvent::getAttempts))
+                .forEach((attempts, group) -> dictionaryOutboxRepository.reschedule(
+                        group.stream().map(DictionaryOutboxEvent::getId).toList(),
+                        LocalDateTime.now().plus(Duration.ofMillis(backoff(attempts))),
+                        lastError));
+        if (!dead.isEmpty()) {
+            dead.forEach(event -> log.error("Giving up on Elasticsearch sync of dictionary entry {} (outbox event {}) after {} attempts: {}",
+                    event.getDictionaryId(), event.getId(), event.getAttempts() + 1, lastError));
+            dictionaryOutboxRepository.markDead(dead.stream().map(DictionaryOutboxEvent::getId).toList(),
+                    LocalDateTime.now(), lastError);
+        }
+
+        lagSeconds = dictionaryOutboxRepository.findOldestCreatedAt()
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+        deadEvents = dictionaryOutboxRepository.countByDeadAtIsNotNull();
+        return events.size() < batchSize;
+    }
+
+    private long backoff(int attempts) {
+        return Math.min(maxBackoffMs, backoffMs << Math.min(attempts, 20));
+    }
+
+    /**
+     * Sleep until a commit wakes the relay (then max-wait more, to batch a burst) or poll-interval passes
+     */
+    private void awaitChange() throws InterruptedException {
+        lock.lock();
+        try {
+            var remaining = TimeUnit.MILLISECONDS.toNanos(pollIntervalMs);
+            while (!signalled && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+            signalled = false;
+        } finally {
+            lock.unlock();
+        }
+        Thread.sleep(Duration.ofMillis(maxWaitMs));
+    }
+}
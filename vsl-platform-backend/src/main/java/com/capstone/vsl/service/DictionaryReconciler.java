@@ -0,0 +1,256 @@
+package com.capstone.vsl.service;
+
+import com.capstone.vsl.document.DictionaryDocument;
+import com.capstone.vsl.dto.ReconcileReportDTO;
+import com.capstone.vsl.repository.DictionaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dictionary Reconciler
+ * Periodic safety net behind the outbox relay: repairs whatever drifted between PostgreSQL and the
+ * dictionary index (events lost to a crash, entries that exhausted their retries, manual edits)
+ *
+ * Passes:
+ * 1. Unsynced rows: ids with elasticSynced = false are read page by page with keyset pagination
+ *    (id > last id, no OFFSET) and handed to DictionaryIndexer (one bulk request per page)
+ * 2. Orphans: ids in the dictionary index are read in id order with search_after; ids without a row
+ *    in PostgreSQL are removed from the index
+ *
+ * Both passes are paced to max-docs-per-second (documents read or written) so a large backlog does
+ * not compete with live traffic for Elasticsearch and the connection pool. Only one run at a time.
+ *
+ * Metrics: vsl.search.reconcile.documents counter (tagged result = resynced / failed / orphan).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DictionaryReconciler {
+
+    private final DictionaryRepository dictionaryRepository;
+    private final DictionaryIndexer dictionaryIndexer;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${vsl.search.reconcile.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Time (ms) between the end of one run and the start of the next (0 = only on demand)
+     */
+    @Value("${vsl.search.reconcile.interval:3600000}")
+    private long intervalMs;
+
+    @Value("${vsl.search.reconcile.initial-delay:60000}")
+    private long initialDelayMs;
+
+    @Value("${vsl.search.reconcile.page-size:500}")
+    private int pageSize;
+
+    @Value("${vsl.search.reconcile.max-docs-per-second:200}")
+    private int maxDocsPerSecond;
+
+    @Value("${vsl.search.reconcile.orphans:true}")
+    private boolean orphansEnabled;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter resynced;
+    private Counter failed;
+    private Counter orphans;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void init() {
+        resynced = documents("resynced");
+        failed = documents("failed");
+        orphans = documents("orphan");
+    }
+
+    private Counter documents(String result) {
+        return Counter.builder("vsl.search.reconcile.documents")
+                .tag("result", result)
+                .description("Dictionary documents repaired by the PostgreSQL / Elasticsearch reconciler")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled || intervalMs <= 0) {
+            log.info("Scheduled dictionary reconciliation is disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("dictionary-reconciler").factory());
+        scheduler.scheduleWithFixedDelay(this::scheduledRun, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void scheduledRun() {
+        try {
+            reconcile();
+        } catch (IllegalStateException e) {
+            log.debug("Skipping scheduled dictionary reconciliation: {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("Dictionary reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Run both passes now
+     *
+     * @return What was repaired
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public ReconcileReportDTO reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Dictionary reconciliation is already running");
+        }
+        try {
+            var report = new ReconcileReportDTO();
+            var throttle = new Throttle(maxDocsPerSecond);
+            var started = System.nanoTime();
+
+            resyncUnsynced(report, throttle);
+            if (orphansEnabled) {
+                removeOrphans(report, throttle);
+            }
+
+            report.setDurationMs((System.nanoTime() - started) / 1_000_000);
+            log.info("Dictionary reconciliation: {} re-synced, {} failed, {} orphans removed ({} index documents checked) in {} ms",
+                    report.getResynced(), report.getFailed(), report.getOrphansRemoved(),
+                    report.getIndexedChecked(), report.getDurationMs());
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dictionary reconciliation was interrupted", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void resyncUnsynced(ReconcileReportDTO report, Throttle throttle) throws InterruptedException {
+        var afterId = 0L;
+        while (true) {
+            var ids = dictionaryRepository.findUnsyncedIdsAfter(afterId, PageRequest.ofSize(pageSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            var failedIds = dictionaryIndexer.sync(ids);
+            report.setResynced(report.getResynced() + ids.size() - failedIds.size());
+            report.setFailed(report.getFailed() + failedIds.size());
+            resynced.increment(ids.size() - failedIds.size());
+            failed.increment(failedIds.size());
+
+            afterId = ids.get(ids.size() - 1);
+            throttle.acquire(ids.size());
+            if (ids.size() < pageSize) {
+                return;
+            }
+        }
+    }
+
+    private void removeOrphans(ReconcileReportDTO report, Throttle throttle) throws InterruptedException {
+        Long afterId = null;
+        while (true) {
+            var ids = indexedIdsAfter(afterId);
+            if (ids.isEmpty()) {
+                return;
+            }
+            report.setIndexedChecked(report.getIndexedChecked() + ids.size());
+
+            var missing = new HashSet<>(ids);
+            dictionaryRepository.findExistingIds(ids).forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                log.info("Removing {} orphaned dictionary documents from Elasticsearch", missing.size());
+                dictionaryIndexer.sync(missing);
+                report.setOrphansRemoved(report.getOrphansRemoved() + missing.size());
+                orphans.increment(missing.size());
+            }
+
+            var lastId = ids.get(ids.size() - 1);
+            if (afterId != null && lastId <= afterId) {
+                log.warn("Dictionary index is not sorted by id, stopping orphan detection at {}", afterId);
+                return;
+            }
+            afterId = lastId;
+            throttle.acquire(ids.size());
+            if (ids.size() < pageSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Next page of ids in the dictionary index, in id order, after {@code afterId} (null = first page)
+     */
+    List<Long> indexedIdsAfter(Long afterId) {
+        var query = NativeQuery.builder()
+                .withQuery(q -> q.matchAll(m -> m))
+                .withSort(Sort.by("id"))
+                .withSourceFilter(new FetchSourceFilter(new String[]{"id"}, null))
+                .withPageable(PageRequest.ofSize(pageSize))
+                .withTrackTotalHits(false);
+        if (afterId != null) {
+            query.withSearchAfter(List.of(afterId));
+        }
+        return elasticsearchOperations.search(query.build(), DictionaryDocument.class).stream()
+                .map(SearchHit::getContent)
+                .map(DictionaryDocument::getId)
+                .toList();
+    }
+
+    /**
+     * Paces a run to a maximum number of documents per second by sleeping whenever it gets ahead
+     */
+    static final class Throttle {
+
+        private final int maxPerSecond;
+        private final long startedNanos = System.nanoTime();
+        private long permits;
+
+        Throttle(int maxPerSecond) {
+            this.maxPerSecond = maxPerSecond;
+        }
+
+        void acquire(int documents) throws InterruptedException {
+            if (maxPerSecond <= 0) {
+                return;
+            }
+            permits += documents;
+            var dueNanos = permits * 1_000_000_000L / maxPerSecond;
+            var aheadNanos = dueNanos - (System.nanoTime() - startedNanos);
+            if (aheadNanos > 0) {
+                Thread.sleep(Duration.ofNanos(aheadNanos));
+            }
+        }
+    }
+}
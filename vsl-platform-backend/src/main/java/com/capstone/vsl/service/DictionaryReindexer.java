@@ -0,0 +1,424 @@
+package com.capstone.vsl.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.capstone.vsl.document.DictionaryDocument;
+import com.capstone.vsl.dto.ReindexReportDTO;
+import com.capstone.vsl.dto.ReindexStatus;
+import com.capstone.vsl.repository.DictionaryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexInformation;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dictionary Reindexer
+ * Rebuilds the dictionary index from PostgreSQL without search downtime, e.g. after a change to
+ * es-settings.json or the DictionaryDocument mapping
+ *
+ * "dictionary" is a read/write alias over a versioned index (dictionary_yyyyMMddHHmmss). A reindex:
+ * 1. Creates a new versioned index with the current settings and mapping (refresh disabled while loading)
+ * 2. Turns on shadow writes in DictionaryIndexer, so changes relayed meanwhile reach the new index too
+ * 3. Streams all rows with keyset pagination (page-size rows per query, no long-running transaction) and
+ *    writes them with bulk requests, up to concurrency requests in flight while the next page is read.
+ *    Documents are created, never overwritten, so a newer shadow write always wins over the copy.
+ * 4. Re-enables refresh, then moves the alias to the new index in one atomic _aliases request
+ *    (a pre-alias concrete "dictionary" index is removed in that same request)
+ * 5. Re-syncs rows updated since the start (changes relayed by other instances during the build)
+ *    and deletes the previous index unless keep-previous is set
+ *
+ * start() runs the reindex on a background virtual thread and returns at once; status() reports the
+ * progress (documents copied, docs/sec) and then the result of the last reindex.
+ * Searches keep hitting the old index until the swap. If the build fails the new index is deleted and
+ * the alias is left untouched. Deletions relayed by other instances during the build are cleaned up
+ * by the reconciler's orphan pass.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DictionaryReindexer {
+
+    private static final DateTimeFormatter VERSION = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    /**
+     * Changes are re-synced from this long before the start, to allow for clock differences between instances
+     */
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(1);
+
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private final DictionaryRepository dictionaryRepository;
+    private final DictionaryIndexer dictionaryIndexer;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+
+    @Value("${vsl.search.reindex.page-size:1000}")
+    private int pageSize;
+
+    /**
+     * Bulk requests in flight at a time
+     */
+    @Value("${vsl.search.reindex.concurrency:2}")
+    private int concurrency;
+
+    @Value("${vsl.search.reindex.keep-previous:false}")
+    private boolean keepPrevious;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<Run> lastRun = new AtomicReference<>();
+    private volatile Thread worker;
+
+    /**
+     * Start a reindex in the background; follow it with status()
+     *
+     * @return The just started reindex (RUNNING)
+     * @throws IllegalStateException if a reindex is already in progress
+     */
+    public ReindexReportDTO start() {
+        var run = begin();
+        worker = Thread.ofVirtual().name("dictionary-reindexer").start(() -> execute(run));
+        return run.report();
+    }
+
+    /**
+     * Progress of the running reindex, or the result of the last one since startup
+     */
+    public Optional<ReindexReportDTO> status() {
+        return Optional.ofNullable(lastRun.get()).map(Run::report);
+    }
+
+    /**
+     * Interrupt a running reindex on shutdown; its unfinished index is deleted
+     */
+    @PreDestroy
+    void stop() {
+        var thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Reindex on the calling thread
+     *
+     * @return The finished reindex (SUCCEEDED or FAILED)
+     * @throws IllegalStateException if a reindex is already in progress
+     */
+    ReindexReportDTO reindex() {
+        var run = begin();
+        execute(run);
+        return run.report();
+    }
+
+    private Run begin() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Dictionary reindex is already running");
+        }
+        try {
+            var alias = elasticsearchOperations.getIndexCoordinatesFor(DictionaryDocument.class).getIndexName();
+            var run = new Run(alias, alias + "_" + LocalDateTime.now(ZoneOffset.UTC).format(VERSION),
+                    dictionaryRepository.count());
+            lastRun.set(run);
+            return run;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void execute(Run run) {
+        try {
+            build(run);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Dictionary reindex into {} was interrupted", run.index);
+            run.failed("Dictionary reindex was interrupted");
+        } catch (Exception e) {
+            log.error("Dictionary reindex into {} failed: {}", run.index, e.getMessage(), e);
+            run.failed(e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void build(Run run) throws InterruptedException {
+        var alias = run.alias;
+        var index = run.index;
+        var since = LocalDateTime.now().minus(CATCH_UP_MARGIN);
+        var swapped = false;
+        try {
+            createIndex(index);
+            dictionaryIndexer.startShadow(index);
+            log.info("Reindexing dictionary into {} ({} rows)", index, run.expectedDocuments);
+
+            copyAll(run);
+            putRefreshInterval(index, "1s");
+            elasticsearchOperations.indexOps(IndexCoordinates.of(index)).refresh();
+
+            var previous = currentIndices(alias);
+            elasticsearchOperations.indexOps(IndexCoordinates.of(index)).alias(swapActions(alias, previous, index));
+            swapped = true;
+            dictionaryIndexer.stopShadow();
+            log.info("Alias {} now points to {} (was {})", alias, index, previous);
+
+            var caughtUp = catchUp(since);
+            if (!keepPrevious) {
+                previous.stream()
+                        .filter(name -> !name.equals(alias))
+                        .forEach(name -> elasticsearchOperations.indexOps(IndexCoordinates.of(name)).delete());
+            }
+
+            run.succeeded(previous, caughtUp);
+            var report = run.report();
+            log.info("Dictionary reindex into {} finished: {} documents in {} ms ({} docs/s), {} re-synced after the swap",
+                    index, report.getDocuments(), report.getDurationMs(), report.getDocsPerSecond(), caughtUp);
+        } finally {
+            dictionaryIndexer.stopShadow();
+            if (!swapped) {
+                dropQuietly(index);
+            }
+        }
+    }
+
+    private void createIndex(String index) {
+        var settings = elasticsearchOperations.indexOps(DictionaryDocument.class).createSettings();
+        settings.put("index.refresh_interval", "-1");
+        var mapping = elasticsearchOperations.indexOps(DictionaryDocument.class).createMapping();
+        elasticsearchOperations.indexOps(IndexCoordinates.of(index)).create(settings, mapping);
+    }
+
+    /**
+     * Stream every row into the new index: pages are read on this thread while earlier pages are written
+     * (run.documents counts the rows handed to the writers)
+     */
+    private void copyAll(Run run) throws InterruptedException {
+        var index = run.index;
+        var coordinates = IndexCoordinates.of(index);
+        var inFlight = new Semaphore(concurrency);
+        var rejected = new ConcurrentHashMap<String, BulkFailureException.FailureDetails>();
+        var errors = new ConcurrentLinkedQueue<RuntimeException>();
+        var nextProgress = System.nanoTime() + PROGRESS_INTERVAL.toNanos();
+
+        try (var writers = Executors.newVirtualThreadPerTaskExecutor()) {
+            var afterId = 0L;
+            while (errors.isEmpty()) {
+                var rows = dictionaryRepository.findPageAfter(afterId, PageRequest.ofSize(pageSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                var queries = rows.stream()
+                        .map(row -> new IndexQueryBuilder()
+                                .withId(row.getId().toString())
+                                .withObject(DictionaryIndexer.toDocument(row))
+                                .withOpType(IndexQuery.OpType.CREATE)
+                                .build())
+                        .toList();
+                inFlight.acquire();
+                writers.submit(() -> {
+                    try {
+                        writePage(queries, coordinates, rejected);
+                    } catch (RuntimeException e) {
+                        errors.add(e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+
+                run.documents.addAndGet(rows.size());
+                afterId = rows.get(rows.size() - 1).getId();
+                if (System.nanoTime() > nextProgress) {
+                    var progress = run.report();
+                    log.info("Reindexing into {}: {} of {} documents ({} docs/s)", index, progress.getDocuments(),
+                            run.expectedDocuments, progress.getDocsPerSecond());
+                    nextProgress = System.nanoTime() + PROGRESS_INTERVAL.toNanos();
+                }
+                if (rows.size() < pageSize) {
+                    break;
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw errors.peek();
+        }
+        if (!rejected.isEmpty()) {
+            throw new BulkFailureException("Reindex aborted: " + rejected.size() + " documents were rejected by " + index, rejected);
+        }
+    }
+
+    private void writePage(List<IndexQuery> queries, IndexCoordinates index,
+                           Map<String, BulkFailureException.FailureDetails> rejected) {
+        try {
+            elasticsearchOperations.bulkIndex(queries, index);
+        } catch (BulkFailureException e) {
+            // 409: a shadow write created the document first, with newer data
+            e.getFailedDocuments().forEach((id, details) -> {
+                if (details.status() == null || details.status() != 409) {
+                    rejected.put(id, details);
+                }
+            });
+        }
+    }
+
+    /**
+     * Re-sync rows changed since the reindex started
+     *
+     * @return Number of rows re-synced
+     */
+    private long catchUp(LocalDateTime since) {
+        var ids = dictionaryRepository.findIdsUpdatedSince(since);
+        for (int from = 0; from < ids.size(); from += pageSize) {
+            dictionaryIndexer.sync(ids.subList(from, Math.min(ids.size(), from + pageSize)));
+        }
+        return ids.size();
+    }
+
+    /**
+     * Indices the alias points to, or the alias name itself if it is still a concrete index
+     */
+    private List<String> currentIndices(String alias) {
+        var ops = elasticsearchOperations.indexOps(IndexCoordinates.of(alias));
+        if (!ops.exists()) {
+            return List.of();
+        }
+        return ops.getInformation(IndexCoordinates.of(alias)).stream()
+                .map(IndexInformation::getName)
+                .toList();
+    }
+
+    /**
+     * One atomic request: detach the alias from the current indices (dropping a concrete index that
+     * has the alias name) and attach it to the new index as its write index
+     */
+    static AliasActions swapActions(String alias, List<String> current, String index) {
+        var actions = new AliasActions();
+        for (var name : current) {
+            if (name.equals(alias)) {
+                actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder()
+                        .withIndices(name)
+                        .build()));
+            } else {
+                actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                        .withIndices(name)
+                        .withAliases(alias)
+                        .build()));
+            }
+        }
+        actions.add(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(index)
+                .withAliases(alias)
+                .withIsWriteIndex(true)
+                .build()));
+        return actions;
+    }
+
+    void putRefreshInterval(String index, String interval) {
+        try {
+            elasticsearchClient.indices().putSettings(request -> request
+                    .index(index)
+                    .settings(settings -> settings.refreshInterval(time -> time.time(interval))));
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to update settings of " + index, e);
+        }
+    }
+
+    private void dropQuietly(String index) {
+        try {
+            elasticsearchOperations.indexOps(IndexCoordinates.of(index)).delete();
+        } catch (Exception e) {
+            log.warn("Failed to delete unfinished index {}: {}", index, e.getMessage());
+        }
+    }
+
+    private static double docsPerSecond(long documents, long durationMs) {
+        return durationMs == 0 ? documents : Math.round(documents * 10_000.0 / durationMs) / 10.0;
+    }
+
+    /**
+     * State of one reindex, read by status() while the worker updates it
+     */
+    private static final class Run {
+
+        private final String alias;
+        private final String index;
+        private final long expectedDocuments;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong documents = new AtomicLong();
+        private volatile ReindexStatus status = ReindexStatus.RUNNING;
+        private volatile List<String> previousIndices;
+        private volatile long caughtUp;
+        private volatile String error;
+        private volatile long durationMs = -1;
+        private volatile LocalDateTime completedAt;
+
+        private Run(String alias, String index, long expectedDocuments) {
+            this.alias = alias;
+            this.index = index;
+            this.expectedDocuments = expectedDocuments;
+        }
+
+        void succeeded(List<String> previous, long caughtUp) {
+            this.previousIndices = previous;
+            this.caughtUp = caughtUp;
+            complete(ReindexStatus.SUCCEEDED);
+        }
+
+        void failed(String error) {
+            this.error = error;
+            complete(ReindexStatus.FAILED);
+        }
+
+        private void complete(ReindexStatus result) {
+            durationMs = (System.nanoTime() - startedNanos) / 1_000_000;
+            completedAt = LocalDateTime.now();
+            status = result;
+        }
+
+        ReindexReportDTO report() {
+            var finished = status != ReindexStatus.RUNNING;
+            var elapsedMs = finished ? durationMs : (System.nanoTime() - startedNanos) / 1_000_000;
+            var copied = documents.get();
+            return ReindexReportDTO.builder()
+                    .status(status)
+                    .index(index)
+                    .previousIndices(previousIndices)
+                    .expectedDocuments(expectedDocuments)
+                    .documents(copied)
+                    .caughtUp(caughtUp)
+                    .durationMs(elapsedMs)
+                    .docsPerSecond(docsPerSecond(copied, elapsedMs))
+                    .error(error)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.capstone.vsl.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last result of a dictionary search page (opaque to clients)
+ * - Elasticsearch: score and id of the last hit (search_after on _score desc, id asc)
+ * - PostgreSQL: id of the last row (keyset on id)
+ * A cursor only continues the engine that produced it.
+ *
+ * @param engine "es" or "pg"
+ * @param score  Score of the last hit (Elasticsearch only)
+ * @param id     Id of the last result
+ */
+record DictionarySearchCursor(String engine, Float score, long id) {
+
+    static final String ELASTICSEARCH = "es";
+    static final String POSTGRESQL = "pg";
+
+    static DictionarySearchCursor elasticsearch(float score, long id) {
+        return new DictionarySearchCursor(ELASTICSEARCH, score, id);
+    }
+
+    static DictionarySearchCursor postgresql(long id) {
+        return new DictionarySearchCursor(POSTGRESQL, null, id);
+    }
+
+    boolean isElasticsearch() {
+        return ELASTICSEARCH.equals(engine);
+    }
+
+    String encode() {
+        var value = isElasticsearch() ? engine + ":" + score + ":" + id : engine + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by encode()
+     */
+    static DictionarySearchCursor decode(String cursor) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 3 && parts[0].equals(ELASTICSEARCH)) {
+                return elasticsearch(Float.parseFloat(parts[1]), Long.parseLong(parts[2]));
+            }
+            if (parts.length == 2 && parts[0].equals(POSTGRESQL)) {
+                return postgresql(Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed Base64 or number: reported below
+        }
+        throw new IllegalArgumentException("Invalid search cursor");
+    }
+}
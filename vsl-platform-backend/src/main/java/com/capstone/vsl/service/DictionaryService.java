@@ -1,13 +1,21 @@
 package com.capstone.vsl.service;
 
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
 import com.capstone.vsl.document.DictionaryDocument;
 import com.capstone.vsl.dto.DictionaryDTO;
+import com.capstone.vsl.dto.DictionarySearchPageDTO;
 import com.capstone.vsl.entity.Dictionary;
 import com.capstone.vsl.repository.DictionaryRepository;
-import com.capstone.vsl.repository.DictionarySearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +30,8 @@ import java.util.stream.Collectors;
  * 
  * Dual-Write Strategy:
  * 1. Write to PostgreSQL first (transactional)
- * 2. Sync to Elasticsearch asynchronously (non-blocking)
- * 3. Mark sync status in PostgreSQL
+ * 2. Record the change in the outbox table in the same transaction (DictionaryOutboxRelay)
+ * 3. After commit the relay replicates it to Elasticsearch in batches and marks the sync status in PostgreSQL
  */
 @Service
 @RequiredArgsConstructor
@@ -31,52 +39,190 @@ import java.util.stream.Collectors;
 public class DictionaryService {
 
     private final DictionaryRepository dictionaryRepository;
-    private final DictionarySearchRepository dictionarySearchRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final DictionaryOutboxRelay dictionaryOutboxRelay;
 
     /**
-     * Search dictionary entries
-     * Strategy: Try Elasticsearch first, fallback to PostgreSQL if ES is down
+     * Page size used when the client does not ask for one
+     */
+    @Value("${vsl.search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${vsl.search.max-page-size:50}")
+    private int maxPageSize;
+
+    /**
+     * Deepest result reachable with page/size (page * size + size); beyond it only cursors work
+     */
+    @Value("${vsl.search.max-result-window:1000}")
+    private int maxResultWindow;
+
+    /**
+     * Total hits are counted exactly up to this number, then reported as "at least"
+     */
+    @Value("${vsl.search.total-hits-limit:10000}")
+    private int totalHitsLimit;
+
+    @Value("${vsl.search.boost.word:3}")
+    private float wordBoost;
+
+    @Value("${vsl.search.boost.prefix:2}")
+    private float prefixBoost;
+
+    @Value("${vsl.search.boost.definition:1}")
+    private float definitionBoost;
+
+    /**
+     * Extra boost when the query is the word itself (or a phrase of it)
+     */
+    @Value("${vsl.search.boost.exact:6}")
+    private float exactBoost;
+
+    @Value("${vsl.search.fuzziness:AUTO}")
+    private String fuzziness;
+
+    /**
+     * Search dictionary entries, one page at a time
+     * Strategy: Try Elasticsearch first, fallback to PostgreSQL if ES is down or has no match at all
+     * - Elasticsearch: entries by relevance, each with its score (see rankedQuery)
+     * - PostgreSQL: ILIKE matches in id order
      *
-     * @param query Search query string
-     * @return List of matching dictionary entries
+     * Pages are addressed either by page/size (up to max-result-window results deep) or by the
+     * cursor of the previous page (search_after / keyset on id, any depth). A cursor continues on the
+     * engine that produced it.
+     *
+     * @param query  Search query string
+     * @param page   Page index (0-based), ignored when a cursor is given
+     * @param size   Page size (0 or less = default-page-size, at most max-page-size)
+     * @param cursor nextCursor of the previous page, or null
+     * @return One page of matching dictionary entries with the total hit count
+     * @throws IllegalArgumentException if the page is too deep or the cursor is invalid or expired
      */
     @Transactional(readOnly = true)
-    public List<DictionaryDTO> search(String query) {
+    public DictionarySearchPageDTO search(String query, int page, int size, String cursor) {
+        var pageIndex = Math.max(page, 0);
+        var pageSize = size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        var after = cursor == null || cursor.isBlank() ? null : DictionarySearchCursor.decode(cursor);
+        if (after == null && (long) (pageIndex + 1) * pageSize > maxResultWindow) {
+            throw new IllegalArgumentException("Only the first " + maxResultWindow
+                    + " results can be paged by number, continue with nextCursor");
+        }
         if (query == null || query.trim().isEmpty()) {
-            return List.of();
+            return DictionarySearchPageDTO.builder()
+                    .results(List.of())
+                    .page(pageIndex)
+                    .size(pageSize)
+                    .totalHitsExact(true)
+                    .build();
         }
+        var text = query.trim();
 
         // Try Elasticsearch first for fuzzy matching
-        try {
-            log.debug("Searching Elasticsearch for query: {}", query);
-            var esResults = dictionarySearchRepository
-                    .findByWordContainingIgnoreCaseOrDefinitionContainingIgnoreCase(query, query);
-            
-            if (!esResults.isEmpty()) {
-                log.debug("Found {} results from Elasticsearch", esResults.size());
-                return esResults.stream()
-                        .map(this::documentToDTO)
-                        .collect(Collectors.toList());
+        if (after == null || after.isElasticsearch()) {
+            try {
+                log.debug("Searching Elasticsearch for query: {}", text);
+                var esResults = elasticsearchOperations.search(rankedQuery(text, pageIndex, pageSize, after),
+                        DictionaryDocument.class);
+
+                // Only an Elasticsearch miss falls back; a page past its last hit is empty, not PostgreSQL's page
+                if (esResults.getTotalHits() > 0 || after != null) {
+                    log.debug("Found {} results from Elasticsearch", esResults.getTotalHits());
+                    return elasticsearchPage(esResults, pageIndex, pageSize);
+                }
+            } catch (Exception e) {
+                if (after != null) {
+                    log.warn("Elasticsearch search failed while paging with a cursor: {}", e.getMessage());
+                    throw new IllegalArgumentException("Search cursor has expired, please search again");
+                }
+                log.warn("Elasticsearch search failed, falling back to PostgreSQL: {}", e.getMessage());
             }
-        } catch (Exception e) {
-            log.warn("Elasticsearch search failed, falling back to PostgreSQL: {}", e.getMessage());
         }
 
         // Fallback to PostgreSQL ILIKE search
-        log.debug("Falling back to PostgreSQL search for query: {}", query);
-        var pgResults = dictionaryRepository.searchByQuery(query.trim());
-        log.debug("Found {} results from PostgreSQL", pgResults.size());
-        
-        return pgResults.stream()
-                .map(this::entityToDTO)
+        log.debug("Falling back to PostgreSQL search for query: {}", text);
+        var pgResults = after != null
+                ? dictionaryRepository.searchByQueryAfter(text, after.id(), PageRequest.ofSize(pageSize))
+                : dictionaryRepository.searchByQuery(text, PageRequest.of(pageIndex, pageSize));
+        var total = dictionaryRepository.countByQuery(text, totalHitsLimit);
+        log.debug("Found {} results from PostgreSQL", total);
+
+        return DictionarySearchPageDTO.builder()
+                .results(pgResults.stream().map(this::entityToDTO).collect(Collectors.toList()))
+                .page(pageIndex)
+                .size(pageSize)
+                .totalHits(total)
+                .totalHitsExact(total < totalHitsLimit)
+                .nextCursor(pgResults.size() == pageSize
+                        ? DictionarySearchCursor.postgresql(pgResults.get(pgResults.size() - 1).getId()).encode()
+                        : null)
+                .build();
+    }
+
+    private DictionarySearchPageDTO elasticsearchPage(SearchHits<DictionaryDocument> hits, int pageIndex, int pageSize) {
+        var results = hits.stream()
+                .map(hit -> {
+                    var dto = documentToDTO(hit.getContent());
+                    dto.setScore(hit.getScore());
+                    return dto;
+                })
                 .collect(Collectors.toList());
+        String nextCursor = null;
+        if (results.size() == pageSize) {
+            var last = hits.getSearchHit(results.size() - 1);
+            nextCursor = DictionarySearchCursor.elasticsearch(last.getScore(), Long.parseLong(last.getId())).encode();
+        }
+        return DictionarySearchPageDTO.builder()
+                .results(results)
+                .page(pageIndex)
+                .size(pageSize)
+                .totalHits(hits.getTotalHits())
+                .totalHitsExact(hits.getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Relevance-ranked full-text query for one page (by number, or after a cursor)
+     * - multi_match over word and definition (word boosted) with fuzziness, so typos still match
+     * - word.prefix (edge n-grams) for search-as-you-type on partial words, without fuzziness
+     * - match_phrase on word to put the exact entry first
+     * Sorted by score, then id, so search_after has a total order; hits are counted up to total-hits-limit.
+     */
+    NativeQuery rankedQuery(String text, int page, int size, DictionarySearchCursor after) {
+        var query = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .should(s -> s.multiMatch(m -> m
+                                .query(text)
+                                .fields("word^" + wordBoost, "definition^" + definitionBoost)
+                                .fuzziness(fuzziness)
+                                .prefixLength(1)))
+                        .should(s -> s.match(m -> m
+                                .field("word.prefix")
+                                .query(text)
+                                .operator(Operator.And)
+                                .boost(prefixBoost)))
+                        .should(s -> s.matchPhrase(m -> m
+                                .field("word")
+                                .query(text)
+                                .boost(exactBoost)))
+                        .minimumShouldMatch("1")))
+                .withSort(SortOptions.of(s -> s.score(o -> o.order(SortOrder.Desc))),
+                        SortOptions.of(s -> s.field(f -> f.field("id").order(SortOrder.Asc))))
+                .withTrackTotalHitsUpTo(totalHitsLimit);
+        if (after != null) {
+            query.withPageable(PageRequest.ofSize(size))
+                    .withSearchAfter(List.of(after.score(), after.id()));
+        } else {
+            query.withPageable(PageRequest.of(page, size));
+        }
+        return query.build();
     }
 
     /**
      * Create a new dictionary word
      * Dual-Write Pattern:
      * 1. Save to PostgreSQL (transactional, source of truth)
-     * 2. Sync to Elasticsearch asynchronously (non-blocking)
+     * 2. Record the change in the outbox (same transaction, replicated to Elasticsearch after commit)
      *
      * @param dto Dictionary data transfer object
      * @return Created dictionary DTO
@@ -99,8 +245,8 @@ public class DictionaryService {
         dictionary = dictionaryRepository.save(dictionary);
         log.info("Saved dictionary word to PostgreSQL: {}", dictionary.getWord());
 
-        // 2. Sync to Elasticsearch asynchronously (Secondary - Non-blocking)
-        syncToElasticsearch(dictionary);
+        // 2. Outbox entry for Elasticsearch (Secondary - replicated after commit)
+        dictionaryOutboxRelay.record(dictionary.getId());
 
         return entityToDTO(dictionary);
     }
@@ -128,7 +274,7 @@ public class DictionaryService {
     /**
      * Update an existing dictionary word
      * 1. Update in PostgreSQL
-     * 2. Sync updated document to Elasticsearch
+     * 2. Record the change in the outbox for Elasticsearch
      *
      * @param id  Dictionary ID
      * @param dto New dictionary data
@@ -147,14 +293,14 @@ public class DictionaryService {
         dictionary = dictionaryRepository.save(dictionary);
         log.info("Updated dictionary word in PostgreSQL: {} (id={})", dictionary.getWord(), dictionary.getId());
 
-        syncToElasticsearch(dictionary);
+        dictionaryOutboxRelay.record(dictionary.getId());
         return entityToDTO(dictionary);
     }
 
     /**
      * Delete a dictionary word
-     * 1. Delete from Elasticsearch
-     * 2. Delete from PostgreSQL
+     * 1. Delete from PostgreSQL
+     * 2. Record the change in the outbox (the missing row removes the Elasticsearch document)
      *
      * @param id Dictionary ID
      */
@@ -163,47 +309,10 @@ public class DictionaryService {
         var dictionary = dictionaryRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Dictionary word not found: " + id));
 
-        try {
-            dictionarySearchRepository.deleteById(dictionary.getId());
-            log.info("Deleted dictionary word from Elasticsearch: id={}", dictionary.getId());
-        } catch (Exception e) {
-            log.warn("Failed to delete dictionary word {} from Elasticsearch: {}", dictionary.getId(), e.getMessage());
-        }
-
         dictionaryRepository.delete(dictionary);
         log.info("Deleted dictionary word from PostgreSQL: id={}", dictionary.getId());
-    }
-
-    /**
-     * Asynchronously sync dictionary entry to Elasticsearch
-     * This method runs in a separate thread pool and does not block the main transaction
-     *
-     * @param dictionary Dictionary entity to sync
-     */
-    @Async("elasticsearchSyncExecutor")
-    public void syncToElasticsearch(Dictionary dictionary) {
-        try {
-            var document = DictionaryDocument.builder()
-                    .id(dictionary.getId())
-                    .word(dictionary.getWord())
-                    .definition(dictionary.getDefinition())
-                    .videoUrl(dictionary.getVideoUrl())
-                    .elasticSynced(true)
-                    .build();
-
-            dictionarySearchRepository.save(document);
-            log.info("Synced dictionary word to Elasticsearch: {}", dictionary.getWord());
 
-            // Update sync status in PostgreSQL
-            dictionary.setElasticSynced(true);
-            dictionaryRepository.save(dictionary);
-
-        } catch (Exception e) {
-            log.error("Failed to sync dictionary to Elasticsearch (id: {}): {}", 
-                    dictionary.getId(), e.getMessage());
-            // Note: We don't throw exception here to avoid breaking the main flow
-            // The sync can be retried later if needed
-        }
+        dictionaryOutboxRelay.record(dictionary.getId());
     }
 
     /**
@@ -0,0 +1,294 @@
+package com.capstone.vsl.service;
+
+import com.capstone.vsl.dto.GestureJobDTO;
+import com.capstone.vsl.dto.GestureJobStatus;
+import com.capstone.vsl.integration.PythonIntegrationService;
+import com.capstone.vsl.integration.exception.PythonServiceException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Gesture Job Service
+ * Asynchronous job mode for /api/gesture/process:
+ * 1. submit() stores the upload in a job-owned temp file and returns a PENDING job immediately
+ * 2. A bounded worker pool (gestureJobExecutor) runs the video through PythonIntegrationService
+ * 3. Clients poll getJob(); finished jobs expire from the in-memory store vsl.jobs.result-ttl after completion
+ * 4. Optionally, the finished job is POSTed to a callback URL (must match vsl.jobs.callback.allowed-prefixes
+ *    by scheme, host and port, and start with the prefix path)
+ *
+ * Uploads of jobs that never started are deleted on shutdown (the worker pool drops its queue).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GestureJobService {
+
+    private final PythonIntegrationService pythonIntegrationService;
+
+    @Qualifier("gestureJobExecutor")
+    private final Executor gestureJobExecutor;
+
+    private final RestClient.Builder restClientBuilder;
+
+    /**
+     * Time (ms) a job stays retrievable after it finished; queued and running jobs never expire
+     */
+    @Value("${vsl.jobs.result-ttl:600000}")
+    private long resultTtlMs;
+
+    @Value("${vsl.jobs.max-jobs:10000}")
+    private long maxJobs;
+
+    /**
+     * Comma-separated URL prefixes callbacks may target; empty disables callbacks.
+     * A callback matches a prefix when scheme, host and port are equal and its path starts with the prefix path
+     */
+    @Value("${vsl.jobs.callback.allowed-prefixes:}")
+    private String callbackAllowedPrefixes;
+
+    @Value("${vsl.jobs.callback.timeout:5000}")
+    private int callbackTimeoutMs;
+
+    private Cache<String, GestureJobDTO> jobs;
+
+    /**
+     * Uploads of queued jobs; a worker claims (removes) its upload before processing it
+     */
+    private final Map<String, StoredVideoFile> queuedUploads = new ConcurrentHashMap<>();
+    private List<URI> allowedCallbackPrefixes;
+    private RestClient callbackClient;
+
+    @PostConstruct
+    void init() {
+        jobs = Caffeine.newBuilder()
+                .maximumSize(maxJobs)
+                .expireAfter(new FinishedJobExpiry(Duration.ofMillis(resultTtlMs).toNanos()))
+                .build();
+        allowedCallbackPrefixes = Arrays.stream(callbackAllowedPrefixes.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .map(URI::create)
+                .toList();
+
+        var requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(callbackTimeoutMs))
+                .build());
+        requestFactory.setReadTimeout(Duration.ofMillis(callbackTimeoutMs));
+        callbackClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    /**
+     * Queue a gesture video for processing
+     *
+     * @param videoFile   Uploaded video
+     * @param callbackUrl Optional URL to POST the finished job to
+     * @return The PENDING job
+     * @throws IllegalArgumentException if the file is missing or the callback URL is not allowed
+     * @throws PythonServiceException if the job queue is full or the upload cannot be stored
+     */
+    public GestureJobDTO submit(MultipartFile videoFile, String callbackUrl) {
+        if (videoFile == null || videoFile.isEmpty()) {
+            throw new IllegalArgumentException("Video file is required");
+        }
+        if (callbackUrl != null && !callbackUrl.isBlank() && !isAllowedCallback(callbackUrl)) {
+            throw new IllegalArgumentException("Callback URL is not allowed: " + callbackUrl);
+        }
+
+        StoredVideoFile storedFile;
+        try {
+            storedFile = StoredVideoFile.store(videoFile);
+        } catch (IOException e) {
+            throw new PythonServiceException("Failed to store uploaded video: " + e.getMessage(), e);
+        }
+
+        var job = GestureJobDTO.builder()
+                .jobId(UUID.randomUUID().toString())
+                .status(GestureJobStatus.PENDING)
+                .filename(videoFile.getOriginalFilename())
+                .createdAt(LocalDateTime.now())
+                .build();
+        jobs.put(job.getJobId(), job);
+        queuedUploads.put(job.getJobId(), storedFile);
+
+        try {
+            gestureJobExecutor.execute(() -> run(job.getJobId(), callbackUrl));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getJobId());
+            queuedUploads.remove(job.getJobId());
+            deleteQuietly(storedFile);
+            throw new PythonServiceException("Gesture job queue is full, please retry later", e);
+        }
+
+        log.info("Gesture job {} queued for video: {} ({} bytes)",
+                job.getJobId(), videoFile.getOriginalFilename(), videoFile.getSize());
+        return job;
+    }
+
+    /**
+     * Current state of a job, empty if it never existed or has expired
+     */
+    public Optional<GestureJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    /**
+     * Delete the uploads of jobs that have not started; their tasks are dropped with the worker pool
+     */
+    @PreDestroy
+    void deleteQueuedUploads() {
+        var deleted = 0;
+        for (var jobId : List.copyOf(queuedUploads.keySet())) {
+            var videoFile = queuedUploads.remove(jobId);
+            if (videoFile != null) {
+                deleteQuietly(videoFile);
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted uploads of {} gesture jobs that never ran", deleted);
+        }
+    }
+
+    private void run(String jobId, String callbackUrl) {
+        var videoFile = queuedUploads.remove(jobId);
+        if (videoFile == null) {
+            // Shutting down: the upload was already deleted
+            return;
+        }
+        update(jobId, job -> job.toBuilder().status(GestureJobStatus.RUNNING).build());
+
+        GestureJobDTO finished;
+        try {
+            var result = pythonIntegrationService.processGestureToText(videoFile);
+            finished = update(jobId, job -> job.toBuilder()
+                    .status(GestureJobStatus.SUCCEEDED)
+                    .result(result)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            log.info("Gesture job {} succeeded", jobId);
+        } catch (Exception e) {
+            log.error("Gesture job {} failed: {}", jobId, e.getMessage());
+            finished = update(jobId, job -> job.toBuilder()
+                    .status(GestureJobStatus.FAILED)
+                    .error(e.getMessage())
+                    .completedAt(LocalDateTime.now())
+                    .build());
+        } finally {
+            deleteQuietly(videoFile);
+        }
+
+        if (finished != null && callbackUrl != null && !callbackUrl.isBlank()) {
+            sendCallback(callbackUrl, finished);
+        }
+    }
+
+    private GestureJobDTO update(String jobId, UnaryOperator<GestureJobDTO> change) {
+        return jobs.asMap().computeIfPresent(jobId, (id, job) -> change.apply(job));
+    }
+
+    private void sendCallback(String callbackUrl, GestureJobDTO job) {
+        try {
+            callbackClient.post()
+                    .uri(callbackUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(job)
+                    .retrieve()
+                    .toBodilessEntity();
+            log.debug("Gesture job {} callback delivered to {}", job.getJobId(), callbackUrl);
+        } catch (Exception e) {
+            log.warn("Gesture job {} callback to {} failed: {}", job.getJobId(), callbackUrl, e.getMessage());
+        }
+    }
+
+    private boolean isAllowedCallback(String callbackUrl) {
+        URI callback;
+        try {
+            callback = new URI(callbackUrl);
+        } catch (URISyntaxException e) {
+            return false;
+        }
+        if (!callback.isAbsolute() || callback.getHost() == null || callback.getRawUserInfo() != null) {
+            return false;
+        }
+        return allowedCallbackPrefixes.stream().anyMatch(prefix -> matches(prefix, callback));
+    }
+
+    private static boolean matches(URI prefix, URI callback) {
+        return prefix.getScheme().equalsIgnoreCase(callback.getScheme())
+                && prefix.getHost() != null
+                && prefix.getHost().equalsIgnoreCase(callback.getHost())
+                && port(prefix) == port(callback)
+                && Objects.requireNonNullElse(callback.getRawPath(), "")
+                        .startsWith(Objects.requireNonNullElse(prefix.getRawPath(), ""));
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * Keeps PENDING and RUNNING jobs until they finish, then starts the result TTL
+     */
+    private record FinishedJobExpiry(long resultTtlNanos) implements Expiry<String, GestureJobDTO> {
+
+        @Override
+        public long expireAfterCreate(String jobId, GestureJobDTO job, long currentTime) {
+            return expiry(job);
+        }
+
+        @Override
+        public long expireAfterUpdate(String jobId, GestureJobDTO job, long currentTime, long currentDuration) {
+            return expiry(job);
+        }
+
+        @Override
+        public long expireAfterRead(String jobId, GestureJobDTO job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long expiry(GestureJobDTO job) {
+            var finished = job.getStatus() == GestureJobStatus.SUCCEEDED || job.getStatus() == GestureJobStatus.FAILED;
+            return finished ? resultTtlNanos : Long.MAX_VALUE;
+        }
+    }
+
+    private static void deleteQuietly(StoredVideoFile videoFile) {
+        try {
+            videoFile.delete();
+        } catch (IOException e) {
+            log.warn("Failed to delete job upload: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.capstone.vsl.service;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Uploaded video moved to a job-owned temp file
+ * The servlet multipart temp file is deleted when the upload request completes,
+ * so queued jobs keep their own copy until they have been processed.
+ */
+class StoredVideoFile implements MultipartFile {
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    StoredVideoFile(Path path, String originalFilename, String contentType, long size) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    /**
+     * Move the upload into a new temp file owned by the caller
+     */
+    static StoredVideoFile store(MultipartFile upload) throws IOException {
+        var path = Files.createTempFile("gesture-job-", ".upload");
+        try {
+            // transferTo(File) lets the servlet container move its spooled temp file instead of copying it
+            upload.transferTo(path.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new StoredVideoFile(path, upload.getOriginalFilename(), upload.getContentType(), upload.getSize());
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    /**
+     * File-backed resource, so the upload to Model 1 can read it through a FileChannel
+     */
+    @Override
+    public Resource getResource() {
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,201 @@
+package com.capstone.vsl.websocket;
+
+import com.capstone.vsl.integration.SentenceState;
+import com.capstone.vsl.integration.codec.PackedLandmarkCodec;
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Server-side state of one streaming recognition session
+ * - Buffers incoming frames in a flat coordinate array until a window is recognized
+ * - Keeps the sentence (SentenceState) so clients never re-upload accumulated context and only
+ *   its tentative trailing window is sent to the AI service
+ * - Runs the session's recognitions and resets one at a time, in the order they were submitted,
+ *   off the WebSocket message thread (each one sees the sentence left by the previous one)
+ *
+ * Thread-safe: frames arrive on the message thread while submitted tasks apply results.
+ */
+public class RecognitionSession {
+
+    private float[] coordinates = new float[0];
+    private int frameCount;
+    private int landmarksPerFrame;
+    private final SentenceState sentence;
+    private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+    private int pendingTasks;
+
+    public RecognitionSession(SentenceState sentence) {
+        this.sentence = sentence;
+    }
+
+    /**
+     * Append frames decoded from a packed binary message
+     * The current_text carried in the packed header is ignored; the session owns the text.
+     *
+     * @return Number of frames appended
+     */
+    public synchronized int appendFrames(PackedGestureInput input) {
+        requireLandmarkCount(input.landmarksPerFrame());
+        ensureCapacity(input.frameCount());
+        System.arraycopy(input.coordinates(), 0, coordinates, frameCount * frameStride(),
+                input.coordinates().length);
+        frameCount += input.frameCount();
+        return input.frameCount();
+    }
+
+    /**
+     * Append frames received as JSON
+     * Frames without landmarks or with a landmark count different from the session's are skipped,
+     * matching how the AI service ignores them.
+     *
+     * @return Number of frames appended
+     * @throws IllegalArgumentException if a frame or landmark is null (nothing is appended then)
+     */
+    public synchronized int appendFrames(List<HandFrameDTO> frames) {
+        for (var frame : frames) {
+            if (frame == null) {
+                throw new IllegalArgumentException("Frames cannot contain null");
+            }
+            if (frame.landmarks() != null && frame.landmarks().stream().anyMatch(Objects::isNull)) {
+                throw new IllegalArgumentException("Landmarks cannot contain null");
+            }
+        }
+
+        var appended = 0;
+        for (var frame : frames) {
+            var landmarks = frame.landmarks();
+            if (landmarks == null || landmarks.isEmpty()) {
+                continue;
+            }
+            if (landmarksPerFrame == 0) {
+                landmarksPerFrame = landmarks.size();
+            } else if (landmarks.size() != landmarksPerFrame) {
+                continue;
+            }
+
+            ensureCapacity(1);
+            var offset = frameCount * frameStride();
+            for (var landmark : landmarks) {
+                coordinates[offset++] = landmark.x();
+                coordinates[offset++] = landmark.y();
+                coordinates[offset++] = landmark.z();
+            }
+            frameCount++;
+            appended++;
+        }
+        return appended;
+    }
+
+    /**
+     * Take the buffered frames as the next recognition window and clear the buffer
+     * The window's current_text is attached when it is recognized, see {@link #window(PackedGestureInput)}.
+     *
+     * @return Buffered frames, or null if no frames are buffered
+     */
+    public synchronized PackedGestureInput drainFrames() {
+        if (frameCount == 0) {
+            return null;
+        }
+        var frames = new PackedGestureInput(frameCount, landmarksPerFrame,
+                Arrays.copyOf(coordinates, frameCount * frameStride()), "");
+        frameCount = 0;
+        return frames;
+    }
+
+    /**
+     * Drained frames with the sentence's tentative text as current_text
+     */
+    public synchronized PackedGestureInput window(PackedGestureInput frames) {
+        return new PackedGestureInput(frames.frameCount(), frames.landmarksPerFrame(), frames.coordinates(),
+                sentence.window());
+    }
+
+    /**
+     * Drop any buffered frames
+     */
+    public synchronized void clearFrames() {
+        frameCount = 0;
+    }
+
+    /**
+     * Replace the current text
+     */
+    public synchronized void resetText(String text) {
+        sentence.reset(text);
+    }
+
+    /**
+     * Apply the AI response for a window built by {@link #window(PackedGestureInput)}
+     *
+     * @return The full sentence
+     */
+    public synchronized String applyResult(AiResponseDTO response) {
+        return sentence.apply(response.rawChar(), response.finalSentence());
+    }
+
+    /**
+     * Run a task after all previously submitted tasks of this session have finished
+     * A task that throws does not stop the ones after it.
+     */
+    public synchronized void submit(Runnable task, Executor executor) {
+        pendingTasks++;
+        tail = tail.exceptionally(e -> null).thenRunAsync(() -> {
+            try {
+                task.run();
+            } finally {
+                taskDone();
+            }
+        }, executor);
+    }
+
+    private synchronized void taskDone() {
+        pendingTasks--;
+    }
+
+    /**
+     * Submitted tasks that have not finished yet
+     */
+    public synchronized int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public synchronized String getCurrentText() {
+        return sentence.text();
+    }
+
+    public synchronized int getBufferedFrames() {
+        return frameCount;
+    }
+
+    private void requireLandmarkCount(int count) {
+        if (landmarksPerFrame == 0) {
+            landmarksPerFrame = count;
+        } else if (landmarksPerFrame != count) {
+            throw new IllegalArgumentException(String.format(
+                    "Session expects %d landmarks per frame, got %d", landmarksPerFrame, count));
+        }
+    }
+
+    private void ensureCapacity(int additionalFrames) {
+        var required = frameCount + additionalFrames;
+        if (required > PackedLandmarkCodec.MAX_FRAMES) {
+            throw new IllegalArgumentException(
+                    "Too many buffered frames (max " + PackedLandmarkCodec.MAX_FRAMES + ")");
+        }
+        var requiredLength = required * frameStride();
+        if (requiredLength > coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, Math.max(requiredLength, coordinates.length * 2));
+        }
+    }
+
+    private int frameStride() {
+        return landmarksPerFrame * PackedGestureInput.AXES;
+    }
+}
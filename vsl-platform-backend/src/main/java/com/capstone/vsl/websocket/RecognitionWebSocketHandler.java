@@ -0,0 +1,216 @@
+package com.capstone.vsl.websocket;
+
+import com.capstone.vsl.integration.GestureIntegrationService;
+import com.capstone.vsl.integration.codec.PackedLandmarkCodec;
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
+import com.capstone.vsl.integration.exception.ExternalServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Recognition WebSocket Handler
+ * Persistent recognition session at /api/vsl/stream
+ *
+ * Flow:
+ * 1. Client streams frames incrementally (JSON "frames" messages or packed binary messages);
+ *    JSON frames are validated like the REST body (GestureInputDTO), invalid ones get an "error" event
+ * 2. Frames are buffered server-side; once the window is full (or on "recognize")
+ *    the window is sent to the unified AI Service with the tentative tail of the session's sentence
+ * 3. The recognized character and the full sentence are pushed back; the session's sentence is updated
+ *
+ * AI calls run on virtual threads, one at a time per session, so the message thread keeps buffering
+ * frames meanwhile. At most max-pending-windows windows wait per session; further windows are dropped
+ * with an "error" event.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecognitionWebSocketHandler extends AbstractWebSocketHandler {
+
+    private static final String SESSION_ATTRIBUTE = "recognitionSession";
+    private static final String OUTBOUND_ATTRIBUTE = "recognitionOutbound";
+
+    /**
+     * Limits for events queued towards a slow client (results are pushed from the recognition threads)
+     */
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    private final GestureIntegrationService gestureIntegrationService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private final ExecutorService recognitionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Frames buffered before recognition is triggered automatically (0 = only on "recognize")
+     */
+    @Value("${vsl.stream.window-frames:30}")
+    private int windowFrames;
+
+    /**
+     * Windows per session that may wait for the AI service before new windows are dropped
+     */
+    @Value("${vsl.stream.max-pending-windows:4}")
+    private int maxPendingWindows;
+
+    @PreDestroy
+    void stop() {
+        recognitionExecutor.shutdownNow();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        var recognitionSession = new RecognitionSession(gestureIntegrationService.newSentence(""));
+        session.getAttributes().put(SESSION_ATTRIBUTE, recognitionSession);
+        session.getAttributes().put(OUTBOUND_ATTRIBUTE,
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES));
+        log.info("Recognition stream opened: {}", session.getId());
+        send(session, StreamEventMessage.ready(recognitionSession.getCurrentText()));
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        var recognitionSession = recognitionSession(session);
+        try {
+            var input = PackedLandmarkCodec.decode(message.getPayload());
+            recognitionSession.appendFrames(input);
+            recognizeIfWindowFull(session, recognitionSession);
+        } catch (IllegalArgumentException e) {
+            send(session, StreamEventMessage.error("Invalid frames: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        var recognitionSession = recognitionSession(session);
+        StreamRequestMessage request;
+        try {
+            request = objectMapper.readValue(message.getPayload(), StreamRequestMessage.class);
+        } catch (JsonProcessingException e) {
+            send(session, StreamEventMessage.error("Malformed message: " + e.getOriginalMessage()));
+            return;
+        }
+
+        var type = request.type() != null ? request.type() : "";
+        try {
+            switch (type) {
+                case "frames" -> {
+                    var violations = validator.validate(new GestureInputDTO(request.frames()));
+                    if (!violations.isEmpty()) {
+                        send(session, StreamEventMessage.error("Invalid frames: " + violations.stream()
+                                .map(ConstraintViolation::getMessage)
+                                .distinct()
+                                .sorted()
+                                .collect(Collectors.joining(", "))));
+                        return;
+                    }
+                    recognitionSession.appendFrames(request.frames());
+                    recognizeIfWindowFull(session, recognitionSession);
+                }
+                case "recognize" -> recognize(session, recognitionSession);
+                case "reset" -> {
+                    recognitionSession.clearFrames();
+                    recognitionSession.submit(() -> {
+                        recognitionSession.resetText(request.text());
+                        sendQuietly(session, StreamEventMessage.ready(recognitionSession.getCurrentText()));
+                    }, recognitionExecutor);
+                }
+                default -> send(session, StreamEventMessage.error("Unknown message type: " + type));
+            }
+        } catch (IllegalArgumentException e) {
+            send(session, StreamEventMessage.error("Invalid frames: " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        log.info("Recognition stream closed: {} ({})", session.getId(), status);
+    }
+
+    private void recognizeIfWindowFull(WebSocketSession session, RecognitionSession recognitionSession)
+            throws IOException {
+        if (windowFrames > 0 && recognitionSession.getBufferedFrames() >= windowFrames) {
+            recognize(session, recognitionSession);
+        }
+    }
+
+    /**
+     * Take the buffered window and queue its recognition behind the session's earlier windows
+     */
+    private void recognize(WebSocketSession session, RecognitionSession recognitionSession) throws IOException {
+        var frames = recognitionSession.drainFrames();
+        if (frames == null) {
+            send(session, StreamEventMessage.error("No frames buffered"));
+            return;
+        }
+        if (recognitionSession.getPendingTasks() >= maxPendingWindows) {
+            log.warn("Recognition stream {} is falling behind, dropped a window of {} frames",
+                    session.getId(), frames.frameCount());
+            send(session, StreamEventMessage.error("Recognition is falling behind, frames dropped"));
+            return;
+        }
+        recognitionSession.submit(() -> recognizeWindow(session, recognitionSession, frames), recognitionExecutor);
+    }
+
+    /**
+     * Recognize one window and push the result to the client (runs on a recognition thread)
+     */
+    private void recognizeWindow(WebSocketSession session, RecognitionSession recognitionSession,
+                                 PackedGestureInput frames) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            var response = gestureIntegrationService.recognize(recognitionSession.window(frames));
+            var finalSentence = recognitionSession.applyResult(response);
+            sendQuietly(session, StreamEventMessage.result(response, finalSentence));
+        } catch (AiServiceUnavailableException e) {
+            log.error("AI service unavailable for stream {}: {}", session.getId(), e.getMessage());
+            sendQuietly(session, StreamEventMessage.error("AI Service is offline: " + e.getMessage()));
+        } catch (ExternalServiceException e) {
+            log.error("External service error for stream {}: {}", session.getId(), e.getMessage());
+            sendQuietly(session, StreamEventMessage.error("External service error: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Recognition failed for stream {}: {}", session.getId(), e.getMessage(), e);
+            sendQuietly(session, StreamEventMessage.error("Recognition failed: " + e.getMessage()));
+        }
+    }
+
+    private RecognitionSession recognitionSession(WebSocketSession session) {
+        return (RecognitionSession) session.getAttributes().get(SESSION_ATTRIBUTE);
+    }
+
+    private void send(WebSocketSession session, StreamEventMessage event) throws IOException {
+        var outbound = (WebSocketSession) session.getAttributes().get(OUTBOUND_ATTRIBUTE);
+        outbound.sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+    }
+
+    private void sendQuietly(WebSocketSession session, StreamEventMessage event) {
+        try {
+            send(session, event);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to push {} event to stream {}: {}", event.type(), session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.capstone.vsl.websocket;
+
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable DTO representing an event pushed to a streaming recognition client
+ * Types: "ready", "result", "error"
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StreamEventMessage(
+        @JsonProperty("type")
+        String type,
+
+        @JsonProperty("raw_char")
+        String rawChar,
+
+        @JsonProperty("final_sentence")
+        String finalSentence,
+
+        @JsonProperty("confidence")
+        Double confidence,
+
+        @JsonProperty("frames_processed")
+        Integer framesProcessed,
+
+        @JsonProperty("message")
+        String message
+) {
+    public static StreamEventMessage ready(String currentText) {
+        return new StreamEventMessage("ready", null, currentText, null, null, null);
+    }
+
+    public static StreamEventMessage result(AiResponseDTO response, String finalSentence) {
+        return new StreamEventMessage("result", response.rawChar(), finalSentence,
+                response.confidence(), response.framesProcessed(), null);
+    }
+
+    public static StreamEventMessage error(String message) {
+        return new StreamEventMessage("error", null, null, null, null, message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.capstone.vsl.websocket;
+
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Immutable DTO representing a JSON text message sent by a streaming recognition client
+ * Supported types:
+ * - "frames":    {"type": "frames", "frames": [{"landmarks": [...]}, ...]} - buffer frames
+ * - "recognize": {"type": "recognize"} - recognize the buffered frames now
+ * - "reset":     {"type": "reset", "text": "xin"} - replace the current text, drop buffered frames
+ *
+ * Frames may also be sent as binary messages in the packed landmark format.
+ */
+public record StreamRequestMessage(
+        @JsonProperty("type")
+        String type,
+
+        @JsonProperty("frames")
+        List<HandFrameDTO> frames,
+
+        @JsonProperty("text")
+        String text
+) {
+}
@@ -0,0 +1,68 @@
+package com.capstone.vsl.controller;
+
+import com.capstone.vsl.dto.ApiResponse;
+import com.capstone.vsl.integration.RecognitionMetrics;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Decode and serialization timers recorded around RecognitionController
+ */
+class RecognitionTimingAdviceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/vsl/recognize");
+    private RecognitionTimingAdvice advice;
+
+    @BeforeEach
+    void setUp() {
+        var metrics = new RecognitionMetrics(registry);
+        advice = new RecognitionTimingAdvice(metrics);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void decodeAndSerializationAreTimedWithTheFrameCount() {
+        var input = new PackedGestureInput(20, 21, new float[20 * 21 * 3], "");
+
+        advice.beforeBodyRead(null, null, PackedGestureInput.class, null);
+        advice.afterBodyRead(input, null, null, PackedGestureInput.class, null);
+        advice.beforeBodyWrite(ApiResponse.success("a"), null, null, null, null, null);
+        advice.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        assertEquals(1, count(RecognitionMetrics.DECODE, "16-30", "success"));
+        assertEquals(1, count(RecognitionMetrics.SERIALIZATION, "16-30", "success"));
+        // The controller times validation from here
+        assertInstanceOf(Long.class, request.getAttribute(RecognitionTimingAdvice.DECODED_AT));
+    }
+
+    @Test
+    void errorResponseIsTaggedWithItsOutcome() {
+        advice.beforeBodyWrite(ApiResponse.error(503, "AI Service is offline: down"), null, null, null, null, null);
+        advice.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        assertEquals(1, count(RecognitionMetrics.SERIALIZATION, "0-15", "error"));
+    }
+
+    private long count(String stage, String frames, String outcome) {
+        var timer = registry.find("vsl.recognition.stage")
+                .tags("stage", stage, "frames", frames, "outcome", outcome)
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
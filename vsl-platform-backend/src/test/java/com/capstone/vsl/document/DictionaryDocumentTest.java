@@ -0,0 +1,48 @@
+package com.capstone.vsl.document;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Index mapping Spring Data creates the dictionary index with
+ */
+class DictionaryDocumentTest {
+
+    private final JsonNode properties = DictionaryMappings.indexMapping().path("properties");
+
+    @Test
+    void idIsMappedAsLong() {
+        // A keyword id would sort as text ("10" < "9") and break id-ordered paging
+        assertEquals("long", properties.path("id").path("type").asText());
+    }
+
+    @Test
+    void mappingFileMatchesTheAnnotationsExceptForId() {
+        var annotated = (ObjectNode) DictionaryMappings.annotationMapping().path("properties").deepCopy();
+        annotated.remove("id");
+        var mapped = (ObjectNode) properties.deepCopy();
+        mapped.remove("id");
+
+        assertEquals(annotated, mapped);
+    }
+
+    @Test
+    void wordHasAnEdgeNgramPrefixSubfield() throws Exception {
+        var prefix = properties.path("word").path("fields").path("prefix");
+        assertEquals("text", prefix.path("type").asText());
+        assertEquals("vietnamese_prefix_analyzer", prefix.path("analyzer").asText());
+        // Queries are not split into n-grams, otherwise "chao" would match every word starting with "c"
+        assertEquals("vietnamese_analyzer", prefix.path("search_analyzer").asText());
+
+        try (var settings = DictionaryDocument.class.getResourceAsStream("/es-settings.json")) {
+            var analysis = new ObjectMapper().readTree(settings).path("index").path("analysis");
+            assertEquals("edge_ngram", analysis.path("filter").path("vietnamese_edge_ngram").path("type").asText());
+            var filters = analysis.path("analyzer").path("vietnamese_prefix_analyzer").path("filter");
+            assertEquals("vietnamese_edge_ngram", filters.get(filters.size() - 1).asText());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.capstone.vsl.document;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.index.MappingBuilder;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Index mappings for DictionaryDocument as Spring Data builds them, without an Elasticsearch cluster
+ */
+public final class DictionaryMappings {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private DictionaryMappings() {
+    }
+
+    /**
+     * Mapping sent when an index is created (IndexOperations.createMapping, honours @Mapping)
+     */
+    public static JsonNode indexMapping() {
+        var transport = mock(ElasticsearchTransport.class);
+        when(transport.jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+        var template = new ElasticsearchTemplate(new ElasticsearchClient(transport), converter());
+        return MAPPER.valueToTree(template.indexOps(DictionaryDocument.class).createMapping());
+    }
+
+    /**
+     * Mapping derived from the field annotations alone (MappingBuilder, ignores @Mapping)
+     */
+    public static JsonNode annotationMapping() {
+        try {
+            return MAPPER.readTree(new MappingBuilder(converter()).buildPropertyMapping(DictionaryDocument.class));
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static MappingElasticsearchConverter converter() {
+        var converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,110 @@
+package com.capstone.vsl.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Persistence of the Model 2 result cache: snapshot on shutdown and periodically, warm-up on startup
+ */
+class AccentCorrectionCacheTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private final List<AccentCorrectionCache> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(AccentCorrectionCache::stop);
+    }
+
+    @Test
+    void entriesPersistedOnShutdownWarmTheNextInstance() {
+        var file = tempDir.resolve("cache/accent-cache.json");
+        var first = cache(file, 0);
+        first.put("xin chao", "xin chào");
+        first.put("cam on", "cảm ơn");
+
+        first.stop();
+        var second = cache(file, 0);
+
+        assertEquals("xin chào", second.get("xin chao"));
+        assertEquals("cảm ơn", second.get("cam on"));
+        assertNull(second.get("tam biet"));
+    }
+
+    @Test
+    void changedCacheIsPersistedPeriodically() throws Exception {
+        var file = tempDir.resolve("accent-cache.json");
+        var cache = cache(file, 20);
+
+        cache.put("xin chao", "xin chào");
+
+        assertEquals(Map.of("xin chao", "xin chào"), awaitSnapshot(file));
+    }
+
+    @Test
+    void unchangedCacheIsNotRewritten() throws Exception {
+        var file = tempDir.resolve("accent-cache.json");
+        var cache = cache(file, 20);
+        cache.put("xin chao", "xin chào");
+        awaitSnapshot(file);
+        var written = Files.getLastModifiedTime(file);
+
+        Thread.sleep(100);
+
+        assertEquals(written, Files.getLastModifiedTime(file));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(file), files.toList(), "No temp files may be left behind");
+        }
+    }
+
+    @Test
+    void unreadableSnapshotStartsEmpty() throws IOException {
+        var file = Files.writeString(tempDir.resolve("accent-cache.json"), "{not json");
+
+        var cache = cache(file, 0);
+
+        assertNull(cache.get("xin chao"));
+        cache.put("xin chao", "xin chào");
+        assertEquals("xin chào", cache.get("xin chao"));
+    }
+
+    private AccentCorrectionCache cache(Path file, long persistIntervalMs) {
+        var cache = new AccentCorrectionCache(new SimpleMeterRegistry(), MAPPER);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 1000L);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "file", file.toString());
+        ReflectionTestUtils.setField(cache, "persistIntervalMs", persistIntervalMs);
+        cache.init();
+        started.add(cache);
+        return cache;
+    }
+
+    private static Map<String, String> awaitSnapshot(Path file) throws Exception {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(Files.exists(file), "Cache was not persisted");
+        return MAPPER.readValue(file.toFile(), MAPPER.getTypeFactory().constructMapType(Map.class, String.class, String.class));
+    }
+}
@@ -0,0 +1,51 @@
+package com.capstone.vsl.integration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Dictionary-based accent restoration: segmentation of unspaced input and frequency ranking
+ */
+class AccentIndexTest {
+
+    private final AccentIndex index = AccentIndex.build(Map.of(
+            "Xin chào", 5L,
+            "cô giáo", 2L,
+            "cảm ơn", 3L,
+            "cá", 10L,
+            "cà", 1L,
+            "Đi học", 0L));
+
+    @Test
+    void restoresKnownPhrasesWithoutSpaces() {
+        assertEquals(new AccentIndex.Restoration("xin chào", true), index.restore("xinchao"));
+        assertEquals(new AccentIndex.Restoration("cô giáo cảm ơn", true), index.restore("cogiaocamon"));
+        assertEquals(new AccentIndex.Restoration("đi học", true), index.restore("di hoc"));
+    }
+
+    @Test
+    void prefersTheMostFrequentAccentedForm() {
+        assertEquals("cá", index.restore("ca").text());
+    }
+
+    @Test
+    void wholeEntriesOnlyIgnoresSyllablesOfPhrases() {
+        assertEquals(new AccentIndex.Restoration("xin chào cảm ơn", true), index.restore("xinchaocamon", true));
+        assertEquals(new AccentIndex.Restoration("cá", true), index.restore("ca", true));
+        // "chào" and "giáo" are only syllables of longer entries
+        assertEquals(new AccentIndex.Restoration("chào giáo", true), index.restore("chaogiao"));
+        assertFalse(index.restore("chaogiao", true).complete());
+    }
+
+    @Test
+    void keepsUnknownTextAndReportsIncomplete() {
+        var restoration = index.restore("xinchaozzz");
+        assertFalse(restoration.complete());
+        assertEquals("xin chào zzz", restoration.text());
+        assertEquals("xinchao", AccentIndex.EMPTY.restore("xinchao").text());
+    }
+}
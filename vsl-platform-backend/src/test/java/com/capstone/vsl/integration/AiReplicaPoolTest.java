@@ -0,0 +1,181 @@
+package com.capstone.vsl.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replica pool against two stub AI services: failover away from a dead replica, hedging of slow calls
+ * and the latencies that feed the hedge delay
+ */
+class AiReplicaPoolTest {
+
+    private StubAiServer fast;
+    private StubAiServer slow;
+    private AiReplicaPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        if (fast != null) {
+            fast.close();
+        }
+        if (slow != null) {
+            slow.close();
+        }
+    }
+
+    @Test
+    void deadReplicaIsSkippedAfterConnectionError() {
+        fast = StubAiServer.start().respond("/predict", "fast");
+        slow = StubAiServer.start().respond("/predict", "slow");
+        var deadUrl = slow.url("/predict");
+        slow.close();
+        slow = null;
+        pool = pool(List.of(deadUrl, fast.url("/predict")), false);
+
+        var failures = 0;
+        for (int i = 0; i < 10; i++) {
+            try {
+                assertEquals("fast", predict());
+            } catch (ResourceAccessException e) {
+                failures++;
+            }
+        }
+
+        assertTrue(failures <= 1, "Only the first call may reach the dead replica, failed: " + failures);
+        assertEquals(1, pool.getHealthyReplicas());
+    }
+
+    @Test
+    void slowCallIsHedgedToTheOtherReplica() {
+        fast = StubAiServer.start().respond("/predict", "fast");
+        slow = StubAiServer.start().handle("/predict", Duration.ofSeconds(2), body -> "slow");
+        pool = pool(List.of(slow.url("/predict"), fast.url("/predict")), true);
+
+        for (int i = 0; i < 6; i++) {
+            var start = System.nanoTime();
+            assertEquals("fast", predict());
+            var elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMs < 1_000, "Hedged call should not wait for the slow replica: " + elapsedMs + " ms");
+        }
+        assertTrue(slow.requestCount() > 0, "Least-outstanding should also route calls to the slow replica");
+    }
+
+    @Test
+    void readTimeoutDoesNotEjectTheReplica() {
+        fast = StubAiServer.start().handle("/predict", Duration.ofSeconds(2), body -> "fast");
+        slow = StubAiServer.start().handle("/predict", Duration.ofSeconds(2), body -> "slow");
+        // Same client as production (AiServiceConfig): Apache HttpClient with a response timeout
+        var requestFactory = new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setDefaultRequestConfig(RequestConfig.custom().setResponseTimeout(Timeout.ofMilliseconds(100)).build())
+                .build());
+        pool = pool(List.of(slow.url("/predict"), fast.url("/predict")), false,
+                url -> RestClient.builder().baseUrl(url).requestFactory(requestFactory).build());
+
+        for (int i = 0; i < 4; i++) {
+            var timeout = assertThrows(ResourceAccessException.class, this::predict);
+            assertTrue(AiReplicaPool.isIoFailure(timeout), "A timeout must count for the circuit breaker");
+        }
+
+        assertEquals(2, pool.getHealthyReplicas());
+    }
+
+    @Test
+    void timeoutsCountAsIoFailuresHoweverTheyAreWrapped() {
+        var whileExtracting = new RestClientException("Error while extracting response for type [class java.lang.String]",
+                new SocketTimeoutException("Read timed out"));
+
+        assertTrue(AiReplicaPool.isIoFailure(whileExtracting));
+        assertTrue(AiReplicaPool.isIoFailure(new ResourceAccessException("I/O error", new SocketTimeoutException())));
+        assertFalse(AiReplicaPool.isIoFailure(HttpServerErrorException.create(
+                HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null)));
+    }
+
+    @Test
+    void losingHedgedRequestIsCancelled() throws InterruptedException {
+        fast = StubAiServer.start().respond("/predict", "fast");
+        slow = StubAiServer.start().handle("/predict", Duration.ofSeconds(5), body -> "slow");
+        pool = pool(List.of(slow.url("/predict"), fast.url("/predict")), true);
+        var registry = new SimpleMeterRegistry();
+        pool.bindTo(registry);
+        var slowOutstanding = registry.get("vsl.ai.replica.outstanding").tag("replica", slow.url("/predict")).gauge();
+
+        for (int i = 0; i < 10 && slow.requestCount() == 0; i++) {
+            assertEquals("fast", predict());
+        }
+        assertTrue(slow.requestCount() > 0, "Least-outstanding should also route calls to the slow replica");
+
+        var deadline = System.currentTimeMillis() + 1_000;
+        while (slowOutstanding.value() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, slowOutstanding.value(), "The request to the slow replica should have been cancelled");
+        // A cancelled request is not a connection failure
+        assertEquals(2, pool.getHealthyReplicas());
+    }
+
+    @Test
+    void batchLatenciesAreKeptOutOfTheHedgeDelay() {
+        fast = StubAiServer.start().handle("/predict", Duration.ofMillis(20), body -> "fast");
+        pool = new AiReplicaPool("ai-service", List.of(fast.url("/predict")),
+                url -> RestClient.builder().baseUrl(url).build(), "/health", Duration.ZERO, true, Duration.ofMillis(1), 1.0);
+
+        for (int i = 0; i < 64; i++) {
+            assertEquals("fast", pool.callBatch(client -> client.post().uri("").body("{}").retrieve().body(String.class)));
+        }
+        assertEquals(Duration.ofMillis(1), pool.hedgeDelay());
+
+        for (int i = 0; i < 64; i++) {
+            assertEquals("fast", predict());
+        }
+        assertTrue(pool.hedgeDelay().toMillis() >= 20, "Single calls set the hedge delay: " + pool.hedgeDelay());
+    }
+
+    @Test
+    void singleReplicaErrorsPropagate() {
+        slow = StubAiServer.start();
+        var deadUrl = slow.url("/predict");
+        slow.close();
+        slow = null;
+        pool = pool(List.of(deadUrl), true);
+
+        assertThrows(ResourceAccessException.class, this::predict);
+    }
+
+    private String predict() {
+        return pool.call(client -> client.post().uri("").body("{}").retrieve().body(String.class));
+    }
+
+    private static AiReplicaPool pool(List<String> urls, boolean hedging) {
+        return pool(urls, hedging, url -> RestClient.builder().baseUrl(url).build());
+    }
+
+    private static AiReplicaPool pool(List<String> urls, boolean hedging, Function<String, RestClient> clientFactory) {
+        var replicaPool = new AiReplicaPool("ai-service", urls, clientFactory,
+                "/health", Duration.ZERO, hedging, Duration.ofMillis(20), 1.0);
+        replicaPool.start();
+        return replicaPool;
+    }
+}
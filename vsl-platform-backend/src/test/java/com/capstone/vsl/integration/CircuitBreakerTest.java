@@ -0,0 +1,143 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.exception.CircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Circuit breaker state machine: closed -> open -> half-open -> closed (or back to open)
+ */
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(100);
+
+    @Test
+    void opensOnceTheFailureRateIsReachedAfterMinimumCalls() {
+        var breaker = breaker(Duration.ZERO);
+
+        succeed(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "Below minimum-calls");
+
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void openCircuitRejectsWithoutCallingUntilTheOpenDurationHasPassed() throws Exception {
+        var breaker = breaker(Duration.ZERO);
+        var registry = new SimpleMeterRegistry();
+        breaker.bindTo(registry);
+        openCircuit(breaker);
+
+        assertThrows(CircuitOpenException.class, () -> breaker.call(() -> {
+            throw new AssertionError("Must not be called while open");
+        }));
+        assertThrows(CircuitOpenException.class, breaker::rejectIfOpen);
+        assertEquals(2.0, registry.get("vsl.backend.circuit.rejected").tag("backend", "test").functionCounter().count());
+
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+
+        assertDoesNotThrow(breaker::rejectIfOpen);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "rejectIfOpen does not take a probe slot");
+        succeed(breaker);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpenClosesAfterAllProbesSucceed() throws Exception {
+        var breaker = breaker(Duration.ZERO);
+        openCircuit(breaker);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+
+        succeed(breaker);
+        succeed(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // The window starts over: earlier failures no longer count
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() throws Exception {
+        var breaker = breaker(Duration.ZERO);
+        openCircuit(breaker);
+        Thread.sleep(OPEN_DURATION.toMillis() + 20);
+
+        succeed(breaker);
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, breaker::rejectIfOpen);
+    }
+
+    @Test
+    void slowCallsCountAsFailures() {
+        var breaker = breaker(Duration.ofMillis(5));
+
+        for (int i = 0; i < 4; i++) {
+            breaker.call(() -> {
+                sleep(10);
+                return "slow";
+            });
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void exceptionsOutsideTheFailurePredicateAreNotRecorded() {
+        var breaker = breaker(Duration.ZERO);
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalArgumentException.class, () -> breaker.call(() -> {
+                throw new IllegalArgumentException("bad request");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Window of 10, opens at 50 % after 4 calls, 2 probes; only IllegalStateException is a failure
+     */
+    private static CircuitBreaker breaker(Duration slowCallThreshold) {
+        return new CircuitBreaker("test", 10, 4, 50, slowCallThreshold, OPEN_DURATION, 2,
+                e -> e instanceof IllegalStateException);
+    }
+
+    private static void openCircuit(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static void succeed(CircuitBreaker breaker) {
+        assertEquals("ok", breaker.call(() -> "ok"));
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        assertThrows(IllegalStateException.class, () -> breaker.call(() -> {
+            throw new IllegalStateException("backend down");
+        }));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
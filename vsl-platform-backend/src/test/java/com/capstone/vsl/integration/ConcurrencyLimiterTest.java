@@ -0,0 +1,154 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.exception.BackendSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Slot limit, bounded wait queue, acquire timeout and wait-budget shedding of the per-backend limiter
+ */
+class ConcurrencyLimiterTest {
+
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void queuedCallerRunsOnceTheSlotIsReleased() throws Exception {
+        var limiter = new ConcurrencyLimiter("test", 1, 1, Duration.ofSeconds(5));
+        var holder = holdSlot(limiter);
+
+        var queued = CompletableFuture.supplyAsync(() -> limiter.call(() -> "queued"), executor);
+        awaitWaiting(limiter, 1);
+        assertEquals(1, limiter.getInFlight());
+
+        released.countDown();
+
+        assertEquals("held", holder.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    void callerBeyondTheWaitQueueIsRejectedImmediately() throws Exception {
+        var limiter = new ConcurrencyLimiter("test", 1, 1, Duration.ofSeconds(5));
+        var registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        holdSlot(limiter);
+        CompletableFuture.supplyAsync(() -> limiter.call(() -> "queued"), executor);
+        awaitWaiting(limiter, 1);
+
+        var start = System.nanoTime();
+        var error = assertThrows(BackendSaturatedException.class, () -> limiter.call(() -> "rejected"));
+
+        assertTrue(error.getMessage().contains("too many queued requests"), error.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Rejection must not wait for a slot");
+        assertEquals(1, limiter.getWaiting());
+        assertEquals(1.0, registry.get("vsl.backend.limiter.rejected").tag("backend", "test").functionCounter().count());
+    }
+
+    @Test
+    void queuedCallerGivesUpAfterTheAcquireTimeout() throws Exception {
+        var limiter = new ConcurrencyLimiter("test", 1, 10, Duration.ofMillis(100));
+        holdSlot(limiter);
+
+        var queued = CompletableFuture.supplyAsync(() -> limiter.call(() -> "queued"), executor);
+
+        var error = assertThrows(Exception.class, () -> queued.get(5, TimeUnit.SECONDS));
+        var cause = assertInstanceOf(BackendSaturatedException.class, error.getCause());
+        assertTrue(cause.getMessage().contains("no slot within 100 ms"), cause.getMessage());
+        assertEquals(0, limiter.getWaiting());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void callerIsShedWhenThePredictedWaitExceedsTheBudget() throws Exception {
+        var limiter = new ConcurrencyLimiter("test", 1, 10, Duration.ofSeconds(5), Duration.ofMillis(20));
+        var registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        // Teach the latency average that a call takes ~50 ms
+        limiter.call(() -> {
+            sleep(50);
+            return "warm";
+        });
+        holdSlot(limiter);
+
+        var start = System.nanoTime();
+        var error = assertThrows(BackendSaturatedException.class, () -> limiter.call(() -> "shed"));
+
+        assertTrue(error.getMessage().contains("exceeds budget of 20 ms"), error.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Shedding must not wait for a slot");
+        assertEquals(0, limiter.getWaiting());
+        assertEquals(1.0, registry.get("vsl.backend.limiter.shed").tag("backend", "test").functionCounter().count());
+        assertEquals(0.0, registry.get("vsl.backend.limiter.rejected").tag("backend", "test").functionCounter().count());
+    }
+
+    @Test
+    void callerWithinTheBudgetQueues() throws Exception {
+        var limiter = new ConcurrencyLimiter("test", 1, 10, Duration.ofSeconds(5), Duration.ofSeconds(2));
+        limiter.call(() -> {
+            sleep(50);
+            return "warm";
+        });
+        holdSlot(limiter);
+
+        var queued = CompletableFuture.supplyAsync(() -> limiter.call(() -> "queued"), executor);
+        awaitWaiting(limiter, 1);
+        released.countDown();
+
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Occupy one slot until the test releases it
+     */
+    private CompletableFuture<String> holdSlot(ConcurrencyLimiter limiter) throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var holder = CompletableFuture.supplyAsync(() -> limiter.call(() -> {
+            started.countDown();
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "held";
+        }), executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return holder;
+    }
+
+    private static void awaitWaiting(ConcurrencyLimiter limiter, int waiting) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (limiter.getWaiting() < waiting && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(waiting, limiter.getWaiting());
+    }
+}
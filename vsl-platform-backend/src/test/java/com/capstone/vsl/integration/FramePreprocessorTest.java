@@ -0,0 +1,140 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.LandmarkDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Frame window reduction: even down-sampling, optional de-duplication and empty frame removal
+ */
+class FramePreprocessorTest {
+
+    @Test
+    void downSamplesEvenlyKeepingTheFirstAndLastFrame() {
+        var preprocessor = preprocessor(0, 30);
+
+        var sent = preprocessor.process(input(IntStream.range(0, 90).mapToObj(i -> frame(i * 0.01f)).toList()));
+
+        var positions = positions(sent);
+        assertEquals(30, positions.size());
+        assertEquals(0, positions.get(0));
+        assertEquals(89, positions.get(29));
+        for (int i = 1; i < positions.size(); i++) {
+            var step = positions.get(i) - positions.get(i - 1);
+            assertEquals(3, step, 1, "Uneven step at " + i + ": " + positions);
+        }
+    }
+
+    @Test
+    void heldPoseKeepsItsShareOfTheWindowByDefault() {
+        var preprocessor = preprocessor(0, 30);
+        var frames = new ArrayList<HandFrameDTO>();
+        frames.addAll(Collections.nCopies(60, frame(0.1f)));
+        frames.addAll(Collections.nCopies(30, frame(0.5f)));
+
+        var sent = preprocessor.process(input(frames)).frames();
+
+        var held = sent.stream().filter(frame -> frame.landmarks().get(0).x() == 0.1f).count();
+        assertEquals(30, sent.size());
+        assertEquals(20, held, 1);
+    }
+
+    @Test
+    void deduplicationCollapsesHeldPosesWhenEnabled() {
+        var preprocessor = preprocessor(0.002, 30);
+        var frames = new ArrayList<HandFrameDTO>();
+        frames.addAll(Collections.nCopies(60, frame(0.1f)));
+        frames.add(frame(0.1005f));
+        frames.addAll(Collections.nCopies(30, frame(0.5f)));
+
+        var sent = preprocessor.process(input(frames)).frames();
+
+        assertEquals(List.of(0.1f, 0.5f), sent.stream().map(frame -> frame.landmarks().get(0).x()).toList());
+    }
+
+    @Test
+    void dropsFramesWithoutLandmarks() {
+        var preprocessor = preprocessor(0, 30);
+
+        var sent = preprocessor.process(input(List.of(frame(0.1f), new HandFrameDTO(List.of()),
+                new HandFrameDTO(null), frame(0.2f))));
+
+        assertEquals(List.of(10, 20), positions(sent));
+        assertThrows(IllegalArgumentException.class,
+                () -> preprocessor.process(input(List.of(new HandFrameDTO(List.of())))));
+    }
+
+    @Test
+    void packedWindowKeepsTheSameFramesAsJson() {
+        var preprocessor = preprocessor(0.002, 10);
+        var frames = IntStream.range(0, 40).mapToObj(i -> frame((i / 2) * 0.01f)).toList();
+
+        var json = preprocessor.process(input(frames));
+        var packed = preprocessor.process(packed(frames));
+
+        assertEquals(json.frames().size(), packed.frameCount());
+        for (int i = 0; i < packed.frameCount(); i++) {
+            assertEquals(json.frames().get(i).landmarks().get(0).x(), packed.coordinates()[packed.offset(i, 0)]);
+        }
+    }
+
+    @Test
+    void shortWindowsAndDisabledPreprocessingPassThrough() {
+        var window = input(List.of(frame(0.1f), frame(0.2f)));
+        var disabled = preprocessor(0, 1);
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+
+        assertSame(window, preprocessor(0, 30).process(window));
+        assertSame(window, disabled.process(window));
+    }
+
+    private static FramePreprocessor preprocessor(double dedupThreshold, int maxFrames) {
+        var preprocessor = new FramePreprocessor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(preprocessor, "enabled", true);
+        ReflectionTestUtils.setField(preprocessor, "dedupThreshold", dedupThreshold);
+        ReflectionTestUtils.setField(preprocessor, "maxFrames", maxFrames);
+        preprocessor.init();
+        return preprocessor;
+    }
+
+    /**
+     * Original frame index of every sent frame, recovered from its x coordinate
+     */
+    private static List<Integer> positions(GestureInputDTO sent) {
+        return sent.frames().stream().map(frame -> Math.round(frame.landmarks().get(0).x() * 100)).toList();
+    }
+
+    private static GestureInputDTO input(List<HandFrameDTO> frames) {
+        return new GestureInputDTO(frames, "");
+    }
+
+    private static PackedGestureInput packed(List<HandFrameDTO> frames) {
+        var coordinates = new float[frames.size() * 21 * PackedGestureInput.AXES];
+        var i = 0;
+        for (var frame : frames) {
+            for (var landmark : frame.landmarks()) {
+                coordinates[i++] = landmark.x();
+                coordinates[i++] = landmark.y();
+                coordinates[i++] = landmark.z();
+            }
+        }
+        return new PackedGestureInput(frames.size(), 21, coordinates, "");
+    }
+
+    private static HandFrameDTO frame(float x) {
+        return new HandFrameDTO(Collections.nCopies(21, new LandmarkDTO(x, 0.5f, 0f)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.capstone.vsl.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Model 1 -> Model 2 pipeline against stub Python services, for both Model 1 response formats:
+ * a single JSON object and NDJSON segments that trigger speculative accent correction
+ */
+class PythonIntegrationServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, String> ACCENTS = Map.of("xin", "xin", "xin chao", "xin chào");
+
+    private final List<String> model2Requests = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService stageExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MockMultipartFile video = new MockMultipartFile("file", "clip.mp4", "video/mp4", new byte[1024]);
+    private StubAiServer model1;
+    private StubAiServer model2;
+
+    @AfterEach
+    void tearDown() {
+        stageExecutor.shutdownNow();
+        if (model1 != null) {
+            model1.close();
+        }
+        if (model2 != null) {
+            model2.close();
+        }
+    }
+
+    @Test
+    void singleJsonResponseIsCorrectedOnce() throws Exception {
+        model1 = StubAiServer.start().respond("/predict-gesture", "{\"text\":\"xin chao\",\"status\":\"success\"}");
+        var service = service();
+
+        var response = service.processGestureToTextAsync(video).get(5, TimeUnit.SECONDS);
+
+        assertEquals("xin chao", response.getRawText());
+        assertEquals("xin chào", response.getCorrectedText());
+        assertEquals(List.of("xin chao"), model2Requests);
+    }
+
+    @Test
+    void ndjsonSegmentsAreConcatenatedAndTheLastSpeculationIsReused() throws Exception {
+        model1 = StubAiServer.start().respond("/predict-gesture", "application/x-ndjson",
+                "{\"text\":\"xin \"}\n\n{\"text\":\"chao\"}\n");
+        var service = service();
+
+        var response = service.processGestureToTextAsync(video).get(5, TimeUnit.SECONDS);
+
+        assertEquals("xin chao", response.getRawText());
+        assertEquals("xin chào", response.getCorrectedText());
+        // "xin" may be cancelled before it runs; the full text is corrected once, by the speculation
+        assertEquals(1, Collections.frequency(model2Requests, "xin chao"), "Requests: " + model2Requests);
+        assertTrue(List.of("xin", "xin chao").containsAll(model2Requests), "Requests: " + model2Requests);
+    }
+
+    @Test
+    void ndjsonResponseWorksWithoutSpeculation() {
+        model1 = StubAiServer.start().respond("/predict-gesture", "application/x-ndjson",
+                "{\"text\":\"xin \"}\n{\"text\":\"chao\"}\n");
+
+        var response = service().processGestureToText(video);
+
+        assertEquals("xin chao", response.getRawText());
+        assertEquals("xin chào", response.getCorrectedText());
+        assertEquals(List.of("xin chao"), model2Requests);
+    }
+
+    private PythonIntegrationService service() {
+        model2 = StubAiServer.start().handle("/add-accents", Duration.ZERO, body -> {
+            var text = readText(body);
+            model2Requests.add(text);
+            return "{\"text\":\"" + ACCENTS.getOrDefault(text, text) + "\",\"status\":\"success\"}";
+        });
+        return new PythonIntegrationService(
+                RestClient.builder().baseUrl(model1.url("")).build(),
+                RestClient.builder().baseUrl(model2.url("")).build(),
+                new ConcurrencyLimiter("python-model1", 4, 10, Duration.ofSeconds(5)),
+                new ConcurrencyLimiter("python-model2", 4, 10, Duration.ofSeconds(5)),
+                stageExecutor,
+                stageExecutor,
+                MAPPER,
+                // Not initialized = disabled, so every correction reaches Model 2
+                new AccentCorrectionCache(new SimpleMeterRegistry(), MAPPER),
+                new AccentRestorationEngine(null, new SimpleMeterRegistry()));
+    }
+
+    private static String readText(byte[] body) {
+        try {
+            return MAPPER.readTree(body).get("text").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.LandmarkDTO;
+import com.capstone.vsl.integration.exception.ExternalServiceException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Micro-batching against a stub unified AI service:
+ * concurrent callers share batched calls and each gets its own result back
+ */
+class RecognitionBatcherTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private StubAiServer stub;
+    private RecognitionBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.stop();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void concurrentRequestsAreCoalescedAndDemultiplexed() throws Exception {
+        // Echoes each request's current_text back as its final_sentence
+        stub = StubAiServer.start().handle("/predict/batch", Duration.ofMillis(20), body -> {
+            var requests = readTree(body).get("requests");
+            batchSizes.add(requests.size());
+            var results = new ArrayList<String>();
+            requests.forEach(request -> results.add("{\"success\":true,\"raw_char\":\"a\",\"confidence\":0.9,"
+                    + "\"final_sentence\":\"" + request.get("current_text").asText() + "a\"}"));
+            return "{\"success\":true,\"results\":[" + String.join(",", results) + "]}";
+        });
+        batcher = startBatcher(8, 50);
+        var service = new GestureIntegrationService(
+                aiReplicaPool(), limiter(), circuitBreaker(), batcher,
+                RecognitionCacheTest.recognitionCache(), framePreprocessor(), MAPPER, metrics());
+        ReflectionTestUtils.setField(service, "sentenceWindowWords", 3);
+
+        var callers = 32;
+        var results = new ArrayList<Future<String>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                var text = "user" + i + " ";
+                results.add(executor.submit((Callable<String>) () ->
+                        service.processGesture(new GestureInputDTO(List.of(frame()), text))));
+            }
+        }
+
+        for (int i = 0; i < callers; i++) {
+            assertEquals("user" + i + " a", results.get(i).get());
+        }
+        assertEquals(callers, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 8), "Batches must respect max-size");
+        assertTrue(stub.requestCount() < callers, "Concurrent requests should share batched calls");
+    }
+
+    @Test
+    void failedBatchFailsEveryCaller() throws Exception {
+        stub = StubAiServer.start().handle("/predict/batch", Duration.ofMillis(20),
+                body -> "{\"success\":false,\"error\":\"model not loaded\"}");
+        batcher = startBatcher(4, 50);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var failures = IntStream.range(0, 4)
+                    .mapToObj(i -> executor.submit(() -> assertThrows(ExternalServiceException.class,
+                            () -> batcher.submit(Map.of("frames", List.of(), "current_text", "")))))
+                    .toList();
+            for (var failure : failures) {
+                assertTrue(failure.get().getMessage().contains("model not loaded"));
+            }
+        }
+    }
+
+    @Test
+    void batchedCallIsOneCircuitBreakerOutcome() throws Exception {
+        var result = "{\"success\":true,\"raw_char\":\"a\",\"confidence\":0.9,\"final_sentence\":\"a\"}";
+        stub = StubAiServer.start().handle("/predict/batch", Duration.ofMillis(50),
+                body -> "{\"success\":true,\"results\":[" + String.join(",", Collections.nCopies(4, result)) + "]}");
+        // Every call is slow; two bad outcomes open the circuit
+        var breaker = new CircuitBreaker("ai-service", 20, 2, 50, Duration.ofMillis(10), Duration.ofSeconds(10), 3,
+                e -> true);
+        batcher = startBatcher(4, 1_000, breaker);
+
+        submitBatchOfFour();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        submitBatchOfFour();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void submitBatchOfFour() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var results = IntStream.range(0, 4)
+                    .mapToObj(i -> executor.submit(() -> batcher.submit(Map.of("frames", List.of(), "current_text", ""))))
+                    .toList();
+            for (var result : results) {
+                assertEquals("a", result.get().finalSentence());
+            }
+        }
+    }
+
+    private RecognitionBatcher startBatcher(int maxBatchSize, int maxWaitMs) {
+        return startBatcher(maxBatchSize, maxWaitMs, circuitBreaker());
+    }
+
+    private RecognitionBatcher startBatcher(int maxBatchSize, int maxWaitMs, CircuitBreaker circuitBreaker) {
+        var recognitionBatcher = new RecognitionBatcher(aiReplicaPool(), limiter(), circuitBreaker,
+                new SimpleMeterRegistry(), MAPPER, metrics());
+        ReflectionTestUtils.setField(recognitionBatcher, "enabled", true);
+        ReflectionTestUtils.setField(recognitionBatcher, "maxBatchSize", maxBatchSize);
+        ReflectionTestUtils.setField(recognitionBatcher, "maxWaitMs", maxWaitMs);
+        ReflectionTestUtils.setField(recognitionBatcher, "maxQueued", 100);
+        recognitionBatcher.start();
+        return recognitionBatcher;
+    }
+
+    private static CircuitBreaker circuitBreaker() {
+        return new CircuitBreaker("ai-service", 20, 10, 50, Duration.ZERO, Duration.ofSeconds(10), 3, e -> true);
+    }
+
+    private static RecognitionMetrics metrics() {
+        var metrics = new RecognitionMetrics(new SimpleMeterRegistry());
+        metrics.init();
+        return metrics;
+    }
+
+    private static FramePreprocessor framePreprocessor() {
+        var preprocessor = new FramePreprocessor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(preprocessor, "enabled", true);
+        ReflectionTestUtils.setField(preprocessor, "dedupThreshold", 0.0);
+        ReflectionTestUtils.setField(preprocessor, "maxFrames", 30);
+        preprocessor.init();
+        return preprocessor;
+    }
+
+    private AiReplicaPool aiReplicaPool() {
+        return new AiReplicaPool("ai-service", List.of(stub.url("/predict")),
+                url -> RestClient.builder().baseUrl(url).build(),
+                "/health", Duration.ZERO, false, Duration.ZERO, 0);
+    }
+
+    private static ConcurrencyLimiter limiter() {
+        return new ConcurrencyLimiter("ai-service", 4, 100, Duration.ofSeconds(5));
+    }
+
+    private static HandFrameDTO frame() {
+        return new HandFrameDTO(Collections.nCopies(21, new LandmarkDTO(0.1f, 0.2f, 0.3f)));
+    }
+
+    private static JsonNode readTree(byte[] body) {
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.LandmarkDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Landmark fingerprint of the recognition cache: jitter and hand position are absorbed,
+ * anything the AI service would answer differently is not
+ */
+class RecognitionCacheTest {
+
+    private final RecognitionCache cache = recognitionCache();
+
+    @Test
+    void nearIdenticalFramesHitTheCachedResponse() {
+        var response = new AiResponseDTO(true, "xin a", 0.9, "a", 2, 1, null);
+        cache.put(cache.keyOf(input(List.of(hand(0.5f, 0f), hand(0.5f, 0f)), "xin ")), response);
+
+        // Sub-grid jitter on every landmark except the wrist
+        var jittered = input(List.of(hand(0.5f, 0.001f), hand(0.5f, -0.001f)), "xin ");
+
+        assertSame(response, cache.get(cache.keyOf(jittered)));
+    }
+
+    @Test
+    void samePoseElsewhereInTheImageHasTheSameKey() {
+        var left = input(List.of(hand(0.3f, 0f)), "");
+        var right = input(List.of(hand(0.6f, 0f)), "");
+
+        assertEquals(cache.keyOf(left), cache.keyOf(right));
+    }
+
+    @Test
+    void differentPoseMisses() {
+        cache.put(cache.keyOf(input(List.of(hand(0.5f, 0f)), "")), new AiResponseDTO(true, "a", 0.9, "a", 1, 1, null));
+
+        assertNull(cache.get(cache.keyOf(input(List.of(hand(0.5f, 0.02f)), ""))));
+    }
+
+    @Test
+    void differentCurrentTextMisses() {
+        cache.put(cache.keyOf(input(List.of(hand(0.5f, 0f)), "xin ")), new AiResponseDTO(true, "xin a", 0.9, "a", 1, 1, null));
+
+        assertNull(cache.get(cache.keyOf(input(List.of(hand(0.5f, 0f)), "chào "))));
+        assertNull(cache.get(cache.keyOf(input(List.of(hand(0.5f, 0f)), ""))));
+    }
+
+    @Test
+    void differentFrameCountMisses() {
+        cache.put(cache.keyOf(input(List.of(hand(0.5f, 0f)), "")), new AiResponseDTO(true, "a", 0.9, "a", 1, 1, null));
+
+        var twoFrames = cache.keyOf(input(List.of(hand(0.5f, 0f), hand(0.5f, 0f)), ""));
+
+        assertEquals(2, twoFrames.frameCount());
+        assertNull(cache.get(twoFrames));
+    }
+
+    @Test
+    void emptyFramesStillSeparateTheFramesAroundThem() {
+        var empty = new HandFrameDTO(List.of());
+
+        var split = cache.keyOf(input(List.of(hand(0.5f, 0f), empty, hand(0.5f, 0f)), ""));
+        var adjacent = cache.keyOf(input(List.of(hand(0.5f, 0f), hand(0.5f, 0f), empty), ""));
+
+        assertNotEquals(split.fingerprint(), adjacent.fingerprint());
+    }
+
+    @Test
+    void jsonAndPackedFramesShareKeys() {
+        var frames = List.of(hand(0.5f, 0f), hand(0.4f, 0.001f));
+
+        assertEquals(cache.keyOf(input(frames, "xin ")), cache.keyOf(packed(frames, "xin ")));
+    }
+
+    @Test
+    void disabledCacheNeverAnswers() {
+        var disabled = new RecognitionCache(new SimpleMeterRegistry());
+        var key = disabled.keyOf(input(List.of(hand(0.5f, 0f)), ""));
+
+        disabled.put(key, new AiResponseDTO(true, "a", 0.9, "a", 1, 1, null));
+
+        assertNull(disabled.get(key));
+    }
+
+    /**
+     * Enabled cache with the application.properties defaults
+     */
+    static RecognitionCache recognitionCache() {
+        var recognitionCache = new RecognitionCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(recognitionCache, "enabled", true);
+        ReflectionTestUtils.setField(recognitionCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(recognitionCache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(recognitionCache, "quantization", 0.01);
+        recognitionCache.init();
+        return recognitionCache;
+    }
+
+    private static GestureInputDTO input(List<HandFrameDTO> frames, String currentText) {
+        return new GestureInputDTO(frames, currentText);
+    }
+
+    private static PackedGestureInput packed(List<HandFrameDTO> frames, String currentText) {
+        var landmarksPerFrame = frames.get(0).landmarks().size();
+        var coordinates = new float[frames.size() * landmarksPerFrame * PackedGestureInput.AXES];
+        var i = 0;
+        for (var frame : frames) {
+            for (var landmark : frame.landmarks()) {
+                coordinates[i++] = landmark.x();
+                coordinates[i++] = landmark.y();
+                coordinates[i++] = landmark.z();
+            }
+        }
+        return new PackedGestureInput(frames.size(), landmarksPerFrame, coordinates, currentText);
+    }
+
+    /**
+     * 21 landmarks fanned out from a wrist at (origin, origin); jitter moves every non-wrist landmark
+     * Offsets sit mid-grid (x.x3) so a small jitter never crosses a quantization boundary.
+     */
+    private static HandFrameDTO hand(float origin, float jitter) {
+        var landmarks = new ArrayList<LandmarkDTO>();
+        landmarks.add(new LandmarkDTO(origin, origin, 0f));
+        for (int i = 1; i < 21; i++) {
+            var offset = i * 0.01f + 0.003f + jitter;
+            landmarks.add(new LandmarkDTO(origin + offset, origin - offset, offset / 2));
+        }
+        return new HandFrameDTO(landmarks);
+    }
+}
@@ -0,0 +1,176 @@
+package com.capstone.vsl.integration;
+
+import com.capstone.vsl.integration.dto.GestureInputDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.LandmarkDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Stage timers of the recognition path against a stub unified AI service, direct and micro-batched
+ */
+class RecognitionMetricsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String RESULT =
+            "{\"success\":true,\"raw_char\":\"a\",\"confidence\":0.9,\"final_sentence\":\"a\"}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecognitionMetrics metrics = new RecognitionMetrics(registry);
+    private StubAiServer stub;
+    private RecognitionBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        metrics.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.stop();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void directCallRecordsRoundTripAndParse() {
+        stub = StubAiServer.start().respond("/predict", RESULT);
+        batcher = batcher(false);
+        var service = service();
+
+        service.processGesture(new GestureInputDTO(List.of(frame()), ""));
+
+        assertEquals(1, count(RecognitionMetrics.AI_CALL, "0-15", "success"));
+        assertEquals(1, count(RecognitionMetrics.PARSE, "0-15", "success"));
+        assertNull(timer(RecognitionMetrics.BATCH_WAIT, "0-15", "success"));
+        assertEquals(1, registry.get("vsl.recognition.confidence").summary().count());
+    }
+
+    @Test
+    void batchedCallSeparatesCallerWaitFromTheRoundTrip() throws Exception {
+        stub = StubAiServer.start().handle("/predict/batch", Duration.ofMillis(20), body -> {
+            var size = readRequestCount(body);
+            return "{\"success\":true,\"results\":[" + String.join(",", Collections.nCopies(size, RESULT)) + "]}";
+        });
+        batcher = batcher(true);
+        var service = service();
+
+        var callers = 4;
+        var results = new ArrayList<Future<String>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                var text = "user" + i + " ";
+                results.add(executor.submit((Callable<String>) () ->
+                        service.processGesture(new GestureInputDTO(List.of(frame()), text))));
+            }
+        }
+        for (var result : results) {
+            result.get();
+        }
+
+        // One batch-wait per caller, one ai-call / parse per batched round trip
+        assertEquals(callers, count(RecognitionMetrics.BATCH_WAIT, "0-15", "success"));
+        assertNull(timer(RecognitionMetrics.AI_CALL, "0-15", "success"));
+        assertEquals(stub.requestCount(), count(RecognitionMetrics.AI_CALL, "batch", "success"));
+        assertEquals(stub.requestCount(), count(RecognitionMetrics.PARSE, "batch", "success"));
+    }
+
+    @Test
+    void failedStageIsTaggedWithItsOutcome() {
+        assertThrows(ResourceAccessException.class, () -> metrics.time(RecognitionMetrics.AI_CALL, 40, () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertEquals(1, count(RecognitionMetrics.AI_CALL, "31-60", "unavailable"));
+    }
+
+    @Test
+    void frameCountsAreBucketed() {
+        assertEquals("0-15", RecognitionMetrics.frameBucket(0));
+        assertEquals("16-30", RecognitionMetrics.frameBucket(30));
+        assertEquals("121+", RecognitionMetrics.frameBucket(500));
+        assertEquals("batch", RecognitionMetrics.frameBucket(RecognitionMetrics.BATCH));
+    }
+
+    private GestureIntegrationService service() {
+        var preprocessor = new FramePreprocessor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(preprocessor, "enabled", false);
+        preprocessor.init();
+        var service = new GestureIntegrationService(aiReplicaPool(), limiter(), circuitBreaker(), batcher,
+                RecognitionCacheTest.recognitionCache(), preprocessor, MAPPER, metrics);
+        ReflectionTestUtils.setField(service, "sentenceWindowWords", 3);
+        return service;
+    }
+
+    private RecognitionBatcher batcher(boolean enabled) {
+        var recognitionBatcher = new RecognitionBatcher(aiReplicaPool(), limiter(), circuitBreaker(),
+                new SimpleMeterRegistry(), MAPPER, metrics);
+        ReflectionTestUtils.setField(recognitionBatcher, "enabled", enabled);
+        ReflectionTestUtils.setField(recognitionBatcher, "maxBatchSize", 4);
+        ReflectionTestUtils.setField(recognitionBatcher, "maxWaitMs", 50);
+        ReflectionTestUtils.setField(recognitionBatcher, "maxQueued", 100);
+        recognitionBatcher.start();
+        return recognitionBatcher;
+    }
+
+    private AiReplicaPool aiReplicaPool() {
+        return new AiReplicaPool("ai-service", List.of(stub.url("/predict")),
+                url -> RestClient.builder().baseUrl(url).build(),
+                "/health", Duration.ZERO, false, Duration.ZERO, 0);
+    }
+
+    private long count(String stage, String frames, String outcome) {
+        var timer = timer(stage, frames, outcome);
+        return timer != null ? timer.count() : 0;
+    }
+
+    private Timer timer(String stage, String frames, String outcome) {
+        return registry.find("vsl.recognition.stage")
+                .tags("stage", stage, "frames", frames, "outcome", outcome)
+                .timer();
+    }
+
+    private static int readRequestCount(byte[] body) {
+        try {
+            return MAPPER.readTree(body).get("requests").size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ConcurrencyLimiter limiter() {
+        return new ConcurrencyLimiter("ai-service", 4, 100, Duration.ofSeconds(5));
+    }
+
+    private static CircuitBreaker circuitBreaker() {
+        return new CircuitBreaker("ai-service", 20, 10, 50, Duration.ZERO, Duration.ofSeconds(10), 3, e -> true);
+    }
+
+    private static HandFrameDTO frame() {
+        return new HandFrameDTO(Collections.nCopies(21, new LandmarkDTO(0.1f, 0.2f, 0.3f)));
+    }
+}
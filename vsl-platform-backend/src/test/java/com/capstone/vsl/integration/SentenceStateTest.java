@@ -0,0 +1,54 @@
+package com.capstone.vsl.integration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Incremental sentence state: only the trailing window is sent, earlier words are confirmed
+ */
+class SentenceStateTest {
+
+    /**
+     * Stand-in for the AI service's accent restoration (word by word)
+     */
+    private static final Map<String, String> ACCENTS = Map.of(
+            "xin", "xin", "chao", "chào", "cac", "các", "ban", "bạn", "toi", "tôi", "la", "là");
+
+    @Test
+    void windowStaysBoundedWhileSpelling() {
+        var sentence = new SentenceState("", 3);
+        var text = "xin chao cac ban toi la ";
+        for (var c : text.toCharArray()) {
+            var rawChar = c == ' ' ? "SPACE" : String.valueOf(c);
+            var window = sentence.window();
+            assertTrue(window.trim().split(" ").length <= 3, "Window grew: " + window);
+            sentence.apply(rawChar, restore(window + (c == ' ' ? " " : rawChar)));
+        }
+
+        assertEquals("xin chào các bạn tôi là", sentence.text());
+        assertEquals("ban toi la ", sentence.window());
+    }
+
+    @Test
+    void accentedClientTextIsSplitIntoConfirmedAndUnaccentedWindow() {
+        var sentence = new SentenceState("xin chào các bạn", 3);
+
+        assertEquals("chao cac ban", sentence.window());
+        assertEquals("xin chào các bạn", sentence.apply("SPACE", "chào các bạn"));
+        assertEquals("chao cac ban ", sentence.window());
+        assertEquals("xin chào các bạn t", sentence.apply("t", "chào các bạn t"));
+        assertEquals("cac ban t", sentence.window());
+    }
+
+    private static String restore(String raw) {
+        var words = raw.trim().split(" ");
+        for (int i = 0; i < words.length; i++) {
+            words[i] = ACCENTS.getOrDefault(words[i], words[i]);
+        }
+        return String.join(" ", words);
+    }
+}
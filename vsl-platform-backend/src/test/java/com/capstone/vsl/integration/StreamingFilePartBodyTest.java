@@ -0,0 +1,83 @@
+package com.capstone.vsl.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Multipart framing and the two copy paths of the streaming upload body
+ */
+class StreamingFilePartBodyTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fileBackedResourceIsReadThroughItsChannel() throws IOException {
+        var file = Files.write(tempDir.resolve("clip.mp4"), content());
+        // Opening the stream would fail, so the bytes can only have come from the FileChannel
+        var resource = new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() {
+                throw new AssertionError("FileChannel path expected");
+            }
+        };
+
+        var written = write(new StreamingFilePartBody("file", "clip.mp4", "video/mp4", resource));
+
+        assertTrue(written.contains(new String(content(), StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void servletPartIsCopiedThroughItsInputStream() throws IOException {
+        var upload = new MockMultipartFile("file", "clip.mp4", "video/mp4", content());
+        // MultipartFile's default resource (as for the servlet part) is not file-backed
+        var resource = upload.getResource();
+        assertFalse(resource.isFile());
+
+        var written = write(new StreamingFilePartBody("file", "clip.mp4", "video/mp4", resource));
+
+        assertTrue(written.contains(new String(content(), StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void writesOneFilePartBetweenBoundaries() throws IOException {
+        var upload = new MockMultipartFile("file", "a\"b.mp4", null, "xyz".getBytes(StandardCharsets.US_ASCII));
+        var body = new StreamingFilePartBody("file", upload.getOriginalFilename(), null, upload.getResource());
+        var boundary = body.contentType().getParameter("boundary");
+
+        var written = write(body);
+
+        assertEquals("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"a\\\"b.mp4\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n"
+                + "xyz\r\n"
+                + "--" + boundary + "--\r\n", written);
+    }
+
+    private static String write(StreamingFilePartBody body) throws IOException {
+        var out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] content() {
+        var bytes = new byte[64 * 1024 + 3];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,97 @@
+package com.capstone.vsl.integration;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in for the Python AI services, bound to an ephemeral localhost port
+ * Each route maps the raw request body to a response (JSON unless stated), optionally after a fixed latency.
+ */
+final class StubAiServer implements AutoCloseable {
+
+    static {
+        // Without TCP_NODELAY, keep-alive connections stall ~40 ms per response (Nagle + delayed ACK)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private StubAiServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    static StubAiServer start() {
+        return new StubAiServer();
+    }
+
+    /**
+     * Answer every request on {@code path} with a fixed JSON body
+     */
+    StubAiServer respond(String path, String json) {
+        return handle(path, Duration.ZERO, body -> json);
+    }
+
+    /**
+     * Answer every request on {@code path} with a fixed body of another content type (e.g. NDJSON)
+     */
+    StubAiServer respond(String path, String contentType, String body) {
+        return handle(path, Duration.ZERO, contentType, requestBody -> body);
+    }
+
+    /**
+     * Answer requests on {@code path} with {@code handler(requestBody)} after {@code latency}
+     */
+    StubAiServer handle(String path, Duration latency, Function<byte[], String> handler) {
+        return handle(path, latency, "application/json", handler);
+    }
+
+    private StubAiServer handle(String path, Duration latency, String contentType, Function<byte[], String> handler) {
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                requestCount.incrementAndGet();
+                var requestBody = exchange.getRequestBody().readAllBytes();
+                if (!latency.isZero()) {
+                    Thread.sleep(latency);
+                }
+                var response = handler.apply(requestBody).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", contentType);
+                exchange.sendResponseHeaders(200, response.length);
+                exchange.getResponseBody().write(response);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return this;
+    }
+
+    String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    int requestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,120 @@
+package com.capstone.vsl.integration.codec;
+
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedLandmarkCodecTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        var input = input(3, 21, "xin chào");
+
+        var decoded = PackedLandmarkCodec.decode(ByteBuffer.wrap(PackedLandmarkCodec.encode(input)));
+
+        assertEquals(3, decoded.frameCount());
+        assertEquals(21, decoded.landmarksPerFrame());
+        assertEquals("xin chào", decoded.currentText());
+        assertArrayEquals(input.coordinates(), decoded.coordinates());
+    }
+
+    @Test
+    void decodesFromTheBufferPositionRegardlessOfByteOrder() {
+        var payload = PackedLandmarkCodec.encode(input(1, 2, ""));
+        var buffer = ByteBuffer.allocate(payload.length + 4).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(0xCAFEBABE).put(payload).position(4);
+
+        var decoded = PackedLandmarkCodec.decode(buffer);
+
+        assertEquals(1, decoded.frameCount());
+        assertArrayEquals(input(1, 2, "").coordinates(), decoded.coordinates());
+    }
+
+    @Test
+    void rejectsPayloadShorterThanTheHeader() {
+        var error = decodeError(new byte[PackedLandmarkCodec.HEADER_BYTES - 1]);
+
+        assertTrue(error.getMessage().contains("shorter than its header"));
+    }
+
+    @Test
+    void rejectsTruncatedCoordinates() {
+        var payload = PackedLandmarkCodec.encode(input(2, 21, "a"));
+
+        var error = decodeError(Arrays.copyOf(payload, payload.length - Float.BYTES));
+
+        assertTrue(error.getMessage().contains("size mismatch"));
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        var payload = PackedLandmarkCodec.encode(input(2, 21, "a"));
+
+        var error = decodeError(Arrays.copyOf(payload, payload.length + 1));
+
+        assertTrue(error.getMessage().contains("size mismatch"));
+    }
+
+    @Test
+    void rejectsBadMagicAndVersion() {
+        var badMagic = PackedLandmarkCodec.encode(input(1, 21, ""));
+        badMagic[0] = 'X';
+        var badVersion = PackedLandmarkCodec.encode(input(1, 21, ""));
+        badVersion[4] = 2;
+
+        assertTrue(decodeError(badMagic).getMessage().contains("magic"));
+        assertTrue(decodeError(badVersion).getMessage().contains("version"));
+    }
+
+    @Test
+    void rejectsFrameCountsOutsideTheLimit() {
+        var empty = header(21, 0);
+        var oversized = header(21, PackedLandmarkCodec.MAX_FRAMES + 1);
+        var negative = header(21, -1);
+
+        assertTrue(decodeError(empty).getMessage().contains("Frame count"));
+        assertTrue(decodeError(oversized).getMessage().contains("Frame count"));
+        assertTrue(decodeError(negative).getMessage().contains("Frame count"));
+    }
+
+    @Test
+    void refusesToEncodeTextLongerThanTheLengthField() {
+        var input = input(1, 21, "a".repeat(0x10000));
+
+        assertThrows(IllegalArgumentException.class, () -> PackedLandmarkCodec.encode(input));
+    }
+
+    private static IllegalArgumentException decodeError(byte[] payload) {
+        return assertThrows(IllegalArgumentException.class, () -> PackedLandmarkCodec.decode(ByteBuffer.wrap(payload)));
+    }
+
+    /**
+     * A header claiming the given frame count, with no body
+     */
+    private static byte[] header(int landmarksPerFrame, int frameCount) {
+        return ByteBuffer.allocate(PackedLandmarkCodec.HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(PackedLandmarkCodec.MAGIC)
+                .put((byte) PackedLandmarkCodec.VERSION)
+                .put((byte) landmarksPerFrame)
+                .putShort((short) 0)
+                .putInt(frameCount)
+                .array();
+    }
+
+    private static PackedGestureInput input(int frames, int landmarks, String text) {
+        var coordinates = new float[frames * landmarks * PackedGestureInput.AXES];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = i * 0.01f - 0.5f;
+        }
+        return new PackedGestureInput(frames, landmarks, coordinates, text);
+    }
+}
@@ -0,0 +1,148 @@
+package com.capstone.vsl.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import com.capstone.vsl.document.DictionaryDocument;
+import com.capstone.vsl.entity.Dictionary;
+import com.capstone.vsl.repository.DictionaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DictionaryIndexerTest {
+
+    private final Map<Long, Dictionary> rows = Map.of(
+            1L, Dictionary.builder().id(1L).word("xin chào").videoUrl("1.mp4").build(),
+            2L, Dictionary.builder().id(2L).word("cảm ơn").videoUrl("2.mp4").build());
+
+    private final List<List<String>> bulkRequests = new ArrayList<>();
+    private final List<Set<Long>> syncedUpdates = new ArrayList<>();
+    private Set<String> rejectedIds = Set.of();
+
+    @Test
+    void writesExistingRowsAndRemovesDeletedOnesInOneBulkRequest() {
+        var failed = indexer().sync(List.of(1L, 2L, 1L, 3L));
+
+        assertEquals(List.of(), failed);
+        assertEquals(1, bulkRequests.size());
+        assertEquals(Set.of("index dictionary 1", "index dictionary 2", "delete dictionary 3"),
+                Set.copyOf(bulkRequests.get(0)));
+        assertEquals(3, bulkRequests.get(0).size());
+        assertEquals(List.of(Set.of(1L, 2L)), syncedUpdates);
+    }
+
+    @Test
+    void shadowWritesAndDeletesShareTheBulkRequest() {
+        var indexer = indexer();
+        indexer.startShadow("dictionary_v2");
+
+        indexer.sync(List.of(1L, 3L));
+
+        assertEquals(List.of(List.of("index dictionary 1", "delete dictionary 3",
+                "index dictionary_v2 1", "delete dictionary_v2 3")), bulkRequests);
+    }
+
+    @Test
+    void rejectedDocumentsAreNotMarkedSynced() {
+        rejectedIds = Set.of("2");
+
+        var failed = indexer().sync(List.of(1L, 2L));
+
+        assertEquals(List.of(2L), failed);
+        assertEquals(List.of(Set.of(1L)), syncedUpdates);
+    }
+
+    @Test
+    void nothingIsSentForNoIds() {
+        assertEquals(List.of(), indexer().sync(List.of()));
+        assertEquals(List.of(), bulkRequests);
+    }
+
+    private DictionaryIndexer indexer() {
+        var indexer = new DictionaryIndexer(repository(), operations(), client(), new SimpleMeterRegistry());
+        indexer.init();
+        return indexer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DictionaryRepository repository() {
+        var repository = mock(DictionaryRepository.class);
+        when(repository.findAllById(any())).thenAnswer(invocation -> StreamSupport
+                .stream(((Iterable<Long>) invocation.getArgument(0)).spliterator(), false)
+                .filter(rows::containsKey)
+                .map(rows::get)
+                .toList());
+        when(repository.markElasticSynced(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            syncedUpdates.add(Set.copyOf(ids));
+            return ids.size();
+        });
+        return repository;
+    }
+
+    private static ElasticsearchOperations operations() {
+        var converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        var operations = mock(ElasticsearchOperations.class);
+        when(operations.getIndexCoordinatesFor(DictionaryDocument.class)).thenReturn(IndexCoordinates.of("dictionary"));
+        when(operations.getElasticsearchConverter()).thenReturn(converter);
+        return operations;
+    }
+
+    /**
+     * Client over a stubbed transport that records each bulk request as "operation index id" lines
+     * and rejects index operations for rejectedIds
+     */
+    private ElasticsearchClient client() {
+        var transport = mock(ElasticsearchTransport.class);
+        when(transport.jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+        try {
+            when(transport.performRequest(any(BulkRequest.class), any(), any())).thenAnswer(invocation -> {
+                BulkRequest request = invocation.getArgument(0);
+                var operations = new ArrayList<String>();
+                var items = new ArrayList<BulkResponseItem>();
+                for (var operation : request.operations()) {
+                    var type = operation.isIndex() ? OperationType.Index : OperationType.Delete;
+                    var index = operation.isIndex() ? operation.index().index() : operation.delete().index();
+                    var id = operation.isIndex() ? operation.index().id() : operation.delete().id();
+                    operations.add(type.jsonValue() + " " + index + " " + id);
+                    var rejected = operation.isIndex() && rejectedIds.contains(id);
+                    items.add(BulkResponseItem.of(item -> {
+                        item.operationType(type).index(index).id(id).status(rejected ? 400 : 200);
+                        if (rejected) {
+                            item.error(error -> error.type("mapper_parsing_exception").reason("failed to parse"));
+                        }
+                        return item;
+                    }));
+                }
+                bulkRequests.add(operations);
+                return BulkResponse.of(response -> response.took(1).errors(!rejectedIds.isEmpty()).items(items));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ElasticsearchClient(transport);
+    }
+}
@@ -0,0 +1,151 @@
+package com.capstone.vsl.service;
+
+import com.capstone.vsl.entity.DictionaryOutboxEvent;
+import com.capstone.vsl.repository.DictionaryOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DictionaryOutboxRelayTest {
+
+    private final List<DictionaryOutboxEvent> events = new ArrayList<>(List.of(
+            event(10L, 1L, 0), event(11L, 1L, 0), event(12L, 2L, 0)));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Collection<Long>> synced = new ArrayList<>();
+    private final List<Collection<Long>> deleted = new ArrayList<>();
+    private final List<Collection<Long>> rescheduled = new ArrayList<>();
+    private final Map<Long, LocalDateTime> nextAttemptAt = new HashMap<>();
+    private final List<Collection<Long>> parked = new ArrayList<>();
+    private boolean elasticsearchDown;
+    private List<Long> rejectedIds = List.of();
+
+    @Test
+    void coalescesEventsByEntryAndDeletesThemOnceWritten() {
+        var drained = relay().relayBatch();
+
+        assertTrue(drained);
+        assertEquals(List.of(List.of(1L, 2L)), synced);
+        assertEquals(List.of(List.of(10L, 11L, 12L)), deleted);
+        assertEquals(List.of(), rescheduled);
+    }
+
+    @Test
+    void failedBatchIsPushedBackWithBackoff() {
+        elasticsearchDown = true;
+        var before = LocalDateTime.now();
+
+        relay().relayBatch();
+
+        assertEquals(List.of(), deleted);
+        assertEquals(List.of(List.of(10L, 11L, 12L)), rescheduled);
+        assertTrue(!nextAttemptAt.get(10L).isBefore(before.plusSeconds(1)));
+    }
+
+    @Test
+    void backoffFollowsEachEventsOwnAttempts() {
+        elasticsearchDown = true;
+        events.set(2, event(12L, 2L, 5));
+        var before = LocalDateTime.now();
+
+        relay().relayBatch();
+
+        assertEquals(2, rescheduled.size());
+        // A fresh event is retried after backoff, not after the backoff of an older event in the same batch
+        assertTrue(nextAttemptAt.get(10L).isBefore(before.plusSeconds(2)), "Fresh event: " + nextAttemptAt.get(10L));
+        assertEquals(nextAttemptAt.get(10L), nextAttemptAt.get(11L));
+        assertTrue(!nextAttemptAt.get(12L).isBefore(before.plus(Duration.ofSeconds(32))), "5th retry: " + nextAttemptAt.get(12L));
+    }
+
+    @Test
+    void rejectedEventIsParkedOnItsLastAttempt() {
+        rejectedIds = List.of(2L);
+        events.set(2, event(12L, 2L, 9));
+
+        relay().relayBatch();
+
+        assertEquals(List.of(List.of(10L, 11L)), deleted);
+        assertEquals(List.of(List.of(12L)), parked);
+        assertEquals(List.of(), rescheduled);
+        assertEquals(1.0, meterRegistry.get("vsl.search.outbox.dead").gauge().value());
+    }
+
+    @Test
+    void outageNeverParksEvents() {
+        elasticsearchDown = true;
+        events.set(2, event(12L, 2L, 30));
+
+        relay().relayBatch();
+
+        assertEquals(List.of(), parked);
+        assertTrue(rescheduled.stream().anyMatch(ids -> ids.contains(12L)));
+    }
+
+    private DictionaryOutboxRelay relay() {
+        var indexer = new DictionaryIndexer(null, null, null, null) {
+            @Override
+            public List<Long> sync(Collection<Long> ids) {
+                if (elasticsearchDown) {
+                    throw new DataAccessResourceFailureException("Connection refused: localhost:9200");
+                }
+                synced.add(List.copyOf(ids));
+                return rejectedIds;
+            }
+        };
+        var relay = new DictionaryOutboxRelay(repository(), indexer, meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "backoffMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 60000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 10);
+        relay.init();
+        return relay;
+    }
+
+    private DictionaryOutboxRepository repository() {
+        var repository = mock(DictionaryOutboxRepository.class);
+        when(repository.findDue(any(), any())).thenAnswer(invocation -> List.copyOf(events));
+        when(repository.findOldestCreatedAt()).thenReturn(Optional.empty());
+        when(repository.countByDeadAtIsNotNull()).thenAnswer(invocation ->
+                parked.stream().mapToLong(Collection::size).sum());
+        doAnswer(invocation -> deleted.add(List.copyOf(invocation.<Collection<Long>>getArgument(0))))
+                .when(repository).deleteAllByIdInBatch(any());
+        when(repository.reschedule(any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            rescheduled.add(List.copyOf(ids));
+            ids.forEach(id -> nextAttemptAt.put(id, invocation.getArgument(1)));
+            return ids.size();
+        });
+        when(repository.markDead(any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            parked.add(List.copyOf(ids));
+            return ids.size();
+        });
+        return repository;
+    }
+
+    private static DictionaryOutboxEvent event(Long id, Long dictionaryId, int attempts) {
+        return DictionaryOutboxEvent.builder()
+                .id(id)
+                .dictionaryId(dictionaryId)
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .attempts(attempts)
+                .build();
+    }
+}
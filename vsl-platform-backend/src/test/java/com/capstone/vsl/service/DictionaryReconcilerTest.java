@@ -0,0 +1,83 @@
+package com.capstone.vsl.service;
+
+import com.capstone.vsl.repository.DictionaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DictionaryReconcilerTest {
+
+    private final TreeSet<Long> rows = new TreeSet<>(List.of(1L, 2L, 3L, 4L, 5L));
+    private final TreeSet<Long> unsynced = new TreeSet<>(List.of(2L, 3L, 5L));
+    private final TreeSet<Long> indexed = new TreeSet<>(List.of(1L, 4L, 6L, 7L));
+    private final List<Collection<Long>> synced = new ArrayList<>();
+
+    @Test
+    void resyncsUnsyncedRowsPageByPageAndRemovesOrphans() {
+        var report = reconciler(2, 0).reconcile();
+
+        assertEquals(List.of(List.of(2L, 3L), List.of(5L), Set.of(6L, 7L)), synced);
+        assertEquals(3, report.getResynced());
+        assertEquals(0, report.getFailed());
+        assertEquals(4, report.getIndexedChecked());
+        assertEquals(2, report.getOrphansRemoved());
+    }
+
+    @Test
+    void throughputIsCapped() {
+        var started = System.nanoTime();
+
+        reconciler(2, 20).reconcile();
+
+        // 3 unsynced + 4 indexed documents at 20 per second
+        assertTrue(System.nanoTime() - started >= 300_000_000L);
+    }
+
+    private DictionaryReconciler reconciler(int pageSize, int maxDocsPerSecond) {
+        var indexer = new DictionaryIndexer(null, null, null, null) {
+            @Override
+            public List<Long> sync(Collection<Long> ids) {
+                synced.add(ids instanceof Set<?> ? Set.copyOf(ids) : List.copyOf(ids));
+                unsynced.removeAll(ids);
+                return List.of();
+            }
+        };
+        var reconciler = new DictionaryReconciler(repository(), indexer, null, new SimpleMeterRegistry()) {
+            @Override
+            List<Long> indexedIdsAfter(Long afterId) {
+                var after = afterId == null ? indexed : indexed.tailSet(afterId, false);
+                return after.stream().limit(pageSize).toList();
+            }
+        };
+        ReflectionTestUtils.setField(reconciler, "pageSize", pageSize);
+        ReflectionTestUtils.setField(reconciler, "maxDocsPerSecond", maxDocsPerSecond);
+        ReflectionTestUtils.setField(reconciler, "orphansEnabled", true);
+        reconciler.init();
+        return reconciler;
+    }
+
+    private DictionaryRepository repository() {
+        var repository = mock(DictionaryRepository.class);
+        when(repository.findUnsyncedIdsAfter(anyLong(), any())).thenAnswer(invocation -> unsynced
+                .tailSet(invocation.<Long>getArgument(0), false).stream()
+                .limit(invocation.<Pageable>getArgument(1).getPageSize())
+                .toList());
+        when(repository.findExistingIds(any())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+                .stream().filter(rows::contains).toList());
+        return repository;
+    }
+}
@@ -0,0 +1,229 @@
+package com.capstone.vsl.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.capstone.vsl.document.DictionaryDocument;
+import com.capstone.vsl.dto.ReindexReportDTO;
+import com.capstone.vsl.dto.ReindexStatus;
+import com.capstone.vsl.entity.Dictionary;
+import com.capstone.vsl.repository.DictionaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DictionaryReindexerTest {
+
+    private static final List<Dictionary> ROWS = LongStream.rangeClosed(1, 5)
+            .<Dictionary>mapToObj(id -> Dictionary.builder().id(id).word("word " + id).build())
+            .toList();
+
+    private final DictionaryRepository repository = mock(DictionaryRepository.class);
+    private final DictionaryIndexer indexer = mock(DictionaryIndexer.class);
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private final Map<String, IndexOperations> indices = new ConcurrentHashMap<>();
+    private final List<List<String>> bulkRequests = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void firstSwapReplacesTheConcreteIndexInTheSameRequest() {
+        var actions = DictionaryReindexer.swapActions("dictionary", List.of("dictionary"), "dictionary_20250101000000");
+
+        assertEquals(List.of("RemoveIndex dictionary", "Add dictionary_20250101000000 -> dictionary (write)"),
+                describe(actions));
+    }
+
+    @Test
+    void laterSwapsMoveTheAlias() {
+        var actions = DictionaryReindexer.swapActions("dictionary",
+                List.of("dictionary_20250101000000"), "dictionary_20250202000000");
+
+        assertEquals(List.of("Remove dictionary_20250101000000 -> dictionary",
+                        "Add dictionary_20250202000000 -> dictionary (write)"),
+                describe(actions));
+    }
+
+    @Test
+    void copiesEveryPageWithCreateOperationsAndSwapsTheAlias() {
+        var report = reindexer().reindex();
+
+        assertEquals(ReindexStatus.SUCCEEDED, report.getStatus());
+        assertEquals(5, report.getDocuments());
+        assertEquals(5, report.getExpectedDocuments());
+        // Keyset pages of page-size rows, each one bulk request
+        assertEquals(List.of(List.of("1", "2"), List.of("3", "4"), List.of("5")), sorted(bulkRequests));
+        verify(newIndex(report)).alias(any(AliasActions.class));
+        verify(indexer).startShadow(report.getIndex());
+        verify(indexer, never()).sync(any());
+    }
+
+    @Test
+    void documentsAlreadyCreatedByShadowWritesAreNotFailures() {
+        // 409: the shadow write created the document first, with newer data than the copy
+        when(operations.bulkIndex(any(), any(IndexCoordinates.class))).thenThrow(new BulkFailureException("conflict",
+                Map.of("2", new BulkFailureException.FailureDetails(409, "version_conflict_engine_exception"))));
+
+        var report = reindexer().reindex();
+
+        assertEquals(ReindexStatus.SUCCEEDED, report.getStatus());
+    }
+
+    @Test
+    void rejectedDocumentsFailTheBuildAndDeleteTheNewIndex() {
+        when(operations.bulkIndex(any(), any(IndexCoordinates.class))).thenThrow(new BulkFailureException("rejected",
+                Map.of("2", new BulkFailureException.FailureDetails(400, "mapper_parsing_exception"))));
+
+        var report = reindexer().reindex();
+
+        assertEquals(ReindexStatus.FAILED, report.getStatus());
+        assertTrue(report.getError().contains("1 documents were rejected"), report.getError());
+        verify(newIndex(report), never()).alias(any(AliasActions.class));
+        verify(newIndex(report)).delete();
+        verify(indexer, atLeastOnce()).stopShadow();
+    }
+
+    @Test
+    void failedBuildDeletesTheNewIndexAndLeavesTheAlias() {
+        when(repository.findPageAfter(anyLong(), any(Pageable.class))).thenThrow(new IllegalStateException("connection lost"));
+
+        var report = reindexer().reindex();
+
+        assertEquals(ReindexStatus.FAILED, report.getStatus());
+        assertEquals("connection lost", report.getError());
+        verify(newIndex(report), never()).alias(any(AliasActions.class));
+        verify(newIndex(report)).delete();
+    }
+
+    @Test
+    void rowsChangedDuringTheCopyAreCaughtUpAfterTheSwap() {
+        when(repository.findIdsUpdatedSince(any())).thenReturn(List.of(3L, 7L, 8L));
+
+        var report = reindexer().reindex();
+
+        assertEquals(3, report.getCaughtUp());
+        // page-size ids per sync, written through the alias that now points to the new index
+        verify(indexer).sync(List.of(3L, 7L));
+        verify(indexer).sync(List.of(8L));
+    }
+
+    @Test
+    void startRunsInTheBackgroundAndReportsProgress() throws InterruptedException {
+        var copying = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(repository.findPageAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            if (afterId == 2) {
+                copying.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return page(afterId, invocation.getArgument(1));
+        });
+        var reindexer = reindexer();
+
+        var started = reindexer.start();
+        assertEquals(ReindexStatus.RUNNING, started.getStatus());
+        assertTrue(copying.await(5, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, reindexer::start);
+        var progress = reindexer.status().orElseThrow();
+        assertEquals(ReindexStatus.RUNNING, progress.getStatus());
+        assertEquals(2, progress.getDocuments());
+
+        release.countDown();
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (reindexer.status().orElseThrow().getStatus() == ReindexStatus.RUNNING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        var finished = reindexer.status().orElseThrow();
+        assertEquals(ReindexStatus.SUCCEEDED, finished.getStatus());
+        assertEquals(5, finished.getDocuments());
+        assertTrue(finished.getDocsPerSecond() > 0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(operations.getIndexCoordinatesFor(DictionaryDocument.class)).thenReturn(IndexCoordinates.of("dictionary"));
+        var documentOps = mock(IndexOperations.class);
+        when(documentOps.createSettings()).thenReturn(new Settings());
+        when(documentOps.createMapping()).thenReturn(Document.create());
+        when(operations.indexOps(DictionaryDocument.class)).thenReturn(documentOps);
+        when(operations.indexOps(any(IndexCoordinates.class))).thenAnswer(invocation ->
+                indices.computeIfAbsent(invocation.<IndexCoordinates>getArgument(0).getIndexName(),
+                        name -> mock(IndexOperations.class)));
+        when(operations.bulkIndex(any(), any(IndexCoordinates.class))).thenAnswer(invocation -> {
+            List<IndexQuery> queries = invocation.getArgument(0);
+            assertTrue(queries.stream().allMatch(query -> query.getOpType() == IndexQuery.OpType.CREATE));
+            bulkRequests.add(queries.stream().map(IndexQuery::getId).toList());
+            return List.of();
+        });
+        when(repository.count()).thenReturn((long) ROWS.size());
+        when(repository.findPageAfter(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> page(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    private DictionaryReindexer reindexer() {
+        var reindexer = new DictionaryReindexer(repository, indexer, operations,
+                mock(ElasticsearchClient.class, Answers.RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(reindexer, "pageSize", 2);
+        ReflectionTestUtils.setField(reindexer, "concurrency", 2);
+        return reindexer;
+    }
+
+    private static List<Dictionary> page(long afterId, Pageable pageable) {
+        return ROWS.stream()
+                .filter(row -> row.getId() > afterId)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    private IndexOperations newIndex(ReindexReportDTO report) {
+        return indices.get(report.getIndex());
+    }
+
+    private static List<List<String>> sorted(List<List<String>> requests) {
+        return requests.stream()
+                .sorted((a, b) -> a.get(0).compareTo(b.get(0)))
+                .toList();
+    }
+
+    private static List<String> describe(AliasActions actions) {
+        return actions.getActions().stream()
+                .map(action -> {
+                    var parameters = action.getParameters();
+                    var description = action.getClass().getSimpleName() + " " + String.join(",", parameters.getIndices());
+                    if (!(action instanceof AliasAction.RemoveIndex)) {
+                        description += " -> " + String.join(",", parameters.getAliases());
+                    }
+                    return Boolean.TRUE.equals(parameters.getWriteIndex()) ? description + " (write)" : description;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,26 @@
+package com.capstone.vsl.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DictionarySearchCursorTest {
+
+    @Test
+    void cursorsRoundTrip() {
+        var elasticsearch = DictionarySearchCursor.elasticsearch(7.4231f, 42L);
+        var postgresql = DictionarySearchCursor.postgresql(1_000_001L);
+
+        assertEquals(elasticsearch, DictionarySearchCursor.decode(elasticsearch.encode()));
+        assertEquals(postgresql, DictionarySearchCursor.decode(postgresql.encode()));
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> DictionarySearchCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> DictionarySearchCursor.decode("eHg6MTI"));
+        assertThrows(IllegalArgumentException.class, () -> DictionarySearchCursor.decode(
+                DictionarySearchCursor.postgresql(1L).encode().substring(2)));
+    }
+}
@@ -0,0 +1,157 @@
+package com.capstone.vsl.service;
+
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import com.capstone.vsl.document.DictionaryDocument;
+import com.capstone.vsl.document.DictionaryMappings;
+import com.capstone.vsl.dto.DictionaryDTO;
+import com.capstone.vsl.entity.Dictionary;
+import com.capstone.vsl.repository.DictionaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DictionaryServiceTest {
+
+    private final DictionaryRepository repository = mock(DictionaryRepository.class);
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private final List<NativeQuery> searches = new ArrayList<>();
+    private long elasticsearchTotalHits;
+
+    /**
+     * Elasticsearch reports elasticsearchTotalHits matches but returns no hits for the requested page;
+     * PostgreSQL finds one entry
+     */
+    @BeforeEach
+    void setUp() {
+        when(operations.search(any(NativeQuery.class), eq(DictionaryDocument.class))).thenAnswer(invocation -> {
+            searches.add(invocation.getArgument(0));
+            SearchHits<DictionaryDocument> hits = mock();
+            when(hits.getTotalHits()).thenReturn(elasticsearchTotalHits);
+            when(hits.getTotalHitsRelation()).thenReturn(TotalHitsRelation.EQUAL_TO);
+            when(hits.stream()).thenReturn(Stream.empty());
+            return hits;
+        });
+        when(repository.searchByQuery(anyString(), any(Pageable.class)))
+                .thenReturn(List.of(Dictionary.builder().id(1L).word("xin chào").build()));
+        when(repository.countByQuery(anyString(), anyInt())).thenReturn(1L);
+    }
+
+    @Test
+    void numberedPagePastTheLastElasticsearchHitIsEmpty() {
+        elasticsearchTotalHits = 25;
+
+        var page = service().search("xin chào", 3, 10, null);
+
+        assertEquals(List.of(), page.getResults());
+        assertEquals(3, page.getPage());
+        assertEquals(25, page.getTotalHits());
+        assertNull(page.getNextCursor());
+        // PostgreSQL's page 3 is a different result set (ILIKE in id order), so it must not be mixed in
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void elasticsearchMissFallsBackToPostgresql() {
+        elasticsearchTotalHits = 0;
+
+        var page = service().search("xin chào", 0, 10, null);
+
+        verify(repository).searchByQuery("xin chào", PageRequest.of(0, 10));
+        verify(repository).countByQuery("xin chào", 10_000);
+        assertEquals(List.of("xin chào"), page.getResults().stream().map(DictionaryDTO::getWord).toList());
+        assertEquals(1, page.getTotalHits());
+    }
+
+    @Test
+    void cursorPageSearchesAfterTheScoreAndNumericId() {
+        elasticsearchTotalHits = 0;
+
+        var page = service().search("xin chào", 0, 10, DictionarySearchCursor.elasticsearch(7.5f, 42L).encode());
+
+        assertEquals(List.of(), page.getResults());
+        verifyNoInteractions(repository);
+        assertEquals(List.of(7.5f, 42L), searches.get(0).getSearchAfter());
+        // Elasticsearch compares the tie-breaker with the sort field's mapped type: a long id needs a numeric value
+        var sortField = searches.get(0).getSortOptions().get(1).field().field();
+        assertEquals("long", DictionaryMappings.indexMapping().path("properties").path(sortField).path("type").asText());
+    }
+
+    @Test
+    void rankedQueryCombinesFuzzyPrefixAndExactMatches() {
+        var query = service().rankedQuery("xin ch", 2, 20, null);
+
+        var bool = query.getQuery().bool();
+        assertEquals("1", bool.minimumShouldMatch());
+        assertEquals(3, bool.should().size());
+
+        var fuzzy = bool.should().get(0).multiMatch();
+        assertEquals("xin ch", fuzzy.query());
+        assertEquals(List.of("word^3.0", "definition^1.0"), fuzzy.fields());
+        assertEquals("AUTO", fuzzy.fuzziness());
+        assertEquals(1, fuzzy.prefixLength());
+
+        var prefix = bool.should().get(1).match();
+        assertEquals("word.prefix", prefix.field());
+        assertEquals("xin ch", prefix.query().stringValue());
+        assertEquals(Operator.And, prefix.operator());
+        assertNull(prefix.fuzziness());
+        assertEquals(2f, prefix.boost());
+
+        var exact = bool.should().get(2).matchPhrase();
+        assertEquals("word", exact.field());
+        assertEquals("xin ch", exact.query());
+        assertEquals(6f, exact.boost());
+    }
+
+    @Test
+    void rankedQueryIsSortedByScoreThenId() {
+        var query = service().rankedQuery("xin chào", 2, 20, null);
+
+        var sort = query.getSortOptions();
+        assertEquals(2, sort.size());
+        assertTrue(sort.get(0).isScore());
+        assertEquals(SortOrder.Desc, sort.get(0).score().order());
+        assertEquals("id", sort.get(1).field().field());
+        assertEquals(SortOrder.Asc, sort.get(1).field().order());
+        assertEquals(2, query.getPageable().getPageNumber());
+        assertEquals(20, query.getPageable().getPageSize());
+        assertEquals(10_000, query.getTrackTotalHitsUpTo());
+    }
+
+    private DictionaryService service() {
+        var service = new DictionaryService(repository, operations, null);
+        ReflectionTestUtils.setField(service, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(service, "maxPageSize", 50);
+        ReflectionTestUtils.setField(service, "maxResultWindow", 1_000);
+        ReflectionTestUtils.setField(service, "totalHitsLimit", 10_000);
+        ReflectionTestUtils.setField(service, "wordBoost", 3f);
+        ReflectionTestUtils.setField(service, "prefixBoost", 2f);
+        ReflectionTestUtils.setField(service, "definitionBoost", 1f);
+        ReflectionTestUtils.setField(service, "exactBoost", 6f);
+        ReflectionTestUtils.setField(service, "fuzziness", "AUTO");
+        return service;
+    }
+}
@@ -0,0 +1,248 @@
+package com.capstone.vsl.service;
+
+import com.capstone.vsl.dto.GestureJobDTO;
+import com.capstone.vsl.dto.GestureJobStatus;
+import com.capstone.vsl.dto.GestureToTextResponse;
+import com.capstone.vsl.integration.PythonIntegrationService;
+import com.capstone.vsl.integration.exception.GestureRecognitionException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asynchronous gesture jobs with a fake Python pipeline: submit, poll, callback and upload cleanup
+ */
+class GestureJobServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Path> processedUploads = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<JsonNode> callbacks = new LinkedBlockingQueue<>();
+    private HttpServer callbackServer;
+    private boolean modelDown;
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+        if (callbackServer != null) {
+            callbackServer.stop(0);
+        }
+    }
+
+    @Test
+    void submittedJobIsPendingThenSucceeds() throws Exception {
+        var service = service(workers, "");
+
+        var job = service.submit(video(), null);
+
+        assertEquals(GestureJobStatus.PENDING, job.getStatus());
+        assertEquals("clip.mp4", job.getFilename());
+        var finished = awaitFinished(service, job.getJobId());
+        assertEquals(GestureJobStatus.SUCCEEDED, finished.getStatus());
+        assertEquals("xin chào", finished.getResult().getCorrectedText());
+        assertNotNull(finished.getCompletedAt());
+        // The job-owned copy of the upload is deleted once the job has run
+        awaitDeleted(processedUploads.get(0));
+    }
+
+    @Test
+    void failedJobReportsTheError() throws Exception {
+        modelDown = true;
+        var service = service(workers, "");
+
+        var finished = awaitFinished(service, service.submit(video(), null).getJobId());
+
+        assertEquals(GestureJobStatus.FAILED, finished.getStatus());
+        assertEquals("Gesture Recognition Model is unavailable", finished.getError());
+        awaitDeleted(processedUploads.get(0));
+    }
+
+    @Test
+    void unknownJobIsEmpty() {
+        assertTrue(service(workers, "").getJob("missing").isEmpty());
+    }
+
+    @Test
+    void finishedJobIsPostedToTheCallback() throws Exception {
+        var callbackBase = startCallbackServer();
+        var service = service(workers, "http://localhost:1/, " + callbackBase + "/jobs/");
+
+        var job = service.submit(video(), callbackBase + "/jobs/done");
+
+        var delivered = callbacks.poll(5, TimeUnit.SECONDS);
+        assertNotNull(delivered, "Callback was not delivered");
+        assertEquals(job.getJobId(), delivered.get("jobId").asText());
+        assertEquals("SUCCEEDED", delivered.get("status").asText());
+        assertEquals("xin chào", delivered.get("result").get("correctedText").asText());
+    }
+
+    @Test
+    void callbackOutsideTheAllowListIsRejectedBeforeQueueing() {
+        var queued = new ArrayList<Runnable>();
+        var restricted = service(queued::add, "https://hooks.example.com/");
+        var disabled = service(queued::add, "");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> restricted.submit(video(), "https://evil.example.com/hook"));
+        assertThrows(IllegalArgumentException.class,
+                () -> restricted.submit(video(), "https://hooks.example.com.evil.io/"));
+        assertThrows(IllegalArgumentException.class,
+                () -> disabled.submit(video(), "https://hooks.example.com/hook"));
+        assertTrue(queued.isEmpty());
+
+        // The prefix is compared by scheme, host and port, not as a string
+        var hostOnly = service(queued::add, "https://hooks.example.com");
+        assertThrows(IllegalArgumentException.class,
+                () -> hostOnly.submit(video(), "https://hooks.example.com.evil.net/hook"));
+        assertThrows(IllegalArgumentException.class,
+                () -> hostOnly.submit(video(), "https://hooks.example.com@evil.net/hook"));
+        assertThrows(IllegalArgumentException.class,
+                () -> hostOnly.submit(video(), "https://hooks.example.com:8443/hook"));
+        assertThrows(IllegalArgumentException.class,
+                () -> hostOnly.submit(video(), "http://hooks.example.com/hook"));
+        assertTrue(queued.isEmpty());
+
+        restricted.submit(video(), "https://hooks.example.com/hook");
+        hostOnly.submit(video(), "https://HOOKS.example.com:443/hook");
+        assertEquals(2, queued.size());
+        restricted.deleteQueuedUploads();
+        hostOnly.deleteQueuedUploads();
+    }
+
+    @Test
+    void resultTtlStartsWhenTheJobFinishes() throws Exception {
+        var queued = new ArrayList<Runnable>();
+        var service = service(queued::add, "");
+        ReflectionTestUtils.setField(service, "resultTtlMs", 50L);
+        service.init();
+        var jobId = service.submit(video(), null).getJobId();
+
+        // Waiting in the queue longer than the TTL does not evict the job
+        Thread.sleep(150);
+        assertEquals(GestureJobStatus.PENDING, service.getJob(jobId).orElseThrow().getStatus());
+
+        queued.forEach(Runnable::run);
+        assertEquals(GestureJobStatus.SUCCEEDED, service.getJob(jobId).orElseThrow().getStatus());
+        Thread.sleep(150);
+        assertTrue(service.getJob(jobId).isEmpty());
+    }
+
+    @Test
+    void uploadsOfJobsThatNeverRanAreDeletedOnShutdown() {
+        var queued = new ArrayList<Runnable>();
+        var service = service(queued::add, "");
+        service.submit(video(), null);
+        service.submit(video(), null);
+        var uploads = queuedUploads(service).values().stream().map(GestureJobServiceTest::path).toList();
+        assertEquals(2, uploads.size());
+        assertTrue(uploads.stream().allMatch(Files::exists));
+
+        service.deleteQueuedUploads();
+
+        assertTrue(uploads.stream().noneMatch(Files::exists));
+        // Tasks the pool still starts afterwards find their upload gone and do nothing
+        queued.forEach(Runnable::run);
+        assertTrue(processedUploads.isEmpty());
+    }
+
+    private GestureJobService service(Executor executor, String allowedPrefixes) {
+        var pipeline = new PythonIntegrationService(null, null, null, null, null, null, null, null, null) {
+            @Override
+            public GestureToTextResponse processGestureToText(MultipartFile videoFile) {
+                processedUploads.add(path(videoFile));
+                if (modelDown) {
+                    throw new GestureRecognitionException("Gesture Recognition Model is unavailable");
+                }
+                return GestureToTextResponse.builder()
+                        .rawText("xin chao")
+                        .correctedText("xin chào")
+                        .status("success")
+                        .build();
+            }
+        };
+        var service = new GestureJobService(pipeline, executor, RestClient.builder());
+        ReflectionTestUtils.setField(service, "resultTtlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxJobs", 100L);
+        ReflectionTestUtils.setField(service, "callbackAllowedPrefixes", allowedPrefixes);
+        ReflectionTestUtils.setField(service, "callbackTimeoutMs", 2000);
+        service.init();
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, StoredVideoFile> queuedUploads(GestureJobService service) {
+        return (Map<String, StoredVideoFile>) ReflectionTestUtils.getField(service, "queuedUploads");
+    }
+
+    private static Path path(MultipartFile upload) {
+        try {
+            return upload.getResource().getFile().toPath();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static GestureJobDTO awaitFinished(GestureJobService service, String jobId) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            var job = service.getJob(jobId).orElseThrow();
+            if (job.getStatus() == GestureJobStatus.SUCCEEDED || job.getStatus() == GestureJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + jobId + " did not finish");
+    }
+
+    private static void awaitDeleted(Path upload) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (Files.exists(upload) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(Files.exists(upload), "Upload was not deleted: " + upload);
+    }
+
+    private String startCallbackServer() throws IOException {
+        callbackServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        callbackServer.createContext("/jobs/done", exchange -> {
+            try (exchange) {
+                callbacks.add(MAPPER.readTree(exchange.getRequestBody()));
+                exchange.sendResponseHeaders(204, -1);
+            }
+        });
+        callbackServer.start();
+        return "http://localhost:" + callbackServer.getAddress().getPort();
+    }
+
+    private static MockMultipartFile video() {
+        return new MockMultipartFile("file", "clip.mp4", "video/mp4", new byte[256]);
+    }
+}
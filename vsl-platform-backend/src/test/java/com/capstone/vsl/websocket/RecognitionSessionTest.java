@@ -0,0 +1,124 @@
+package com.capstone.vsl.websocket;
+
+import com.capstone.vsl.integration.SentenceState;
+import com.capstone.vsl.integration.codec.PackedLandmarkCodec;
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.capstone.vsl.integration.dto.HandFrameDTO;
+import com.capstone.vsl.integration.dto.LandmarkDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Frame buffering, windowing and reset of a streaming recognition session
+ */
+class RecognitionSessionTest {
+
+    private final RecognitionSession session = new RecognitionSession(new SentenceState("", 3));
+
+    @Test
+    void buffersJsonAndPackedFramesIntoOneWindow() {
+        session.appendFrames(List.of(frame(21, 0.1f), frame(21, 0.2f)));
+        session.appendFrames(packed(1, 21, 0.3f));
+
+        var frames = session.drainFrames();
+
+        assertEquals(3, frames.frameCount());
+        assertEquals(21, frames.landmarksPerFrame());
+        assertEquals(0.1f, frames.coordinates()[frames.offset(0, 20)]);
+        assertEquals(0.2f, frames.coordinates()[frames.offset(1, 0)]);
+        assertEquals(0.3f, frames.coordinates()[frames.offset(2, 0)]);
+        assertEquals(0, session.getBufferedFrames());
+        assertNull(session.drainFrames());
+    }
+
+    @Test
+    void skipsEmptyFramesAndFramesWithAnotherLandmarkCount() {
+        var appended = session.appendFrames(List.of(
+                frame(21, 0.1f), new HandFrameDTO(null), new HandFrameDTO(List.of()), frame(20, 0.2f)));
+
+        assertEquals(1, appended);
+        assertEquals(1, session.getBufferedFrames());
+        assertThrows(IllegalArgumentException.class, () -> session.appendFrames(packed(1, 20, 0.2f)));
+    }
+
+    @Test
+    void rejectsNullFramesAndLandmarksWithoutBufferingAnything() {
+        var landmarks = new ArrayList<>(frame(21, 0.1f).landmarks());
+        landmarks.set(5, null);
+        var frames = new ArrayList<HandFrameDTO>();
+        frames.add(frame(21, 0.1f));
+        frames.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> session.appendFrames(frames));
+        assertThrows(IllegalArgumentException.class,
+                () -> session.appendFrames(List.of(frame(21, 0.1f), new HandFrameDTO(landmarks))));
+        assertEquals(0, session.getBufferedFrames());
+    }
+
+    @Test
+    void capsBufferedFrames() {
+        session.appendFrames(packed(PackedLandmarkCodec.MAX_FRAMES, 1, 0f));
+
+        assertThrows(IllegalArgumentException.class, () -> session.appendFrames(packed(1, 1, 0f)));
+    }
+
+    @Test
+    void windowCarriesTheSentenceTailAndResultsExtendIt() {
+        session.resetText("xin chào các bạn");
+        session.appendFrames(List.of(frame(21, 0.1f)));
+
+        var window = session.window(session.drainFrames());
+        var sentence = session.applyResult(response("t", "chào các bạn t"));
+
+        assertEquals("chao cac ban", window.currentText());
+        assertEquals("xin chào các bạn t", sentence);
+        assertEquals("xin chào các bạn t", session.getCurrentText());
+    }
+
+    @Test
+    void clearFramesDropsTheBufferButKeepsTheText() {
+        session.resetText("xin");
+        session.appendFrames(packed(2, 21, 0.1f));
+
+        session.clearFrames();
+
+        assertEquals(0, session.getBufferedFrames());
+        assertEquals("xin", session.getCurrentText());
+    }
+
+    @Test
+    void submittedTasksRunInOrderEvenAfterAFailure() {
+        var ran = Collections.synchronizedList(new ArrayList<Integer>());
+        session.submit(() -> ran.add(1), Runnable::run);
+        session.submit(() -> {
+            throw new IllegalStateException("boom");
+        }, Runnable::run);
+        session.submit(() -> ran.add(3), Runnable::run);
+
+        assertEquals(List.of(1, 3), ran);
+        assertEquals(0, session.getPendingTasks());
+    }
+
+    static HandFrameDTO frame(int landmarks, float value) {
+        return new HandFrameDTO(Collections.nCopies(landmarks, new LandmarkDTO(value, value, value)));
+    }
+
+    private static PackedGestureInput packed(int frames, int landmarks, float value) {
+        var coordinates = new float[frames * landmarks * PackedGestureInput.AXES];
+        Arrays.fill(coordinates, value);
+        return new PackedGestureInput(frames, landmarks, coordinates, "ignored");
+    }
+
+    private static AiResponseDTO response(String rawChar, String finalSentence) {
+        return new AiResponseDTO(true, finalSentence, 0.9, rawChar, 1, 1, null);
+    }
+}
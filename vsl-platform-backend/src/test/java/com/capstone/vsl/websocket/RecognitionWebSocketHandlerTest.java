@@ -0,0 +1,178 @@
+package com.capstone.vsl.websocket;
+
+import com.capstone.vsl.integration.GestureIntegrationService;
+import com.capstone.vsl.integration.SentenceState;
+import com.capstone.vsl.integration.dto.AiResponseDTO;
+import com.capstone.vsl.integration.dto.PackedGestureInput;
+import com.capstone.vsl.integration.exception.AiServiceUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Streaming recognition over a fake WebSocket session and AI service
+ */
+class RecognitionWebSocketHandlerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<JsonNode> events = new CopyOnWriteArrayList<>();
+    private final List<String> windows = new CopyOnWriteArrayList<>();
+    private final CountDownLatch aiReleased = new CountDownLatch(1);
+    private volatile RuntimeException aiFailure;
+    private final RecognitionWebSocketHandler handler = handler();
+    private final WebSocketSession session = session();
+
+    @AfterEach
+    void tearDown() {
+        aiReleased.countDown();
+        handler.stop();
+    }
+
+    @Test
+    void fullWindowIsRecognizedOffTheMessageThread() throws Exception {
+        handler.afterConnectionEstablished(session);
+
+        send("{\"type\":\"frames\",\"frames\":[" + frames(2) + "]}");
+        // The first window is still waiting for the AI service; frames keep being buffered meanwhile
+        send("{\"type\":\"frames\",\"frames\":[" + frames(1) + "]}");
+        assertEquals(1, recognitionSession().getBufferedFrames());
+
+        aiReleased.countDown();
+        send("{\"type\":\"recognize\"}");
+        awaitEvents(3);
+
+        assertEquals(List.of("ready", "result", "result"), events.stream().map(e -> e.get("type").asText()).toList());
+        assertEquals("a", events.get(1).get("final_sentence").asText());
+        assertEquals("aa", events.get(2).get("final_sentence").asText());
+        // The second window saw the sentence left by the first one
+        assertEquals(List.of("", "a"), windows);
+    }
+
+    @Test
+    void nullFramesAndLandmarksAreReportedAsErrors() throws Exception {
+        handler.afterConnectionEstablished(session);
+
+        send("{\"type\":\"frames\",\"frames\":[null]}");
+        send("{\"type\":\"frames\",\"frames\":[{\"landmarks\":[null]}]}");
+        send("{\"type\":\"frames\"}");
+
+        assertEquals("Invalid frames: Frames cannot contain null", events.get(1).get("message").asText());
+        assertEquals("Invalid frames: Landmarks cannot contain null", events.get(2).get("message").asText());
+        assertEquals("Invalid frames: Frames cannot be empty", events.get(3).get("message").asText());
+        assertEquals(0, recognitionSession().getBufferedFrames());
+    }
+
+    @Test
+    void resetDropsBufferedFramesAndReplacesTheText() throws Exception {
+        handler.afterConnectionEstablished(session);
+        aiReleased.countDown();
+
+        send("{\"type\":\"frames\",\"frames\":[" + frames(1) + "]}");
+        send("{\"type\":\"reset\",\"text\":\"xin chào\"}");
+        awaitEvents(2);
+
+        assertEquals("ready", events.get(1).get("type").asText());
+        assertEquals("xin chào", events.get(1).get("final_sentence").asText());
+        assertEquals(0, recognitionSession().getBufferedFrames());
+        assertEquals(List.of(), windows);
+    }
+
+    @Test
+    void offlineAiServiceIsReportedWithTheControllerPrefix() throws Exception {
+        handler.afterConnectionEstablished(session);
+        aiFailure = new AiServiceUnavailableException("Connection refused");
+        aiReleased.countDown();
+
+        send("{\"type\":\"frames\",\"frames\":[" + frames(2) + "]}");
+        awaitEvents(2);
+
+        assertEquals("error", events.get(1).get("type").asText());
+        assertEquals("AI Service is offline: Connection refused", events.get(1).get("message").asText());
+    }
+
+    private RecognitionWebSocketHandler handler() {
+        var service = new GestureIntegrationService(null, null, null, null, null, null, null, null) {
+            @Override
+            public SentenceState newSentence(String currentText) {
+                return new SentenceState(currentText, 3);
+            }
+
+            @Override
+            public AiResponseDTO recognize(PackedGestureInput input) {
+                windows.add(input.currentText());
+                if (aiFailure != null) {
+                    throw aiFailure;
+                }
+                try {
+                    aiReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new AiResponseDTO(true, input.currentText() + "a", 0.9, "a", input.frameCount(), 1, null);
+            }
+        };
+        var recognitionHandler = new RecognitionWebSocketHandler(service, MAPPER,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(recognitionHandler, "windowFrames", 2);
+        ReflectionTestUtils.setField(recognitionHandler, "maxPendingWindows", 4);
+        return recognitionHandler;
+    }
+
+    private WebSocketSession session() {
+        var attributes = new HashMap<String, Object>();
+        var session = mock(WebSocketSession.class);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.getId()).thenReturn("test");
+        when(session.isOpen()).thenReturn(true);
+        try {
+            doAnswer(invocation -> events.add(MAPPER.readTree(invocation.<TextMessage>getArgument(0).getPayload())))
+                    .when(session).sendMessage(any());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return session;
+    }
+
+    private void send(String json) throws Exception {
+        handler.handleTextMessage(session, new TextMessage(json));
+    }
+
+    private RecognitionSession recognitionSession() {
+        return (RecognitionSession) session.getAttributes().get("recognitionSession");
+    }
+
+    private void awaitEvents(int count) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(events.size() >= count, "Expected " + count + " events, got " + events);
+    }
+
+    private static String frames(int count) throws Exception {
+        var frame = MAPPER.writeValueAsString(RecognitionSessionTest.frame(21, 0.1f));
+        return String.join(",", Collections.nCopies(count, frame));
+    }
+}